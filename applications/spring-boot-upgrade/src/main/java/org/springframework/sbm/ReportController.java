@@ -24,6 +24,7 @@ import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReport
 import org.springframework.sbm.engine.commands.ApplyCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.git.ProjectSyncVerifier;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -41,38 +42,69 @@ class ReportController{
     @Autowired
     private ProjectContextHolder contextHolder;
 
+    @Autowired
+    private ProjectSyncVerifier projectSyncVerifier;
+
     public static final String REPORT_RECIPE = "sbu30-report";
 
     private boolean isInitialReport = true;
 
+    /**
+     * The context and its modification count when the report was last created.
+     */
+    private ProjectContext reportedContext;
+    private long reportedModificationCount;
+
     @GetMapping(path = "/spring-boot-upgrade", produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
-    public String upgrade() {
+    public synchronized String upgrade() {
+        ProjectContext context = contextHolder.getProjectContext();
         // Urgh... that's nasty
-        if(!isInitialReport) {
-            applyCommand.execute(contextHolder.getProjectContext(), REPORT_RECIPE);
+        if(isInitialReport) {
+            isInitialReport = false;
+            rememberReportedState(context);
+            return reportHolder.getReport();
+        }
+        // the project is only scanned again when it changed outside of SBM
+        projectSyncVerifier.rescanWhenProjectIsOutOfSyncAndGitAvailable(context);
+        context = contextHolder.getProjectContext();
+        if(isReportOutdated(context)) {
+            runReport(context);
         }
-        isInitialReport = false;
         return reportHolder.getReport();
     }
 
     @PostMapping(path = "/spring-boot-upgrade", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE, produces = MediaType.TEXT_HTML_VALUE)
     @ResponseBody
-    public String applyRecipes(@RequestParam("recipeNames[]") String[] recipeNames) {
+    public synchronized String applyRecipes(@RequestParam("recipeNames[]") String[] recipeNames) {
         ProjectContext context = contextHolder.getProjectContext();
         List.of(recipeNames).forEach(recipeName -> applyCommand.execute(context, recipeName));
-        applyCommand.execute(context, REPORT_RECIPE);
+        runReport(contextHolder.getProjectContext());
         return reportHolder.getReport();
     }
 
     @PostMapping(path = "/spring-boot-upgrade")
     @ResponseBody
-    public void applyRecipes2(@RequestBody Recipe recipeNames) {
+    public synchronized void applyRecipes2(@RequestBody Recipe recipeNames) {
         ProjectContext context = contextHolder.getProjectContext();
         recipeNames.getRecipes().forEach(
                 recipeName -> applyCommand.execute(context, recipeName)
         );
+        runReport(contextHolder.getProjectContext());
+    }
+
+    private void runReport(ProjectContext context) {
         applyCommand.execute(context, REPORT_RECIPE);
+        rememberReportedState(contextHolder.getProjectContext());
+    }
+
+    private boolean isReportOutdated(ProjectContext context) {
+        return context != reportedContext || context.getProjectResources().getModificationCount() != reportedModificationCount;
+    }
+
+    private void rememberReportedState(ProjectContext context) {
+        reportedContext = context;
+        reportedModificationCount = context == null ? 0 : context.getProjectResources().getModificationCount();
     }
 
     @Getter
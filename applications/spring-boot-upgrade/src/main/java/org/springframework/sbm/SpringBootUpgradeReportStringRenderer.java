@@ -17,7 +17,7 @@ package org.springframework.sbm;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
-import org.springframework.sbm.boot.upgrade.common.UpgradeReportUtil;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorRenderer;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportRenderer;
 import org.springframework.stereotype.Component;
 
@@ -29,9 +29,11 @@ import org.springframework.stereotype.Component;
 public class SpringBootUpgradeReportStringRenderer implements SpringBootUpgradeReportRenderer {
     @Autowired
     private ReportHolder reportHolder;
+    @Autowired
+    private AsciidoctorRenderer asciidoctorRenderer;
     @Override
     public void processReport(String renderedReport) {
-        String htmlReport = UpgradeReportUtil.renderHtml(renderedReport);
+        String htmlReport = asciidoctorRenderer.renderHtml(renderedReport);
         String closingHeadTag = "</head>";
 
         String additionalHeader =
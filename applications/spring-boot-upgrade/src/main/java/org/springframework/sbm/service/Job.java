@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.sbm.service.dto.RecipeInfo;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A scan or apply submitted to the {@link JobService}.
+ *
+ * Keeps the last {@code maxEvents} progress events published while it runs, so subscribers joining late get them
+ * replayed. Events are sent to the subscribers by the given {@link Executor}, not by the thread publishing them,
+ * and in the order they were published when the executor runs its tasks in order.
+ */
+@Slf4j
+@Getter
+public class Job {
+
+    public enum Type {SCAN, APPLY}
+
+    public enum Status {QUEUED, RUNNING, FINISHED, FAILED}
+
+    private final String id = UUID.randomUUID().toString();
+    private final Type type;
+    private final String projectPath;
+    private final String recipe;
+    private volatile Status status = Status.QUEUED;
+    private volatile RecipeInfo[] recipes;
+    private volatile String error;
+
+    @Getter(AccessLevel.NONE)
+    private final Executor eventSender;
+    @Getter(AccessLevel.NONE)
+    private final int maxEvents;
+    @Getter(AccessLevel.NONE)
+    private final Deque<JobEvent> events = new ArrayDeque<>();
+    @Getter(AccessLevel.NONE)
+    private final List<SseEmitter> emitters = new ArrayList<>();
+
+    Job(Type type, String projectPath, String recipe, Executor eventSender, int maxEvents) {
+        this.type = type;
+        this.projectPath = projectPath;
+        this.recipe = recipe;
+        this.eventSender = eventSender;
+        this.maxEvents = Math.max(1, maxEvents);
+    }
+
+    public boolean isDone() {
+        return status == Status.FINISHED || status == Status.FAILED;
+    }
+
+    /**
+     * Send the kept events and all following events to the emitter.
+     * The emitter is completed when the job is done.
+     */
+    public synchronized void subscribe(SseEmitter emitter) {
+        List<JobEvent> replay = List.copyOf(events);
+        boolean done = isDone();
+        if (!done) {
+            emitters.add(emitter);
+            emitter.onCompletion(() -> unsubscribe(emitter));
+            emitter.onTimeout(() -> unsubscribe(emitter));
+        }
+        sendLater(() -> {
+            for (JobEvent event : replay) {
+                if (!send(emitter, event)) {
+                    unsubscribe(emitter);
+                    return;
+                }
+            }
+            if (done) {
+                emitter.complete();
+            }
+        });
+    }
+
+    public synchronized List<JobEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    synchronized void publish(String name, String message) {
+        JobEvent event = new JobEvent(name, message);
+        if (events.size() == maxEvents) {
+            events.removeFirst();
+        }
+        events.addLast(event);
+        List<SseEmitter> subscribers = List.copyOf(emitters);
+        sendLater(() -> subscribers.stream()
+                .filter(subscriber -> !send(subscriber, event))
+                .forEach(this::unsubscribe));
+    }
+
+    synchronized void start() {
+        status = Status.RUNNING;
+        publish("JobStarted", type + " " + projectPath);
+    }
+
+    synchronized void finish(RecipeInfo[] recipes) {
+        this.recipes = recipes;
+        status = Status.FINISHED;
+        publish("JobFinished", type + " " + projectPath);
+        completeSubscribers();
+    }
+
+    synchronized void fail(Throwable throwable) {
+        error = throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getName();
+        status = Status.FAILED;
+        publish("JobFailed", error);
+        completeSubscribers();
+    }
+
+    private synchronized void unsubscribe(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    private void completeSubscribers() {
+        List<SseEmitter> subscribers = List.copyOf(emitters);
+        emitters.clear();
+        sendLater(() -> subscribers.forEach(SseEmitter::complete));
+    }
+
+    private void sendLater(Runnable sending) {
+        try {
+            eventSender.execute(sending);
+        } catch (RejectedExecutionException e) {
+            // the application is shutting down
+            log.debug("Could not send events to subscribers of job '{}'", id, e);
+        }
+    }
+
+    private boolean send(SseEmitter emitter, JobEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name(event.getName()).data(event.getMessage()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // the container completes the emitter of a broken connection
+            log.debug("Could not send event to subscriber of job '{}'", id, e);
+            return false;
+        }
+    }
+
+    @Value
+    public static class JobEvent {
+        private final String name;
+        private final String message;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.sbm.service.dto.JobInfo;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous variant of {@link RestApi}.
+ *
+ * Submitting a scan or apply returns the job, its progress events can be streamed as server-sent events.
+ */
+@RestController
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    @Value("${sbm.rest.jobEventsTimeout:1800000}")
+    private long jobEventsTimeout;
+
+    @PostMapping(value = "/jobs/scan", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    JobInfo scan(@RequestParam("projectPath") String projectPath) {
+        return submit(() -> jobService.submitScan(projectPath));
+    }
+
+    @PostMapping(value = "/jobs/apply", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    JobInfo apply(@RequestParam("projectPath") String projectPath, @RequestParam("recipe") String recipe) {
+        return submit(() -> jobService.submitApply(projectPath, recipe));
+    }
+
+    @GetMapping(value = "/jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    JobInfo job(@PathVariable("id") String id) {
+        return toJobInfo(getJob(id));
+    }
+
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter events(@PathVariable("id") String id) {
+        Job job = getJob(id);
+        SseEmitter emitter = new SseEmitter(jobEventsTimeout);
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    private JobInfo submit(Supplier<Job> submission) {
+        try {
+            return toJobInfo(submission.get());
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    private Job getJob(String id) {
+        return jobService.getJob(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No job with id '" + id + "'"));
+    }
+
+    private JobInfo toJobInfo(Job job) {
+        return JobInfo.builder()
+                .id(job.getId())
+                .type(job.getType().name())
+                .status(job.getStatus().name())
+                .projectPath(job.getProjectPath())
+                .recipe(job.getRecipe())
+                .recipes(job.getRecipes())
+                .error(job.getError())
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.sbm.engine.events.*;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs scans and applies submitted through the REST API asynchronously.
+ *
+ * {@link MigrationService} runs one scan or apply at a time, scan scope, execution scope and the current
+ * {@code ProjectContext} are application wide. Jobs are therefore serialized, they run one after another on a single
+ * thread in the order they were submitted, also for different projects.
+ * At most {@code sbm.rest.maxPendingJobs} jobs can be queued or running, further jobs are rejected.
+ * The progress events published by SBM while a job runs are forwarded to the job, which keeps the last
+ * {@code sbm.rest.maxJobEvents} of them. They are sent to the subscribers of the job by a separate single thread,
+ * so slow subscribers don't hold up the job.
+ */
+@Slf4j
+@Component
+public class JobService implements DisposableBean {
+
+    private final MigrationService migrationService;
+    private final int maxPendingJobs;
+    private final int maxRetainedJobs;
+    private final int maxJobEvents;
+    private final ExecutorService executor;
+    private final ExecutorService eventSender;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private volatile Job runningJob;
+
+    public JobService(MigrationService migrationService,
+                      @Value("${sbm.rest.maxPendingJobs:100}") int maxPendingJobs,
+                      @Value("${sbm.rest.maxRetainedJobs:100}") int maxRetainedJobs,
+                      @Value("${sbm.rest.maxJobEvents:1000}") int maxJobEvents) {
+        this.migrationService = migrationService;
+        this.maxPendingJobs = maxPendingJobs;
+        this.maxRetainedJobs = maxRetainedJobs;
+        this.maxJobEvents = maxJobEvents;
+        this.executor = Executors.newSingleThreadExecutor();
+        this.eventSender = Executors.newSingleThreadExecutor();
+    }
+
+    public Job submitScan(String projectPath) {
+        return submit(new Job(Job.Type.SCAN, projectPath, null, eventSender, maxJobEvents));
+    }
+
+    public Job submitApply(String projectPath, String recipe) {
+        return submit(new Job(Job.Type.APPLY, projectPath, recipe, eventSender, maxJobEvents));
+    }
+
+    public synchronized Optional<Job> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @EventListener({
+            StartedScanningProjectResourceSetEvent.class,
+            StartedScanningProjectResourceEvent.class,
+            FinishedScanningProjectResourceSetEvent.class,
+            StartDownloadingDependenciesEvent.class,
+            StartDownloadingDependencyEvent.class,
+            ActionStartedEvent.class,
+            ActionProcessStartedEvent.class,
+            ActionLogEvent.class,
+            ActionProcessFinishedEvent.class,
+            ActionFinishedEvent.class,
+            ActionFailedEvent.class
+    })
+    public void onProgress(Object event) {
+        Job job = runningJob;
+        if (job != null) {
+            job.publish(event.getClass().getSimpleName(), describe(event));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        eventSender.shutdownNow();
+    }
+
+    private synchronized Job submit(Job job) {
+        // jobs are only dropped when done, so all pending jobs are retained
+        long pendingJobs = jobs.values().stream().filter(j -> !j.isDone()).count();
+        if (pendingJobs >= maxPendingJobs) {
+            throw new RejectedExecutionException("Too many pending jobs, max is " + maxPendingJobs);
+        }
+        retain(job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    private void retain(Job job) {
+        jobs.put(job.getId(), job);
+        Iterator<Job> oldest = jobs.values().iterator();
+        while (jobs.size() > maxRetainedJobs && oldest.hasNext()) {
+            if (oldest.next().isDone()) {
+                oldest.remove();
+            }
+        }
+    }
+
+    private void run(Job job) {
+        // synchronous scans and applies of the REST API must not run while the job's events are collected
+        synchronized (migrationService) {
+            runningJob = job;
+            try {
+                job.start();
+                if (job.getType() == Job.Type.SCAN) {
+                    job.finish(migrationService.scan(job.getProjectPath()));
+                } else {
+                    migrationService.apply(job.getProjectPath(), job.getRecipe());
+                    job.finish(null);
+                }
+            } catch (Exception e) {
+                log.error("Job '{}' failed", job.getId(), e);
+                job.fail(e);
+            } finally {
+                runningJob = null;
+            }
+        }
+    }
+
+    private String describe(Object event) {
+        if (event instanceof StartedScanningProjectResourceEvent) {
+            return ((StartedScanningProjectResourceEvent) event).getPath().toString();
+        } else if (event instanceof StartedScanningProjectResourceSetEvent) {
+            StartedScanningProjectResourceSetEvent scanning = (StartedScanningProjectResourceSetEvent) event;
+            return scanning.getMessage() + ": " + scanning.getSize();
+        } else if (event instanceof StartDownloadingDependenciesEvent) {
+            return String.valueOf(((StartDownloadingDependenciesEvent) event).getSize());
+        } else if (event instanceof StartDownloadingDependencyEvent) {
+            return String.valueOf(((StartDownloadingDependencyEvent) event).getDependency());
+        } else if (event instanceof ActionStartedEvent) {
+            return ((ActionStartedEvent) event).getDescription();
+        } else if (event instanceof ActionProcessStartedEvent) {
+            return ((ActionProcessStartedEvent) event).getDescription();
+        } else if (event instanceof ActionFinishedEvent) {
+            return ((ActionFinishedEvent) event).getDescription();
+        } else if (event instanceof ActionLogEvent) {
+            return ((ActionLogEvent) event).getMesssage();
+        } else if (event instanceof ActionFailedEvent) {
+            return ((ActionFailedEvent) event).getDescription();
+        }
+        return "";
+    }
+}
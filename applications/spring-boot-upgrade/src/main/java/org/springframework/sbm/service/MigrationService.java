@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
+import org.springframework.sbm.engine.commands.ApplyCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.service.dto.RecipeInfo;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scans projects and applies recipes to them for the REST API.
+ *
+ * Scan scope, execution scope and {@link ProjectContextHolder} are application wide,
+ * so only one scan or apply runs at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class MigrationService {
+
+    private final ProjectContextCache projectContextCache;
+    private final ProjectContextHolder contextHolder;
+    private final ApplyCommand applyCommand;
+    private final ApplicableRecipeListCommand applicableRecipeListCommand;
+
+    /**
+     * Scan the project and return the recipes applicable to it.
+     */
+    public synchronized RecipeInfo[] scan(String projectPath) {
+        ProjectContext projectContext = projectContextCache.scan(projectPath);
+        return applicableRecipeListCommand.execute(projectContext).stream()
+                .map(r -> RecipeInfo.builder().name(r.getName()).description(r.getDescription()).details(r.getDetails()).build())
+                .toArray(RecipeInfo[]::new);
+    }
+
+    /**
+     * Apply the recipe to the cached {@link ProjectContext} of the project.
+     */
+    public synchronized void apply(String projectPath, String recipe) {
+        // FIXME: Apply should not do implicit scan.
+        ProjectContext projectContext = projectContextCache.getOrScan(projectPath);
+        contextHolder.setProjectContext(projectContext);
+        applyCommand.execute(projectContext, recipe);
+        // the context is replaced when the project was out of sync and scanned again
+        ProjectContext currentContext = contextHolder.getProjectContext();
+        if (currentContext != projectContext) {
+            projectContextCache.put(currentContext);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Keeps the {@link ProjectContext} of scanned projects, so following requests for the same project
+ * don't need to scan it again.
+ *
+ * Beans in the {@link ScanScope}, like the {@code JavaParser} configured with the classpath of the project, belong to
+ * the scan that created them. They are kept with the cached context and put back into the scan scope when the
+ * context is used again. They are destroyed when the context is evicted.
+ *
+ * At most {@code sbm.rest.maxCachedProjects} contexts are kept and the least recently used ones are evicted first.
+ * When the heap still in use after the last garbage collection exceeds {@code sbm.rest.maxHeapUsage} (a fraction
+ * of the max heap) after a context was added, the least recently used context is evicted, but the most recent
+ * one is always kept. That usage only changes with the next collection, so one context is evicted per added
+ * context while it stays exceeded.
+ */
+@Slf4j
+@Component
+public class ProjectContextCache {
+
+    private final ScanCommand scanCommand;
+    private final ScanScope scanScope;
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final int maxCachedProjects;
+    private final double maxHeapUsage;
+    private final DoubleSupplier heapUsage;
+    private final LinkedHashMap<Path, CachedProject> projects = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The cached project whose scan scoped beans are currently in the scan scope.
+     */
+    private CachedProject attachedProject;
+
+    @Autowired
+    public ProjectContextCache(ScanCommand scanCommand,
+                               ScanScope scanScope,
+                               ConfigurableListableBeanFactory beanFactory,
+                               @Value("${sbm.rest.maxCachedProjects:4}") int maxCachedProjects,
+                               @Value("${sbm.rest.maxHeapUsage:0.8}") double maxHeapUsage) {
+        this(scanCommand, scanScope, beanFactory, maxCachedProjects, maxHeapUsage, ProjectContextCache::heapUsageAfterLastCollection);
+    }
+
+    ProjectContextCache(ScanCommand scanCommand, ScanScope scanScope, ConfigurableListableBeanFactory beanFactory, int maxCachedProjects, double maxHeapUsage, DoubleSupplier heapUsage) {
+        this.scanCommand = scanCommand;
+        this.scanScope = scanScope;
+        this.beanFactory = beanFactory;
+        this.maxCachedProjects = maxCachedProjects;
+        this.maxHeapUsage = maxHeapUsage;
+        this.heapUsage = heapUsage;
+    }
+
+    /**
+     * Scan the project and cache the resulting {@link ProjectContext}, replacing the cached one.
+     */
+    public synchronized ProjectContext scan(String projectPath) {
+        detachScanScope();
+        ProjectContext projectContext = scanCommand.execute(projectPath);
+        put(projectContext);
+        return projectContext;
+    }
+
+    /**
+     * Return the cached {@link ProjectContext} with its scan scoped beans or scan the project when there is none.
+     */
+    public synchronized ProjectContext getOrScan(String projectPath) {
+        CachedProject cachedProject = projects.get(key(projectPath));
+        if (cachedProject == null) {
+            return scan(projectPath);
+        }
+        if (cachedProject != attachedProject) {
+            detachScanScope();
+            scanScope.attach(cachedProject.getScanScopedBeans());
+            cachedProject.setScanScopedBeans(Map.of());
+            attachedProject = cachedProject;
+        }
+        return cachedProject.getProjectContext();
+    }
+
+    public synchronized Optional<ProjectContext> get(String projectPath) {
+        return Optional.ofNullable(projects.get(key(projectPath))).map(CachedProject::getProjectContext);
+    }
+
+    /**
+     * Cache the {@link ProjectContext} that was just scanned, e.g. after it was replaced by a rescan.
+     * The beans currently in the scan scope are the ones of this scan.
+     */
+    public synchronized void put(ProjectContext projectContext) {
+        Path key = projectContext.getProjectRootDirectory().toAbsolutePath().normalize();
+        CachedProject cachedProject = new CachedProject(projectContext, Map.of());
+        CachedProject replaced = projects.put(key, cachedProject);
+        if (replaced != null) {
+            scanScope.destroy(beanFactory, replaced.getScanScopedBeans());
+        }
+        attachedProject = cachedProject;
+        evict();
+    }
+
+    public synchronized void evict(String projectPath) {
+        CachedProject evicted = projects.remove(key(projectPath));
+        if (evicted != null) {
+            discard(evicted);
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, CachedProject>> leastRecentlyUsed = projects.entrySet().iterator();
+        while (projects.size() > 1 && projects.size() > maxCachedProjects) {
+            evictNext(leastRecentlyUsed);
+        }
+        if (projects.size() > 1 && isHeapUsageExceeded()) {
+            evictNext(leastRecentlyUsed);
+        }
+    }
+
+    private void evictNext(Iterator<Map.Entry<Path, CachedProject>> leastRecentlyUsed) {
+        Map.Entry<Path, CachedProject> evicted = leastRecentlyUsed.next();
+        leastRecentlyUsed.remove();
+        discard(evicted.getValue());
+        log.debug("Evicted ProjectContext of '{}' from cache", evicted.getKey());
+    }
+
+    private void discard(CachedProject cachedProject) {
+        if (cachedProject == attachedProject) {
+            cachedProject.setScanScopedBeans(scanScope.detach());
+            attachedProject = null;
+        }
+        scanScope.destroy(beanFactory, cachedProject.getScanScopedBeans());
+    }
+
+    /**
+     * Keep the beans in the scan scope with the cached project they belong to, so the next scan doesn't destroy them.
+     */
+    private void detachScanScope() {
+        if (attachedProject != null) {
+            attachedProject.setScanScopedBeans(scanScope.detach());
+            attachedProject = null;
+        }
+    }
+
+    private boolean isHeapUsageExceeded() {
+        return heapUsage.getAsDouble() > maxHeapUsage;
+    }
+
+    /**
+     * The used heap includes garbage not collected yet, the usage after the last collection of each heap pool
+     * is what the cached contexts really retain.
+     */
+    private static double heapUsageAfterLastCollection() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage collectionUsage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (collectionUsage != null) {
+                used += collectionUsage.getUsed();
+            }
+        }
+        return (double) used / Runtime.getRuntime().maxMemory();
+    }
+
+    private Path key(String projectPath) {
+        return Path.of(projectPath).toAbsolutePath().normalize();
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    private static class CachedProject {
+        private final ProjectContext projectContext;
+        /**
+         * The scan scoped beans while they are not in the scan scope.
+         */
+        private Map<String, Object> scanScopedBeans;
+    }
+}
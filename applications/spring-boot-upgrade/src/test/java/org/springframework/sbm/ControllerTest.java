@@ -40,6 +40,9 @@ import org.springframework.sbm.engine.commands.ApplyCommand;
 import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.engine.git.ProjectSyncVerifier;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -52,6 +55,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Fabian Krüger
  */
 @WebMvcTest(controllers = ReportController.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class ControllerTest {
 
     @Autowired
@@ -66,24 +70,45 @@ public class ControllerTest {
     @MockBean
     private ProjectContextHolder contextHolder;
 
+    @MockBean
+    private ProjectSyncVerifier projectSyncVerifier;
+
     @Test
     void testGetRequest() throws Exception {
-        ProjectContext projectContext = mock(ProjectContext.class);
-        when(contextHolder.getProjectContext()).thenReturn(projectContext);
+        ProjectResourceSet projectResources = mock(ProjectResourceSet.class);
+        ProjectContext projectContext = mockProjectContext(projectResources);
+        when(projectResources.getModificationCount()).thenReturn(0L, 1L);
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
         mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
-        // For the first request the report is created by the runner, for following calls the report is created again
+        // For the first request the report is created by the runner, for following calls the report is created again when the project changed
+        verify(projectSyncVerifier).rescanWhenProjectIsOutOfSyncAndGitAvailable(projectContext);
         verify(applyCommand, times(1)).execute(projectContext, ReportController.REPORT_RECIPE);
     }
 
+    @Test
+    void testGetRequestWithoutChanges() throws Exception {
+        ProjectResourceSet projectResources = mock(ProjectResourceSet.class);
+        ProjectContext projectContext = mockProjectContext(projectResources);
+        when(projectResources.getModificationCount()).thenReturn(3L);
+        mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
+        mockMvc.perform(get("/spring-boot-upgrade")).andExpect(status().isOk());
+        verify(applyCommand, never()).execute(projectContext, ReportController.REPORT_RECIPE);
+    }
+
     @Test
     void testPostRequest() throws Exception {
-        ProjectContext projectContext = mock(ProjectContext.class);
-        when(contextHolder.getProjectContext()).thenReturn(projectContext);
+        ProjectContext projectContext = mockProjectContext(mock(ProjectResourceSet.class));
         mockMvc.perform(post("/spring-boot-upgrade")
                                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                                 .param("recipeNames[]", "recipe1", "recipe2")
         ).andExpect(status().isOk());
         verify(applyCommand).execute(projectContext, ReportController.REPORT_RECIPE);
     }
+
+    private ProjectContext mockProjectContext(ProjectResourceSet projectResources) {
+        ProjectContext projectContext = mock(ProjectContext.class);
+        when(projectContext.getProjectResources()).thenReturn(projectResources);
+        when(contextHolder.getProjectContext()).thenReturn(projectContext);
+        return projectContext;
+    }
 }
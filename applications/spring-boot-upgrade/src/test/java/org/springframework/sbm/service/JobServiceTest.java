@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.events.ActionLogEvent;
+import org.springframework.sbm.service.dto.RecipeInfo;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JobServiceTest {
+
+    private final MigrationService migrationService = mock(MigrationService.class);
+    private JobService sut;
+
+    @AfterEach
+    void shutdown() {
+        if (sut != null) {
+            sut.destroy();
+        }
+    }
+
+    @Test
+    void scanJobShouldProvideRecipesAndProgressEvents() throws InterruptedException {
+        sut = new JobService(migrationService, 10, 10, 100);
+        RecipeInfo[] recipes = {RecipeInfo.builder().name("recipe").build()};
+        when(migrationService.scan("/projects/a")).thenAnswer(invocation -> {
+            sut.onProgress(new ActionLogEvent("scanning"));
+            return recipes;
+        });
+
+        Job job = sut.submitScan("/projects/a");
+        waitUntilDone(job);
+
+        assertThat(job.getStatus()).isEqualTo(Job.Status.FINISHED);
+        assertThat(job.getRecipes()).isEqualTo(recipes);
+        assertThat(job.getEvents()).extracting(Job.JobEvent::getName)
+                .containsExactly("JobStarted", "ActionLogEvent", "JobFinished");
+        assertThat(job.getEvents().get(1).getMessage()).isEqualTo("scanning");
+        assertThat(sut.getJob(job.getId())).containsSame(job);
+    }
+
+    @Test
+    void jobsShouldRunInSubmissionOrder() throws InterruptedException {
+        sut = new JobService(migrationService, 10, 10, 100);
+        List<String> applied = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> applied.add(invocation.getArgument(1)))
+                .when(migrationService).apply(anyString(), anyString());
+
+        List<Job> jobs = List.of("r1", "r2", "r3", "r4").stream()
+                .map(recipe -> sut.submitApply(recipe.equals("r2") ? "/projects/b" : "/projects/a", recipe))
+                .collect(Collectors.toList());
+        for (Job job : jobs) {
+            waitUntilDone(job);
+        }
+
+        assertThat(applied).containsExactly("r1", "r2", "r3", "r4");
+    }
+
+    @Test
+    void failingJobShouldReportError() throws InterruptedException {
+        sut = new JobService(migrationService, 10, 10, 100);
+        doThrow(new IllegalStateException("broken")).when(migrationService).apply("/projects/a", "recipe");
+
+        Job job = sut.submitApply("/projects/a", "recipe");
+        waitUntilDone(job);
+
+        assertThat(job.getStatus()).isEqualTo(Job.Status.FAILED);
+        assertThat(job.getError()).isEqualTo("broken");
+    }
+
+    @Test
+    void jobsExceedingMaxPendingJobsShouldBeRejected() throws InterruptedException {
+        sut = new JobService(migrationService, 1, 10, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(10, TimeUnit.SECONDS))
+                .when(migrationService).apply(anyString(), anyString());
+
+        Job job = sut.submitApply("/projects/a", "recipe");
+
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> sut.submitApply("/projects/b", "recipe"));
+        release.countDown();
+        waitUntilDone(job);
+        assertThat(sut.submitApply("/projects/b", "recipe")).isNotNull();
+    }
+
+    @Test
+    void onlyTheLastEventsShouldBeKept() throws InterruptedException {
+        sut = new JobService(migrationService, 10, 10, 2);
+        doAnswer(invocation -> {
+            sut.onProgress(new ActionLogEvent("first"));
+            sut.onProgress(new ActionLogEvent("second"));
+            return null;
+        }).when(migrationService).apply("/projects/a", "recipe");
+
+        Job job = sut.submitApply("/projects/a", "recipe");
+        waitUntilDone(job);
+
+        assertThat(job.getEvents()).extracting(Job.JobEvent::getMessage)
+                .containsExactly("second", "APPLY /projects/a");
+    }
+
+    @Test
+    void slowSubscriberShouldNotHoldUpTheJob() throws Exception {
+        ExecutorService eventSender = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        List<SseEmitter.SseEventBuilder> sent = new CopyOnWriteArrayList<>();
+        SseEmitter slowSubscriber = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                sent.add(builder);
+            }
+        };
+        try {
+            Job job = new Job(Job.Type.SCAN, "/projects/a", null, eventSender, 100);
+            job.subscribe(slowSubscriber);
+
+            job.start();
+            job.publish("ActionLogEvent", "scanning");
+            job.finish(null);
+
+            assertThat(job.isDone()).isTrue();
+            assertThat(sent).isEmpty();
+            release.countDown();
+            eventSender.shutdown();
+            assertThat(eventSender.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(sent).hasSize(3);
+        } finally {
+            eventSender.shutdownNow();
+        }
+    }
+
+    private void waitUntilDone(Job job) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (!job.isDone() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isDone()).isTrue();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.scopes.ScanScope;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProjectContextCacheTest {
+
+    private static final String SCOPED_BEAN = "scopedTarget.rewriteJavaParser";
+
+    private final ScanCommand scanCommand = mock(ScanCommand.class);
+    private final ScanScope scanScope = new ScanScope();
+    private final ConfigurableListableBeanFactory beanFactory = mock(ConfigurableListableBeanFactory.class);
+
+    @Test
+    void cachedContextShouldBeReused() {
+        ProjectContext projectContext = mockScan("/projects/a");
+        ProjectContextCache sut = new ProjectContextCache(scanCommand, scanScope, beanFactory, 4, 1.0, () -> 0.0);
+
+        assertThat(sut.getOrScan("/projects/a")).isSameAs(projectContext);
+        assertThat(sut.getOrScan("/projects/../projects/a")).isSameAs(projectContext);
+
+        verify(scanCommand, times(1)).execute("/projects/a");
+    }
+
+    @Test
+    void leastRecentlyUsedContextShouldBeEvicted() {
+        mockScan("/projects/a");
+        mockScan("/projects/b");
+        mockScan("/projects/c");
+        ProjectContextCache sut = new ProjectContextCache(scanCommand, scanScope, beanFactory, 2, 1.0, () -> 0.0);
+
+        sut.scan("/projects/a");
+        sut.scan("/projects/b");
+        sut.get("/projects/a");
+        sut.scan("/projects/c");
+
+        assertThat(sut.get("/projects/a")).isPresent();
+        assertThat(sut.get("/projects/b")).isEmpty();
+        assertThat(sut.get("/projects/c")).isPresent();
+    }
+
+    @Test
+    void mostRecentContextShouldBeKeptWhenHeapUsageIsExceeded() {
+        mockScan("/projects/a");
+        mockScan("/projects/b");
+        ProjectContextCache sut = new ProjectContextCache(scanCommand, scanScope, beanFactory, 4, 0.5, () -> 0.9);
+
+        sut.scan("/projects/a");
+        sut.scan("/projects/b");
+
+        assertThat(sut.get("/projects/a")).isEmpty();
+        assertThat(sut.get("/projects/b")).isPresent();
+    }
+
+    @Test
+    void oneContextShouldBeEvictedPerHeapUsageCheck() {
+        mockScan("/projects/a");
+        mockScan("/projects/b");
+        mockScan("/projects/c");
+        mockScan("/projects/d");
+        AtomicReference<Double> heapUsage = new AtomicReference<>(0.0);
+        ProjectContextCache sut = new ProjectContextCache(scanCommand, scanScope, beanFactory, 4, 0.5, heapUsage::get);
+
+        sut.scan("/projects/a");
+        sut.scan("/projects/b");
+        sut.scan("/projects/c");
+        heapUsage.set(0.9);
+        sut.scan("/projects/d");
+
+        assertThat(sut.get("/projects/a")).isEmpty();
+        assertThat(sut.get("/projects/b")).isPresent();
+        assertThat(sut.get("/projects/c")).isPresent();
+        assertThat(sut.get("/projects/d")).isPresent();
+    }
+
+    @Test
+    void scanScopedBeansShouldBeRestoredWhenCachedContextIsUsedAgain() {
+        mockScan("/projects/a");
+        mockScan("/projects/b");
+        ProjectContextCache sut = new ProjectContextCache(scanCommand, scanScope, beanFactory, 4, 1.0, () -> 0.0);
+
+        sut.scan("/projects/a");
+        Object beanOfA = scanScope.get(SCOPED_BEAN, Object::new);
+        sut.scan("/projects/b");
+        Object beanOfB = scanScope.get(SCOPED_BEAN, Object::new);
+
+        sut.getOrScan("/projects/a");
+        assertThat(scanScope.get(SCOPED_BEAN, Object::new)).isSameAs(beanOfA);
+        sut.getOrScan("/projects/b");
+        assertThat(scanScope.get(SCOPED_BEAN, Object::new)).isSameAs(beanOfB);
+        verify(beanFactory, never()).destroyBean(anyString(), any());
+    }
+
+    @Test
+    void scanScopedBeansShouldBeDestroyedWithEvictedContext() {
+        mockScan("/projects/a");
+        mockScan("/projects/b");
+        ProjectContextCache sut = new ProjectContextCache(scanCommand, scanScope, beanFactory, 1, 1.0, () -> 0.0);
+
+        sut.scan("/projects/a");
+        Object beanOfA = scanScope.get(SCOPED_BEAN, Object::new);
+        sut.scan("/projects/b");
+        Object beanOfB = scanScope.get(SCOPED_BEAN, Object::new);
+
+        verify(beanFactory).destroyBean(SCOPED_BEAN, beanOfA);
+        sut.evict("/projects/b");
+        verify(beanFactory).destroyBean(SCOPED_BEAN, beanOfB);
+    }
+
+    private ProjectContext mockScan(String projectPath) {
+        ProjectContext projectContext = mock(ProjectContext.class);
+        when(projectContext.getProjectRootDirectory()).thenReturn(Path.of(projectPath).toAbsolutePath());
+        when(scanCommand.execute(projectPath)).thenReturn(projectContext);
+        return projectContext;
+    }
+}
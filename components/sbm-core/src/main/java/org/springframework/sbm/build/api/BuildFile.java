@@ -77,6 +77,15 @@ public interface BuildFile extends ProjectResource {
 
     void removeDependencies(List<Dependency> dependencies);
 
+    /**
+     * Applies the changes made by {@code changes} to this and other build files of the project as one batch.
+     *
+     * The pom models of changed build files and the build files depending on them are resolved once when the batch ends
+     * or when an effective model is read, e.g. by the next change, and not after every change.
+     * Updating the classpath and reparsing Java sources is deferred until the batch ended.
+     */
+    void batch(Runnable changes);
+
     /**
      * Removes all dependencies matching given regex.
      *
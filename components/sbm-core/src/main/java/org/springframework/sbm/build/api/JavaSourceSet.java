@@ -41,6 +41,12 @@ public interface JavaSourceSet {
 
     List<JavaSource> addJavaSource(Path projectRoot, Path sourceFolder, String... sourceCodes);
 
+    /**
+     * Parses all given classes in one run with the current classpath and adds them in the given order.
+     * Throws when a class already exists in {@code sourceFolder}, no class is added then.
+     */
+    List<JavaSource> addJavaSources(Path projectRoot, Path sourceFolder, List<String> sourceCodes);
+
     JavaSource addJavaSource(Path projectRootDirectory, String src, String packageName);
 
     void replaceType(String type, String withType);
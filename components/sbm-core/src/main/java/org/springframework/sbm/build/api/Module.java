@@ -37,6 +37,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -225,5 +226,23 @@ public class Module {
             return projectResourceSet.stream()
                     .filter(this.predicate);
         }
+
+        @Override
+        public Optional<RewriteSourceFileHolder<? extends SourceFile>> findByAbsolutePath(Path absolutePath) {
+            return projectResourceSet.findByAbsolutePath(absolutePath)
+                    .filter(this.predicate);
+        }
+
+        @Override
+        public Optional<RewriteSourceFileHolder<? extends SourceFile>> findById(UUID id) {
+            return projectResourceSet.findById(id)
+                    .filter(this.predicate);
+        }
+
+        @Override
+        public <T extends SourceFile> Stream<RewriteSourceFileHolder<T>> streamByType(Class<T> type) {
+            return projectResourceSet.streamByType(type)
+                    .filter(this.predicate::test);
+        }
     }
 }
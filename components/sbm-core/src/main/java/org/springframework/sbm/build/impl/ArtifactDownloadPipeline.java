@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.utilities.MavenArtifactDownloader;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Downloads dependency artifacts concurrently on a bounded pool.
+ *
+ * Every artifact is downloaded at most once, concurrent requests for the same artifact wait for the download
+ * already in flight. The resolved paths are kept and shared by the {@code MavenProjectParser}, the
+ * {@code ClasspathRegistry} and the build files.
+ * Failed downloads and SNAPSHOT artifacts are not kept, they are downloaded again when requested again.
+ */
+@Slf4j
+@Component
+public class ArtifactDownloadPipeline implements DisposableBean {
+
+    public static final int DEFAULT_MAX_CONCURRENT_DOWNLOADS = 8;
+
+    private final MavenArtifactDownloader artifactDownloader;
+
+    private final ExecutorService executorService;
+
+    /**
+     * Requested downloads, finished or in flight, keyed by GAV (and classifier).
+     */
+    private final Map<String, CompletableFuture<Optional<Path>>> downloads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ArtifactDownloadPipeline(MavenArtifactDownloader artifactDownloader) {
+        this(artifactDownloader, DEFAULT_MAX_CONCURRENT_DOWNLOADS);
+    }
+
+    public ArtifactDownloadPipeline(MavenArtifactDownloader artifactDownloader, int maxConcurrentDownloads) {
+        this.artifactDownloader = artifactDownloader;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(maxConcurrentDownloads, r -> {
+            Thread thread = new Thread(r, "sbm-artifact-download-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Download all given dependencies concurrently and wait for them.
+     *
+     * @return the paths of the downloaded artifacts in the order of the given dependencies, dependencies that could
+     * not be downloaded are omitted.
+     */
+    public List<Path> downloadArtifacts(Collection<ResolvedDependency> dependencies) {
+        List<CompletableFuture<Optional<Path>>> pendingDownloads = dependencies.stream()
+                .map(this::submit)
+                .collect(Collectors.toList());
+        return pendingDownloads.stream()
+                .map(CompletableFuture::join)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Download all given dependencies concurrently and wait for them.
+     *
+     * @return the paths of the downloaded artifacts by dependency, dependencies that could not be downloaded are omitted.
+     */
+    public Map<ResolvedDependency, Path> downloadArtifactsByDependency(Collection<ResolvedDependency> dependencies) {
+        Map<ResolvedDependency, CompletableFuture<Optional<Path>>> pendingDownloads = new IdentityHashMap<>();
+        dependencies.forEach(d -> pendingDownloads.put(d, submit(d)));
+        Map<ResolvedDependency, Path> paths = new IdentityHashMap<>();
+        pendingDownloads.forEach((d, download) -> download.join().ifPresent(path -> paths.put(d, path)));
+        return paths;
+    }
+
+    @Nullable
+    public Path downloadArtifact(ResolvedDependency dependency) {
+        return submit(dependency).join().orElse(null);
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    private CompletableFuture<Optional<Path>> submit(ResolvedDependency dependency) {
+        String key = toKey(dependency);
+        return downloads.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> download(k, dependency), executorService));
+    }
+
+    private Optional<Path> download(String key, ResolvedDependency dependency) {
+        Optional<Path> path = Optional.empty();
+        try {
+            path = Optional.ofNullable(artifactDownloader.downloadArtifact(dependency));
+        } catch (RuntimeException e) {
+            log.warn("Could not download artifact '%s'.".formatted(key), e);
+        }
+        // only keep successful downloads of released artifacts, others are downloaded again with the next request
+        if (path.isEmpty() || isSnapshot(dependency)) {
+            downloads.remove(key);
+        }
+        return path;
+    }
+
+    private static boolean isSnapshot(ResolvedDependency dependency) {
+        return dependency.getVersion().endsWith("-SNAPSHOT");
+    }
+
+    private static String toKey(ResolvedDependency dependency) {
+        String key = dependency.getGav().toString();
+        if (dependency.getClassifier() != null) {
+            key += ":" + dependency.getClassifier();
+        }
+        return key;
+    }
+}
@@ -65,22 +65,29 @@ public class JavaSourceSetImpl implements JavaSourceSet {
     @Override
     @Deprecated(forRemoval = true)
     public JavaSource addJavaSource(Path projectRoot, Path sourceFolder, String sourceCode, String packageName) {
+        return addJavaSources(projectRoot, sourceFolder, List.of(sourceCode)).get(0);
+    }
+
+    @Override
+    public List<JavaSource> addJavaSources(Path projectRoot, Path sourceFolder, List<String> sourceCodes) {
         // FIXME: #7 JavaParser
         JavaParser javaParser = JavaParser.fromJavaVersion().classpath(ClasspathRegistry.getInstance().getCurrentDependencies()).build();
-//        javaParser.reset();
-        List<J.CompilationUnit> compilationUnits = javaParser.parse(sourceCode);
-        J.CompilationUnit parsedCompilationUnit = compilationUnits.get(0);
-        String sourceFileName = parsedCompilationUnit.getSourcePath().toString();
-        Path sourceFilePath = sourceFolder.resolve(sourceFileName);
-        if (Files.exists(sourceFilePath)) {
-            throw new RuntimeException("The Java class you tried to add already lives here: '" + sourceFilePath + "'.");
-        } else {
-            J.CompilationUnit compilationUnit = parsedCompilationUnit.withSourcePath(sourceFilePath);
+        List<J.CompilationUnit> compilationUnits = javaParser.parse(sourceCodes.toArray(String[]::new));
+        for (J.CompilationUnit parsedCompilationUnit : compilationUnits) {
+            Path sourceFilePath = sourceFolder.resolve(parsedCompilationUnit.getSourcePath().toString());
+            if (Files.exists(sourceFilePath)) {
+                throw new RuntimeException("The Java class you tried to add already lives here: '" + sourceFilePath + "'.");
+            }
+        }
+        List<JavaSource> addedSources = new ArrayList<>();
+        for (J.CompilationUnit parsedCompilationUnit : compilationUnits) {
+            J.CompilationUnit compilationUnit = parsedCompilationUnit.withSourcePath(sourceFolder.resolve(parsedCompilationUnit.getSourcePath().toString()));
             OpenRewriteJavaSource addedSource = new OpenRewriteJavaSource(projectRoot, compilationUnit, javaRefactoringFactory.createRefactoring(compilationUnit), javaParser, executionContext);
             addedSource.markChanged();
             projectResourceSet.add(addedSource);
-            return addedSource;
+            addedSources.add(addedSource);
         }
+        return addedSources;
     }
 
     @Override
@@ -21,7 +21,8 @@ import org.jetbrains.annotations.NotNull;
 import org.openrewrite.*;
 import org.openrewrite.marker.Markers;
 import org.openrewrite.maven.MavenVisitor;
-import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.internal.RawPom;
+import org.openrewrite.maven.tree.*;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
@@ -30,10 +31,10 @@ import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class provides a facade to apply OpenRewrite {@code Recipe}s and {@code Visitor}s to the project Maven build files.
@@ -42,6 +43,9 @@ import java.util.stream.Collectors;
  */
 @RequiredArgsConstructor
 public class MavenBuildFileRefactoring<T extends SourceFile> {
+
+    private static final ThreadLocal<Batch> CURRENT_BATCH = new ThreadLocal<>();
+
     private final ProjectResourceSet projectResourceSet;
     private final RewriteMavenParser mavenParser;
     private final ExecutionContext executionContext;
@@ -52,6 +56,7 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
      * The changes are immediately reflected in the wrapping {@code BuildFile}s.
      */
     public void execute(MavenVisitor... visitors) {
+        refreshOutdatedPomModels();
         List<Result> results = Arrays.stream(visitors)
                 .map(v -> new GenericOpenRewriteRecipe(() -> v))
                 .map(this::executeRecipe)
@@ -66,6 +71,7 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
      * The changes are immediately reflected in the wrapping {@code BuildFile}s.
      */
     public void execute(Recipe... recipes) {
+        refreshOutdatedPomModels();
         for (Recipe recipe : recipes) {
             List<Result> results = executeRecipe(recipe);
             processResults(results);
@@ -79,59 +85,212 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
      * A caller must decide if refreshing the Pom files in {@code ProjectContext} is required after this method.
      */
     public <V extends TreeVisitor<?, ExecutionContext>> void execute(RewriteSourceFileHolder<Xml.Document> resource, Recipe... recipes) {
+        refreshOutdatedPomModels();
         for (Recipe recipe : recipes) {
             List<Result> results = executeRecipe(recipe, resource);
             processResults(results);
         }
     }
 
-    public void refreshPomModels() {
-        // store buildfiles and their index in project resource list
-        List<BuildFileWithIndex> buildFilesWithIndex = new ArrayList<>();
-        List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = projectResourceSet.list();
-        for(RewriteSourceFileHolder<? extends SourceFile> sf : projectResources) {
-            if(isMavenBuildFile(sf)) {
-                int index = projectResources.indexOf(sf);
-                Xml.Document xmlDoc = (Xml.Document) sf.getSourceFile();
-                buildFilesWithIndex.add(new BuildFileWithIndex(index, (RewriteSourceFileHolder<Xml.Document>) sf));
+    /**
+     * Applies the changes made by {@code changes} to the Maven build files as one batch.
+     *
+     * Pom models marked as outdated during the batch are refreshed once when the batch ends, or earlier when
+     * {@link #refreshOutdatedPomModels()} is called or before the next recipe or visitor is applied, as these read
+     * the models. Actions registered with {@link #afterBatch(Runnable)} run after the models were refreshed.
+     * A batch started while another batch is active joins the outer batch.
+     *
+     * When {@code changes} fail the models are still refreshed, a failing refresh is added as suppressed exception.
+     */
+    public void batch(Runnable changes) {
+        if (CURRENT_BATCH.get() != null) {
+            changes.run();
+            return;
+        }
+        Batch batch = new Batch();
+        CURRENT_BATCH.set(batch);
+        try {
+            changes.run();
+        } catch (RuntimeException | Error e) {
+            CURRENT_BATCH.remove();
+            try {
+                refreshPomModels(batch.getOutdatedBuildFiles());
+            } catch (RuntimeException refreshFailure) {
+                e.addSuppressed(refreshFailure);
             }
+            throw e;
+        }
+        CURRENT_BATCH.remove();
+        refreshPomModels(batch.getOutdatedBuildFiles());
+        batch.getDeferredActions().forEach(Runnable::run);
+    }
+
+    /**
+     * Runs {@code action} after the current batch ended or immediately when no batch is active.
+     *
+     * The same action instance registered multiple times during a batch runs only once.
+     */
+    public void afterBatch(Runnable action) {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            action.run();
+        } else {
+            batch.getDeferredActions().add(action);
         }
+    }
+
+    /**
+     * Marks the pom model of the given build file as outdated after its content changed.
+     *
+     * Outside a batch the model is refreshed immediately, inside a batch the refresh is deferred.
+     */
+    public void markPomModelOutdated(RewriteSourceFileHolder<Xml.Document> buildFile) {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch == null) {
+            refreshPomModels(List.of(buildFile));
+        } else {
+            batch.getOutdatedBuildFiles().add(buildFile);
+        }
+    }
+
+    /**
+     * Refreshes the pom models marked as outdated in the current batch, must be called before reading a pom model.
+     */
+    public void refreshOutdatedPomModels() {
+        Batch batch = CURRENT_BATCH.get();
+        if (batch != null && !batch.getOutdatedBuildFiles().isEmpty()) {
+            List<RewriteSourceFileHolder<Xml.Document>> outdatedBuildFiles = new ArrayList<>(batch.getOutdatedBuildFiles());
+            batch.getOutdatedBuildFiles().clear();
+            refreshPomModels(outdatedBuildFiles);
+        }
+    }
+
+    /**
+     * Refreshes the pom models of all Maven build files in the {@code ProjectContext}.
+     */
+    public void refreshPomModels() {
+        refreshPomModels(getMavenBuildFiles());
+    }
+
+    /**
+     * Refreshes the pom models of the given changed build files and of all build files depending on them.
+     *
+     * Only these poms and the poms they depend on (parents and project dependencies) are parsed again,
+     * the models of all other build files are kept.
+     */
+    public void refreshPomModels(Collection<RewriteSourceFileHolder<Xml.Document>> changedBuildFiles) {
+        if (changedBuildFiles.isEmpty()) {
+            return;
+        }
+        List<RewriteSourceFileHolder<Xml.Document>> buildFiles = getMavenBuildFiles();
+        Set<RewriteSourceFileHolder<Xml.Document>> changed = newIdentitySet(changedBuildFiles);
+        Map<RewriteSourceFileHolder<Xml.Document>, Pom> requestedPoms = new IdentityHashMap<>();
+        buildFiles.forEach(bf -> requestedPoms.put(bf, getRequestedPom(bf, changed.contains(bf))));
+
+        // the changed build files and all build files depending on them must be resolved again
+        Set<RewriteSourceFileHolder<Xml.Document>> outdated = newIdentitySet(List.of());
+        buildFiles.stream().filter(changed::contains).forEach(outdated::add);
+        addTransitively(outdated, buildFiles, bf -> outdated.stream().anyMatch(o -> dependsOn(requestedPoms.get(bf), requestedPoms.get(o))));
+
+        // the build files the outdated build files depend on are required to resolve them
+        Set<RewriteSourceFileHolder<Xml.Document>> required = newIdentitySet(outdated);
+        addTransitively(required, buildFiles, bf -> required.stream().anyMatch(r -> dependsOn(requestedPoms.get(r), requestedPoms.get(bf))));
+
+        List<RewriteSourceFileHolder<Xml.Document>> buildFilesToParse = buildFiles.stream()
+                .filter(required::contains)
+                .collect(Collectors.toList());
 
         // create parser inputs from buildfiles content
-        List<Parser.Input> parserInputs = buildFilesWithIndex
+        List<Parser.Input> parserInputs = buildFilesToParse
                 .stream()
-                .map(BuildFileWithIndex::getXmlDoc)
-                .map(m -> new Parser.Input(m.getSourcePath(), null, () -> new ByteArrayInputStream(
-                        m.print().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourcePath())))
+                .map(m -> new Parser.Input(m.getSourceFile().getSourcePath(), null, () -> new ByteArrayInputStream(
+                        m.print().getBytes(StandardCharsets.UTF_8)), !Files.exists(m.getSourceFile().getSourcePath())))
                 .collect(Collectors.toList());
 
         // parse buildfiles
         List<Xml.Document> newMavenFiles = mavenParser.parseInputs(parserInputs, null, executionContext);
 
-        // replace new model in build files
-        newMavenFiles.stream()
-                .forEach(mf -> {
-                    replaceModelInBuildFile(projectResources, buildFilesWithIndex, newMavenFiles, mf);
-                });
-    }
-
-    private void replaceModelInBuildFile(
-            List<RewriteSourceFileHolder<? extends SourceFile>> projectResources,
-            List<BuildFileWithIndex> buildFilesWithIndex,
-            List<Xml.Document> newMavenFiles,
-            Xml.Document mf
-    ) {
-        // get index in list of build files
-        int indexInNewMavenFiles = newMavenFiles.indexOf(mf);
-        RewriteSourceFileHolder<Xml.Document> originalPom = buildFilesWithIndex.get(indexInNewMavenFiles).getXmlDoc();
-        int indexInProjectResources = projectResources.indexOf(originalPom);
+        // replace new model in outdated build files
+        for (int i = 0; i < newMavenFiles.size(); i++) {
+            RewriteSourceFileHolder<Xml.Document> buildFile = buildFilesToParse.get(i);
+            if (outdated.contains(buildFile)) {
+                replaceModelInBuildFile(buildFile, newMavenFiles.get(i));
+            }
+        }
+    }
+
+    private void replaceModelInBuildFile(RewriteSourceFileHolder<Xml.Document> originalPom, Xml.Document mf) {
         // replace marker
         Markers markers = originalPom.getSourceFile().getMarkers().removeByType(MavenResolutionResult.class);
         MavenResolutionResult updatedModel = mf.getMarkers().findFirst(MavenResolutionResult.class).get();
         markers = markers.addIfAbsent(updatedModel);
         Xml.Document refreshedPom = originalPom.getSourceFile().withMarkers(markers);
-        RewriteSourceFileHolder<Xml.Document> rewriteSourceFileHolder = (RewriteSourceFileHolder<Xml.Document>) projectResources.get(indexInProjectResources);
-        rewriteSourceFileHolder.replaceWith(refreshedPom);
+        originalPom.replaceWith(refreshedPom);
+    }
+
+    /**
+     * The requested pom of unchanged build files is taken from their model, changed build files are read from their content.
+     */
+    private Pom getRequestedPom(RewriteSourceFileHolder<Xml.Document> buildFile, boolean changed) {
+        Xml.Document document = buildFile.getSourceFile();
+        if (!changed) {
+            return MavenBuildFileUtil.findMavenResolution(document).get().getPom().getRequested();
+        }
+        RawPom rawPom = RawPom.parse(new ByteArrayInputStream(document.printAll().getBytes(StandardCharsets.UTF_8)), null);
+        return rawPom.toPom(document.getSourcePath(), null);
+    }
+
+    /**
+     * Whether {@code pom} references {@code other} as parent or (managed) dependency.
+     *
+     * Only artifactIds are compared as groupIds are often inherited or given as property, this might consider
+     * more poms than required but never less.
+     */
+    private boolean dependsOn(Pom pom, Pom other) {
+        String artifactId = other.getArtifactId();
+        if (artifactId == null || pom == other) {
+            return false;
+        }
+        Stream<String> parent = Stream.ofNullable(pom.getParent()).map(Parent::getArtifactId);
+        Stream<String> dependencies = Stream.concat(
+                        Stream.of(pom.getDependencies()),
+                        pom.getProfiles().stream().map(Profile::getDependencies))
+                .flatMap(List::stream)
+                .map(Dependency::getArtifactId);
+        Stream<String> managedDependencies = Stream.concat(
+                        Stream.of(pom.getDependencyManagement()),
+                        pom.getProfiles().stream().map(Profile::getDependencyManagement))
+                .flatMap(List::stream)
+                .map(ManagedDependency::getArtifactId);
+        return Stream.of(parent, dependencies, managedDependencies)
+                .flatMap(s -> s)
+                .anyMatch(artifactId::equals);
+    }
+
+    private static void addTransitively(Set<RewriteSourceFileHolder<Xml.Document>> set, List<RewriteSourceFileHolder<Xml.Document>> candidates, Predicate<RewriteSourceFileHolder<Xml.Document>> belongsToSet) {
+        boolean added;
+        do {
+            added = false;
+            for (RewriteSourceFileHolder<Xml.Document> candidate : candidates) {
+                if (!set.contains(candidate) && belongsToSet.test(candidate)) {
+                    set.add(candidate);
+                    added = true;
+                }
+            }
+        } while (added);
+    }
+
+    private static Set<RewriteSourceFileHolder<Xml.Document>> newIdentitySet(Collection<RewriteSourceFileHolder<Xml.Document>> buildFiles) {
+        Set<RewriteSourceFileHolder<Xml.Document>> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(buildFiles);
+        return set;
+    }
+
+    private List<RewriteSourceFileHolder<Xml.Document>> getMavenBuildFiles() {
+        return projectResourceSet.stream()
+                .filter(this::isMavenBuildFile)
+                .map(sf -> (RewriteSourceFileHolder<Xml.Document>) sf)
+                .collect(Collectors.toList());
     }
 
     private boolean isMavenBuildFile(RewriteSourceFileHolder<? extends SourceFile> sf) {
@@ -139,15 +298,9 @@ public class MavenBuildFileRefactoring<T extends SourceFile> {
     }
 
     @Getter
-    class BuildFileWithIndex {
-        private final int index;
-        private final RewriteSourceFileHolder<Xml.Document> xmlDoc;
-
-        public BuildFileWithIndex(int index, RewriteSourceFileHolder<Xml.Document> xmlDoc) {
-
-            this.index = index;
-            this.xmlDoc = xmlDoc;
-        }
+    private static class Batch {
+        private final Set<RewriteSourceFileHolder<Xml.Document>> outdatedBuildFiles = newIdentitySet(List.of());
+        private final Set<Runnable> deferredActions = new LinkedHashSet<>();
     }
 
     private List<Result> executeRecipe(Recipe recipe) {
@@ -120,17 +120,23 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     private static final Path RESOURCE_TEST_FOLDER = Path.of("src/test/resources");
 
     private final ExecutionContext executionContext;
+    private final ArtifactDownloadPipeline artifactDownloadPipeline;
+
+    private final Runnable classpathRegistryUpdate = this::updateClasspathRegistry;
+    private final Runnable dependenciesChangedNotification = this::publishDependenciesChangedEvent;
 
 
     public OpenRewriteMavenBuildFile(Path absoluteProjectPath,
                                      Xml.Document sourceFile,
                                      ApplicationEventPublisher eventPublisher,
                                      ExecutionContext executionContext,
-                                     MavenBuildFileRefactoring refactoring) {
+                                     MavenBuildFileRefactoring refactoring,
+                                     ArtifactDownloadPipeline artifactDownloadPipeline) {
         super(absoluteProjectPath, sourceFile);
         this.eventPublisher = eventPublisher;
         this.executionContext = executionContext;
         this.refactoring = refactoring;
+        this.artifactDownloadPipeline = artifactDownloadPipeline;
     }
 
     public void apply(Recipe recipe) {
@@ -140,6 +146,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     }
 
     public MavenResolutionResult getPom() {
+        refactoring.refreshOutdatedPomModels();
         return MavenBuildFileUtil.findMavenResolution(getSourceFile()).get();
     }
 
@@ -151,7 +158,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     public void addDependency(Dependency dependency) {
         if (!containsDependency(dependency)) {
             addDependencyInner(dependency);
-            eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+            refactoring.afterBatch(dependenciesChangedNotification);
         }
     }
 
@@ -175,7 +182,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public void addDependencies(List<Dependency> dependencies) {
         addDependenciesInner(dependencies);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        refactoring.afterBatch(dependenciesChangedNotification);
     }
 
     /**
@@ -349,11 +356,16 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
         return collect;
     }
 
+    @Override
+    public void batch(Runnable changes) {
+        refactoring.batch(changes);
+    }
+
     @Override
     public void removeDependencies(List<Dependency> dependencies) {
         removeDependenciesInner(dependencies);
 
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        refactoring.afterBatch(dependenciesChangedNotification);
     }
 
     /**
@@ -369,13 +381,13 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                 .filter(c -> Arrays.stream(regex).anyMatch(r -> c.getCoordinates().matches(r)))
                 .collect(Collectors.toList());
         removeDependenciesInner(dependenciesMatching);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        refactoring.afterBatch(dependenciesChangedNotification);
     }
 
     @Override
     public void addToDependencyManagement(Dependency dependency) {
         addToDependencyManagementInner(dependency);
-        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+        refactoring.afterBatch(dependenciesChangedNotification);
     }
 
     private org.springframework.sbm.build.api.Dependency mapDependency(org.openrewrite.maven.tree.Dependency d) {
@@ -438,13 +450,17 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
             excludeDependenciesInner(exclusions);
 
-            updateClasspathRegistry();
+            refactoring.afterBatch(classpathRegistryUpdate);
         }
     }
 
+    private void publishDependenciesChangedEvent() {
+        eventPublisher.publishEvent(new DependenciesChangedEvent(getResolvedDependenciesPaths()));
+    }
+
     private void refreshPomModel() {
 //        apply(new GenericOpenRewriteRecipe<>(() -> new UpdateMavenModel<>()));
-        refactoring.refreshPomModels();
+        refactoring.markPomModelOutdated(this);
     }
 
     /**
@@ -469,7 +485,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
                 .flatMap(d -> d.getDependencies().stream())
                 .collect(Collectors.toSet());
         compileDependencies.addAll(testDependencies);
-        compileDependencies.forEach(instance::addDependency);
+        compileDependencies.forEach(d -> instance.addDependency(artifactDownloadPipeline, d));
     }
 
     private Recipe getAddDependencyRecipe(Dependency dependency) {
@@ -576,11 +592,10 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
 
     @Override
     public List<Path> getResolvedDependenciesPaths() {
-        RewriteMavenArtifactDownloader rewriteMavenArtifactDownloader = new RewriteMavenArtifactDownloader();
-        return getPom().getDependencies().get(Scope.Provided).stream()
+        List<ResolvedDependency> externalDependencies = getPom().getDependencies().get(Scope.Provided).stream()
                 .filter(this::filterProjectDependencies)
-                .map(rd -> rewriteMavenArtifactDownloader.downloadArtifact(rd))
                 .collect(Collectors.toList());
+        return artifactDownloadPipeline.downloadArtifacts(externalDependencies);
     }
 
     @NotNull
@@ -744,7 +759,7 @@ public class OpenRewriteMavenBuildFile extends RewriteSourceFileHolder<Xml.Docum
     @Override
     public void excludeDependencies(List<Dependency> excludedDependencies) {
         excludeDependenciesInner(excludedDependencies);
-        updateClasspathRegistry();
+        refactoring.afterBatch(classpathRegistryUpdate);
     }
 
     @Override
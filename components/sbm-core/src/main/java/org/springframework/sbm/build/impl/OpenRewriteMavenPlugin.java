@@ -165,7 +165,7 @@ public class OpenRewriteMavenPlugin implements Plugin {
 							configurationXml
 						)
 				);
-				OpenRewriteMavenPlugin.this.refactoring.refreshPomModels();
+				OpenRewriteMavenPlugin.this.refactoring.markPomModelOutdated(OpenRewriteMavenPlugin.this.getResourceWrapper());
 			}
 			catch (JsonProcessingException e) {
 				throw new RuntimeException(e);
@@ -72,7 +72,9 @@ public class AddDependencies extends MultiModuleAwareAction {
                 .map(Optional::get)
                 .collect(Collectors.toList());
 
-        buildFile.removeDependencies(removeList);
-        buildFile.addDependencies(addList);
+        buildFile.batch(() -> {
+            buildFile.removeDependencies(removeList);
+            buildFile.addDependencies(addList);
+        });
     }
 }
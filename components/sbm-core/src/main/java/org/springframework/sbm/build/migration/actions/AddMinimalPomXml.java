@@ -23,6 +23,7 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Parser;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.impl.MavenBuildFileRefactoringFactory;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
@@ -56,6 +57,10 @@ public class AddMinimalPomXml extends AbstractAction {
     @JsonIgnore
     private ExecutionContext executionContext;
 
+    @Autowired
+    @JsonIgnore
+    private ArtifactDownloadPipeline artifactDownloadPipeline;
+
     @Override
     public void apply(ProjectContext context) {
         String projectName = context.getProjectRootDirectory().getFileName().toString();
@@ -79,7 +84,8 @@ public class AddMinimalPomXml extends AbstractAction {
         OpenRewriteMavenBuildFile rewriteMavenBuildFile = new OpenRewriteMavenBuildFile(
                 context.getProjectRootDirectory(),
                 maven, getEventPublisher(), executionContext,
-                mavenBuildFileRefactoringFactory.createRefactoring());
+                mavenBuildFileRefactoringFactory.createRefactoring(),
+                artifactDownloadPipeline);
         context.getProjectResources().add(rewriteMavenBuildFile);
     }
 }
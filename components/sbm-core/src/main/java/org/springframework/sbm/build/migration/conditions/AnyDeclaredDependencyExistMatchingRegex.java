@@ -23,6 +23,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Check if any explicitly declared dependency exists in any build file found in {@link ProjectContext}.
@@ -41,6 +42,11 @@ public class AnyDeclaredDependencyExistMatchingRegex implements Condition {
         return description;
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(dependencies);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
         return dependencies.stream().anyMatch(d ->
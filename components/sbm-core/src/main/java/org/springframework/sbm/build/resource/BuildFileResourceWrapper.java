@@ -21,6 +21,7 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.Order;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.impl.MavenBuildFileRefactoring;
 import org.springframework.sbm.build.impl.MavenBuildFileRefactoringFactory;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
@@ -37,6 +38,7 @@ public class BuildFileResourceWrapper implements ProjectResourceWrapper<OpenRewr
 
     private final MavenBuildFileRefactoringFactory mavenBuildFileRefactoringFactory;
     private final ExecutionContext executionContext;
+    private final ArtifactDownloadPipeline artifactDownloadPipeline;
 
     @Override
     public boolean shouldHandle(RewriteSourceFileHolder<? extends SourceFile> rewriteSourceFileHolder) {
@@ -52,7 +54,8 @@ public class BuildFileResourceWrapper implements ProjectResourceWrapper<OpenRewr
                 maven,
                 eventPublisher,
                 executionContext,
-                refactoring
+                refactoring,
+                artifactDownloadPipeline
         );
     }
 
@@ -36,10 +36,7 @@ public class AbsolutePathResourceFinder implements ProjectResourceFinder<Optiona
             throw new IllegalArgumentException("Given path '"+absoluteResourcePath+"' is not absolute");
         }
         Path searchForPath = absoluteResourcePath.normalize();
-        return projectResourceSet
-                .stream()
-                .filter(r -> searchForPath.equals(r.getAbsolutePath()))
-                .findFirst();
+        return projectResourceSet.findByAbsolutePath(searchForPath);
 
     }
 }
@@ -22,6 +22,8 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Optional;
+
 @Builder
 @Setter
 @NoArgsConstructor
@@ -35,6 +37,11 @@ public class FileExist implements Condition {
         return "an app contains a file '" + fileName + "'";
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(fileName);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
         return context.getProjectResources().stream()
@@ -21,6 +21,8 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
 import org.springframework.util.PathMatcher;
 
+import java.util.Optional;
+
 /**
  * Condition resolves to {@code true} if given {@code antPath} matches any file.
  * Uses Spring's <a href="https://docs.spring.io/spring-framework/docs/current/javadoc-api/org/springframework/util/AntPathMatcher.html">{@code AntPathMatcher}</a>.
@@ -44,6 +46,11 @@ public class FileMatchingPatternExist implements Condition {
         return "an app contains a file matching Ant-style path pattern '" + pattern + "'";
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(pattern);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
         return context.getProjectResources().stream()
@@ -15,27 +15,34 @@
  */
 package org.springframework.sbm.engine.commands;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.ApplicableRecipesListHolder;
 import org.springframework.sbm.engine.recipe.Recipe;
 import org.springframework.sbm.engine.recipe.Recipes;
 import org.springframework.sbm.engine.recipe.RecipesBuilder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.scopes.ExecutionScope;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
-public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
+public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> implements DisposableBean {
 
     private static final String COMMAND_NAME = "applicableRecipes";
     private final RecipesBuilder recipesBuilder;
     private final ApplicableRecipesListHolder applicableRecipesListHolder;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private ExecutorService executorService;
 
-    protected ApplicableRecipeListCommand(RecipesBuilder recipesBuilder, ExecutionScope executionScope, ApplicableRecipesListHolder applicableRecipesListHolder) {
+    protected ApplicableRecipeListCommand(RecipesBuilder recipesBuilder, ExecutionScope executionScope, ApplicableRecipesListHolder applicableRecipesListHolder, SbmApplicationProperties sbmApplicationProperties) {
         super(COMMAND_NAME);
         this.recipesBuilder = recipesBuilder;
         this.applicableRecipesListHolder = applicableRecipesListHolder;
+        this.sbmApplicationProperties = sbmApplicationProperties;
     }
 
     public List<Recipe> execute(ProjectContext projectContext) {
@@ -45,11 +52,28 @@ public class ApplicableRecipeListCommand extends AbstractCommand<List<Recipe>> {
     private List<Recipe> getApplicableRecipes(ProjectContext context) {
         applicableRecipesListHolder.clear();
         Recipes recipes = recipesBuilder.buildRecipes();
-        List<Recipe> applicable = recipes.getApplicable(context);
+        List<Recipe> applicable = sbmApplicationProperties.isParallelApplicabilityEnabled()
+                ? recipes.getApplicable(context, getExecutorService())
+                : recipes.getApplicable(context);
         applicableRecipesListHolder.setRecipes(applicable);
         return applicable;
     }
 
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(Math.max(1, sbmApplicationProperties.getParallelApplicabilityThreads()));
+        }
+        return executorService;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+
     @Override
     @Deprecated
     // FIXME: Refactor: inheriting AbstractCommand forces this method!
@@ -19,6 +19,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
+import org.openrewrite.RecipeScheduler;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.java.JavaParser;
@@ -27,9 +28,13 @@ import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.build.api.RootBuildFileFilter;
 import org.springframework.sbm.build.filter.BuildFileProjectResourceFilter;
+import org.springframework.sbm.engine.git.ProjectFingerprint;
+import org.springframework.sbm.engine.recipe.ConfigurableRecipeScheduler;
 import org.springframework.sbm.engine.recipe.OpenRewriteSourceFilesFinder;
 import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
 import org.springframework.sbm.java.api.ProjectJavaSources;
+import org.springframework.sbm.java.impl.JavaSourceIndex;
+import org.springframework.sbm.java.impl.TypeHierarchyIndex;
 import org.springframework.sbm.java.impl.ProjectJavaSourcesImpl;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactory;
 import org.springframework.sbm.java.util.BasePackageCalculator;
@@ -49,11 +54,15 @@ public class ProjectContext {
     private BasePackageCalculator basePackageCalculator;
     private final ProjectResourceSet projectResources;
     private String revision;
+    private ProjectFingerprint fingerprint;
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
     private final RewriteMigrationResultMerger resultMerger;
+    private final JavaSourceIndex javaSourceIndex;
+    private final TypeHierarchyIndex typeHierarchyIndex;
+    private final RecipeScheduler recipeScheduler;
 
-    public ProjectContext(JavaRefactoringFactory javaRefactoringFactory, Path projectRootDirectory, ProjectResourceSet projectResources, BasePackageCalculator basePackageCalculator, JavaParser javaParser, ExecutionContext executionContext, RewriteMigrationResultMerger resultMerger) {
+    public ProjectContext(JavaRefactoringFactory javaRefactoringFactory, Path projectRootDirectory, ProjectResourceSet projectResources, BasePackageCalculator basePackageCalculator, JavaParser javaParser, ExecutionContext executionContext, RewriteMigrationResultMerger resultMerger, RecipeScheduler recipeScheduler, TypeHierarchyIndex typeHierarchyIndex) {
         this.projectRootDirectory = projectRootDirectory.toAbsolutePath();
         this.projectResources = projectResources;
         this.javaRefactoringFactory = javaRefactoringFactory;
@@ -61,6 +70,9 @@ public class ProjectContext {
         this.javaParser = javaParser;
         this.executionContext = executionContext;
         this.resultMerger = resultMerger;
+        this.javaSourceIndex = new JavaSourceIndex(projectResources);
+        this.typeHierarchyIndex = typeHierarchyIndex;
+        this.recipeScheduler = recipeScheduler;
     }
 
     /**
@@ -98,7 +110,7 @@ public class ProjectContext {
     }
 
     public ProjectJavaSources getProjectJavaSources() {
-        ProjectJavaSources projectJavaSources = new ProjectJavaSourcesImpl(projectResources, javaRefactoringFactory.createRefactoring());
+        ProjectJavaSources projectJavaSources = new ProjectJavaSourcesImpl(projectResources, javaRefactoringFactory.createRefactoring(), typeHierarchyIndex);
         return projectJavaSources;
     }
 
@@ -108,7 +120,7 @@ public class ProjectContext {
 
     public void apply(Recipe recipe) {
         List<? extends SourceFile> rewriteSourceFiles = this.search(new OpenRewriteSourceFilesFinder());
-        List<Result> results = recipe.run(rewriteSourceFiles, executionContext).getResults();
+        List<Result> results = recipe.run(rewriteSourceFiles, executionContext, recipeScheduler, ConfigurableRecipeScheduler.MAX_CYCLES, ConfigurableRecipeScheduler.MIN_CYCLES).getResults();
         resultMerger.mergeResults(this, results);
     }
 }
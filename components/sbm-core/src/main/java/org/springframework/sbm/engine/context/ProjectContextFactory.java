@@ -16,8 +16,10 @@
 package org.springframework.sbm.engine.context;
 
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.RecipeScheduler;
 import org.openrewrite.java.JavaParser;
 import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.filter.BuildFileProjectResourceFilter;
 import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactory;
@@ -43,14 +45,18 @@ public class ProjectContextFactory {
     private final JavaParser javaParser;
     private final ExecutionContext executionContext;
     private final RewriteMigrationResultMerger resultMerger;
+    private final RecipeScheduler recipeScheduler;
+    private final ArtifactDownloadPipeline artifactDownloadPipeline;
 
     @NotNull
     public ProjectContext createProjectContext(Path projectDir, ProjectResourceSet projectResourceSet) {
         projectResourceSetHolder.setProjectResourceSet(projectResourceSet);
         applyProjectResourceWrappers(projectResourceSet);
         List<BuildFile> buildFiles = new BuildFileProjectResourceFilter().apply(projectResourceSet);
-        ClasspathRegistry.initializeFromBuildFiles(buildFiles);
-        ProjectContext projectContext = new ProjectContext(javaRefactoringFactory, projectDir, projectResourceSet, basePackageCalculator, javaParser, executionContext, resultMerger);
+        ClasspathRegistry.initializeFromBuildFiles(buildFiles, artifactDownloadPipeline);
+        ProjectContext projectContext = new ProjectContext(javaRefactoringFactory, projectDir, projectResourceSet, basePackageCalculator, javaParser, executionContext, resultMerger, recipeScheduler, projectResourceSetHolder.getTypeHierarchyIndex());
+        projectContext.getJavaSourceIndex().update();
+        projectContext.getTypeHierarchyIndex().update();
         return projectContext;
     }
 
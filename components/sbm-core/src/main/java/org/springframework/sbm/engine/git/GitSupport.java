@@ -19,11 +19,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.jgit.api.*;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
@@ -31,9 +38,16 @@ import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -46,7 +60,27 @@ import java.util.stream.Stream;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class GitSupport {
+public class GitSupport implements DisposableBean {
+
+    private static final int MAX_CACHED_REPOSITORIES = 16;
+
+    /**
+     * Repositories opened by {@link #openRepository(File)}, keyed by their {@code .git} directory.
+     * The cache holds one reference to each repository and every caller of {@link #openRepository(File)} another one,
+     * a repository is only closed when the cache and all callers released their reference.
+     * The least recently used repository is released when more than {@link #MAX_CACHED_REPOSITORIES} are cached,
+     * all are released with {@link #closeRepositories()}.
+     */
+    private final Map<Path, Repository> repositories = new LinkedHashMap<>(MAX_CACHED_REPOSITORIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Repository> eldest) {
+            if (size() > MAX_CACHED_REPOSITORIES) {
+                eldest.getValue().close();
+                return true;
+            }
+            return false;
+        }
+    };
 
     private final SbmApplicationProperties sbmApplicationProperties;
 
@@ -67,13 +101,55 @@ public class GitSupport {
     }
 
     /**
-     * Get the git repository or throw exception
+     * Get the git repository or throw exception.
      */
     public static Git getGit(File repo) {
         Repository repository = findRepository(repo).orElseThrow(() -> new RuntimeException());
         return Git.wrap(repository);
     }
 
+    /**
+     * Get the git repository or throw exception.
+     *
+     * The repository is opened once per {@code .git} directory and reused by subsequent calls.
+     * The caller must close the returned repository when done, this releases its reference.
+     */
+    Repository openRepository(File repo) {
+        FileRepositoryBuilder builder = new FileRepositoryBuilder().findGitDir(repo);
+        if (builder.getGitDir() == null) {
+            throw new RuntimeException("Could not find .git in the given directory '%s' or any of it's parents".formatted(repo));
+        }
+        Path gitDir = builder.getGitDir().toPath().toAbsolutePath().normalize();
+        synchronized (repositories) {
+            Repository repository = repositories.compute(gitDir, (dir, cached) -> {
+                if (cached != null && cached.getDirectory().exists()) {
+                    return cached;
+                }
+                if (cached != null) {
+                    cached.close();
+                }
+                return findRepository(repo).orElseThrow(() -> new RuntimeException());
+            });
+            repository.incrementOpen();
+            return repository;
+        }
+    }
+
+    /**
+     * Releases the repositories cached by {@link #openRepository(File)}, they are opened again when needed.
+     */
+    public void closeRepositories() {
+        synchronized (repositories) {
+            repositories.values().forEach(Repository::close);
+            repositories.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closeRepositories();
+    }
+
     /**
      * Adds files to git index.
      *
@@ -81,8 +157,8 @@ public class GitSupport {
      * @param filePatterns the filePatterns for files to add
      */
     public void add(File dirUnderGit, String... filePatterns) {
-        try {
-            Git git = getGit(dirUnderGit);
+        try (Repository repository = openRepository(dirUnderGit)) {
+            Git git = Git.wrap(repository);
             AddCommand add = git.add();
             processFilePatterns(dirUnderGit, git, add::addFilepattern, filePatterns);
             DirCache call = add.call();
@@ -111,8 +187,8 @@ public class GitSupport {
      * @param filePatterns the filePatterns to remove
      */
     public void delete(File dirUnderGit, String... filePatterns) {
-        try {
-            Git git = getGit(dirUnderGit);
+        try (Repository repository = openRepository(dirUnderGit)) {
+            Git git = Git.wrap(repository);
             RmCommand rm = git.rm();
             processFilePatterns(dirUnderGit, git, s -> rm.addFilepattern(s), filePatterns);
             rm.call();
@@ -128,8 +204,8 @@ public class GitSupport {
      * @param message for the commit
      */
     public Commit commit(File repo, String message) {
-        try {
-            Git git = getGit(repo);
+        try (Repository repository = openRepository(repo)) {
+            Git git = Git.wrap(repository);
             CommitCommand commit = git.commit();
             commit.setMessage(message);
             RevCommit call = commit.call();
@@ -145,8 +221,8 @@ public class GitSupport {
      * @param repo the location of the repo
      */
     public Optional<Commit> getLatestCommit(File repo) {
-        try {
-            Git git = getGit(repo);
+        try (Repository repository = openRepository(repo)) {
+            Git git = Git.wrap(repository);
             Iterable<RevCommit> revCommits = git.log().setMaxCount(1).call();
             RevCommit lastCommit = revCommits.iterator().next();
             return Optional.of(new Commit(lastCommit.getName(), lastCommit.getFullMessage()));
@@ -203,8 +279,8 @@ public class GitSupport {
      * @param expectedRevision the revision to check
      */
     public boolean hasUncommittedChangesOrDifferentRevision(File repo, String expectedRevision) {
-        try {
-            Git git = getGit(repo);
+        try (Repository repository = openRepository(repo)) {
+            Git git = Git.wrap(repository);
             Status status = git.status().call();
             Optional<Commit> latestCommit = getLatestCommit(repo);
             if (latestCommit.isEmpty()) {
@@ -217,6 +293,47 @@ public class GitSupport {
         }
     }
 
+    /**
+     * Get the files that differ between the given revision and the working tree.
+     * This includes files changed in commits after {@code revision} and uncommitted changes, including untracked files.
+     *
+     * @param repo     the location of the repo
+     * @param revision the revision to compare the working tree with
+     * @return the absolute paths of added, modified and deleted files
+     */
+    public Set<Path> getChangedFiles(File repo, String revision) {
+        try (Repository repository = openRepository(repo)) {
+            Git git = Git.wrap(repository);
+            Set<String> changedFiles = new HashSet<>();
+            ObjectId expectedCommit = repository.resolve(revision);
+            if (expectedCommit == null) {
+                throw new IllegalArgumentException("Could not resolve revision '%s'.".formatted(revision));
+            }
+            ObjectId headCommit = repository.resolve(Constants.HEAD);
+            if (headCommit != null && !headCommit.equals(expectedCommit)) {
+                try (ObjectReader reader = repository.newObjectReader(); RevWalk revWalk = new RevWalk(repository)) {
+                    CanonicalTreeParser oldTree = new CanonicalTreeParser(null, reader, revWalk.parseTree(expectedCommit));
+                    CanonicalTreeParser newTree = new CanonicalTreeParser(null, reader, revWalk.parseTree(headCommit));
+                    for (DiffEntry diff : git.diff().setOldTree(oldTree).setNewTree(newTree).call()) {
+                        changedFiles.add(diff.getOldPath());
+                        changedFiles.add(diff.getNewPath());
+                    }
+                }
+            }
+            Status status = git.status().call();
+            changedFiles.addAll(status.getUncommittedChanges());
+            changedFiles.addAll(status.getUntracked());
+            changedFiles.remove(DiffEntry.DEV_NULL);
+            Path workTree = repository.getWorkTree().toPath().toAbsolutePath().normalize();
+            return changedFiles.stream()
+                    .map(workTree::resolve)
+                    .map(Path::normalize)
+                    .collect(Collectors.toSet());
+        } catch (GitAPIException | IOException e) {
+            throw new RuntimeException("Could not calculate changed files since revision '%s'.".formatted(revision), e);
+        }
+    }
+
     /**
      * Add and commit modified and deleted files.
      *
@@ -226,19 +343,90 @@ public class GitSupport {
      * @param deletedResources to add as deleted
      */
     public Commit addAllAndCommit(File repo, String commitMessage, List<String> modifedResources, List<String> deletedResources) {
-        if (!modifedResources.isEmpty()) {
-            String[] modified = modifedResources.toArray(new String[]{});
-            add(repo, modified);
-        }
+        boolean containsDirectories = modifedResources.stream()
+                .anyMatch(r -> r.equals(".") || repo.toPath().resolve(r).toFile().isDirectory());
+        if (containsDirectories) {
+            if (!modifedResources.isEmpty()) {
+                String[] modified = modifedResources.toArray(new String[]{});
+                add(repo, modified);
+            }
 
-        if (!deletedResources.isEmpty()) {
-            String[] deleted = deletedResources.toArray(new String[]{});
-            delete(repo, deleted);
+            if (!deletedResources.isEmpty()) {
+                String[] deleted = deletedResources.toArray(new String[]{});
+                delete(repo, deleted);
+            }
+        } else {
+            stage(repo, modifedResources, deletedResources);
         }
 
         return commit(repo, commitMessage);
     }
 
+    /**
+     * Stages the given files with one {@code git add} and one {@code git rm --cached}.
+     *
+     * Unlike {@link #add(File, String...)} and {@link #delete(File, String...)} the given files are not interpreted as
+     * patterns, only they are read from the working tree. Like with {@code git add} line endings are converted,
+     * filters configured in {@code .gitattributes} are applied, untracked files ignored by {@code .gitignore} are
+     * skipped and symbolic links are staged as links.
+     * Modified files that don't exist anymore are removed from the index.
+     *
+     * @param dirUnderGit a directory which itself or some parent dir contains .git
+     * @param modifiedFiles files to add as modified, absolute or relative to {@code dirUnderGit}
+     * @param deletedFiles files to add as deleted, absolute or relative to {@code dirUnderGit}
+     */
+    void stage(File dirUnderGit, List<String> modifiedFiles, List<String> deletedFiles) {
+        try (Repository repository = openRepository(dirUnderGit)) {
+            stage(Git.wrap(repository), dirUnderGit, modifiedFiles, deletedFiles);
+        }
+    }
+
+    private void stage(Git git, File dirUnderGit, List<String> modifiedFiles, List<String> deletedFiles) {
+        Path workTree = git.getRepository().getWorkTree().toPath().toAbsolutePath().normalize();
+        Path dir = dirUnderGit.toPath().toAbsolutePath().normalize();
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (String modifiedFile : modifiedFiles) {
+            Path file = dir.resolve(modifiedFile).normalize();
+            if (isInWorkTree(file, workTree)) {
+                String path = LinuxWindowsPathUnifier.unifyPath(workTree.relativize(file));
+                if (Files.exists(file, LinkOption.NOFOLLOW_LINKS)) {
+                    added.add(path);
+                } else {
+                    removed.add(path);
+                }
+            }
+        }
+        for (String deletedFile : deletedFiles) {
+            Path file = dir.resolve(deletedFile).normalize();
+            if (isInWorkTree(file, workTree)) {
+                removed.add(LinuxWindowsPathUnifier.unifyPath(workTree.relativize(file)));
+            }
+        }
+        try {
+            if (!added.isEmpty()) {
+                AddCommand add = git.add();
+                added.forEach(add::addFilepattern);
+                add.call();
+            }
+            if (!removed.isEmpty()) {
+                RmCommand rm = git.rm().setCached(true);
+                removed.forEach(rm::addFilepattern);
+                rm.call();
+            }
+        } catch (GitAPIException e) {
+            throw new RuntimeException("Could not stage changes in '%s'.".formatted(dirUnderGit), e);
+        }
+    }
+
+    private boolean isInWorkTree(Path file, Path workTree) {
+        if (!file.startsWith(workTree)) {
+            log.debug("Not staging '{}' as it is outside of '{}'", file, workTree);
+            return false;
+        }
+        return true;
+    }
+
     public boolean repoExists(File repoDir) {
         if (repoDir == null) return false;
         Optional<Repository> repository = findRepository(repoDir);
@@ -246,6 +434,9 @@ public class GitSupport {
     }
 
     public void commitWhenGitAvailable(ProjectContext context, String appliedRecipeName, List<String> modifiedResources, List<String> deletedResources) {
+        List<Path> changedFiles = Stream.concat(modifiedResources.stream(), deletedResources.stream())
+                .map(r -> Path.of(r).toAbsolutePath().normalize())
+                .collect(Collectors.toList());
         modifiedResources = modifiedResources.stream()
                 .map(r -> context.getProjectRootDirectory().relativize(Path.of(r)).toString())
                 .collect(Collectors.toList());
@@ -259,6 +450,9 @@ public class GitSupport {
                 String commitMessage = "SBM: applied recipe '" + appliedRecipeName + "'";
                 Commit latestCommit = addAllAndCommit(repoDir, commitMessage, modifiedResources, deletedResources);
                 context.setRevision(latestCommit.getHash());
+                if (context.getFingerprint() != null) {
+                    context.setFingerprint(context.getFingerprint().update(changedFiles));
+                }
             }
         }
     }
@@ -294,8 +488,8 @@ public class GitSupport {
     }
 
     public GitStatus getStatus(File repo) {
-        try {
-            Git git = getGit(repo);
+        try (Repository repository = openRepository(repo)) {
+            Git git = Git.wrap(repository);
             Status status = null;
             status = git.status().call();
             GitStatus gitStatus = new GitStatus(status);
@@ -306,8 +500,8 @@ public class GitSupport {
     }
 
     public void switchToBranch(File repo, String branchName) {
-        try {
-            Git git = getGit(repo);
+        try (Repository repository = openRepository(repo)) {
+            Git git = Git.wrap(repository);
             git.checkout().setName(branchName).setCreateBranch(true).call();
         } catch (GitAPIException e) {
             e.printStackTrace();
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.git;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Size and modification time, and optionally a content hash, of the files of a project.
+ *
+ * Used by {@link ProjectSyncVerifier} to find out whether the files changed since they were scanned
+ * without calculating a full git status.
+ * Files added after the scan are detected through the modification time of the directories of the project,
+ * ignored directories and {@code .git} are not considered.
+ *
+ * Like git's racy index entries, a modification time close to the time the fingerprint was taken can't tell
+ * whether a file was changed again within the same tick of the file system clock.
+ * The content of such files is hashed and the entries of such directories are listed to compare them later.
+ */
+public class ProjectFingerprint {
+
+    /**
+     * Coarsest modification time resolution of common file systems (FAT).
+     */
+    static final long RACY_INTERVAL_MILLIS = 2000;
+
+    private final Path projectRoot;
+    private final Predicate<Path> ignoredDirectory;
+    private final boolean withContentHash;
+    private final Map<Path, FileFingerprint> files;
+    private final Map<Path, DirectoryFingerprint> directories;
+
+    private ProjectFingerprint(Path projectRoot, Predicate<Path> ignoredDirectory, boolean withContentHash, Map<Path, FileFingerprint> files, Map<Path, DirectoryFingerprint> directories) {
+        this.projectRoot = projectRoot;
+        this.ignoredDirectory = ignoredDirectory;
+        this.withContentHash = withContentHash;
+        this.files = files;
+        this.directories = directories;
+    }
+
+    /**
+     * @param projectRoot      absolute path of the project root
+     * @param files            absolute paths of the scanned files
+     * @param withContentHash  calculate a hash of the content, files with a different modification time but the same
+     *                         content are then considered unchanged
+     * @param ignoredDirectory directories not scanned, files added below them are not considered
+     */
+    public static ProjectFingerprint of(Path projectRoot, Collection<Path> files, boolean withContentHash, Predicate<Path> ignoredDirectory) {
+        long takenAt = System.currentTimeMillis();
+        Map<Path, FileFingerprint> fingerprints = new HashMap<>();
+        files.forEach(f -> fingerprints.put(f, FileFingerprint.of(f, withContentHash, takenAt)));
+        return new ProjectFingerprint(projectRoot, ignoredDirectory, withContentHash, fingerprints, takeDirectoryFingerprints(projectRoot, ignoredDirectory, takenAt));
+    }
+
+    /**
+     * Returns a copy with the fingerprints of {@code changedFiles} and of all directories taken again.
+     */
+    public ProjectFingerprint update(Collection<Path> changedFiles) {
+        long takenAt = System.currentTimeMillis();
+        Map<Path, FileFingerprint> fingerprints = new HashMap<>(files);
+        changedFiles.forEach(f -> fingerprints.put(f, FileFingerprint.of(f, withContentHash, takenAt)));
+        return new ProjectFingerprint(projectRoot, ignoredDirectory, withContentHash, fingerprints, takeDirectoryFingerprints(projectRoot, ignoredDirectory, takenAt));
+    }
+
+    /**
+     * Checks if all files and directories still have the fingerprint taken before and no directory was added.
+     */
+    public boolean isUnchanged() {
+        return files.entrySet().stream().allMatch(e -> e.getValue().matches(e.getKey(), withContentHash))
+                && directoriesUnchanged();
+    }
+
+    private boolean directoriesUnchanged() {
+        Map<Path, Long> current = findDirectories(projectRoot, ignoredDirectory);
+        return current.keySet().equals(directories.keySet())
+                && directories.entrySet().stream().allMatch(e -> e.getValue().matches(e.getKey(), current.get(e.getKey())));
+    }
+
+    private static Map<Path, DirectoryFingerprint> takeDirectoryFingerprints(Path projectRoot, Predicate<Path> ignoredDirectory, long takenAt) {
+        Map<Path, DirectoryFingerprint> fingerprints = new HashMap<>();
+        findDirectories(projectRoot, ignoredDirectory).forEach((dir, lastModified) -> fingerprints.put(dir, DirectoryFingerprint.of(dir, lastModified, takenAt)));
+        return fingerprints;
+    }
+
+    /**
+     * @return the modification time of all directories of the project that are not ignored, {@code -1} for the
+     * project root when the directories could not be read
+     */
+    private static Map<Path, Long> findDirectories(Path projectRoot, Predicate<Path> ignoredDirectory) {
+        Map<Path, Long> directories = new HashMap<>();
+        try {
+            Files.walkFileTree(projectRoot, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(projectRoot) && (dir.getFileName().toString().equals(".git") || ignoredDirectory.test(dir))) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    directories.put(dir, attrs.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            directories.clear();
+            directories.put(projectRoot, -1L);
+        }
+        return directories;
+    }
+
+    @Value
+    static class FileFingerprint {
+        private static final FileFingerprint MISSING = new FileFingerprint(false, -1, -1, false, -1);
+
+        private final boolean exists;
+        private final long size;
+        private final long lastModified;
+        private final boolean racy;
+        private final long contentHash;
+
+        static FileFingerprint of(Path file, boolean withContentHash, long takenAt) {
+            try {
+                if (!Files.isRegularFile(file)) {
+                    return MISSING;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long lastModified = attributes.lastModifiedTime().toMillis();
+                boolean racy = modifiedWithinRacyInterval(lastModified, takenAt);
+                long contentHash = withContentHash || racy ? hash(file) : -1;
+                return new FileFingerprint(true, attributes.size(), lastModified, racy, contentHash);
+            } catch (IOException e) {
+                return MISSING;
+            }
+        }
+
+        boolean matches(Path file, boolean withContentHash) {
+            try {
+                if (!Files.isRegularFile(file)) {
+                    return !exists;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (!exists || attributes.size() != size) {
+                    return false;
+                }
+                boolean sameModificationTime = attributes.lastModifiedTime().toMillis() == lastModified;
+                if (sameModificationTime && !racy) {
+                    return true;
+                }
+                if (!sameModificationTime && !withContentHash) {
+                    return false;
+                }
+                return hash(file) == contentHash;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private static long hash(Path file) throws IOException {
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[8192];
+            try (InputStream content = Files.newInputStream(file)) {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+            return crc.getValue();
+        }
+    }
+
+    @Value
+    static class DirectoryFingerprint {
+        private final long lastModified;
+        /**
+         * Names of the entries, only listed for racy directories.
+         */
+        private final Set<String> entries;
+
+        static DirectoryFingerprint of(Path dir, long lastModified, long takenAt) {
+            return new DirectoryFingerprint(lastModified, modifiedWithinRacyInterval(lastModified, takenAt) ? list(dir) : null);
+        }
+
+        boolean matches(Path dir, long currentLastModified) {
+            if (lastModified == -1 || currentLastModified != lastModified) {
+                return false;
+            }
+            return entries == null || entries.equals(list(dir));
+        }
+
+        private static Set<String> list(Path dir) {
+            try (Stream<Path> children = Files.list(dir)) {
+                return children.map(c -> c.getFileName().toString()).collect(Collectors.toSet());
+            } catch (IOException e) {
+                return Set.of();
+            }
+        }
+    }
+
+    private static boolean modifiedWithinRacyInterval(long lastModified, long takenAt) {
+        return lastModified >= takenAt - RACY_INTERVAL_MILLIS;
+    }
+}
@@ -18,12 +18,15 @@ package org.springframework.sbm.engine.git;
 import org.springframework.sbm.engine.commands.ScanCommand;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
+import org.springframework.sbm.project.parser.ProjectContextUpdater;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -33,15 +36,26 @@ public class ProjectSyncVerifier {
     private final ScanCommand scanCommand;
     private final SbmApplicationProperties sbmApplicationProperties;
     private final ProjectContextHolder projectContextHolder;
+    private final ProjectContextUpdater projectContextUpdater;
 
     public void rescanWhenProjectIsOutOfSyncAndGitAvailable(ProjectContext context) {
         if (sbmApplicationProperties.isGitSupportEnabled()) {
             File repo = context.getProjectRootDirectory().toFile();
             if (gitSupport.repoExists(repo)) {
                 String expectedRevision = context.getRevision();
-                if (expectedRevision != null && !isProjectInSync(repo, expectedRevision)) {
-                    ProjectContext projectContext = scanCommand.execute(context.getProjectRootDirectory().toString());
-                    projectContextHolder.setProjectContext(projectContext);
+                if (expectedRevision != null && !isProjectInSync(context, repo, expectedRevision)) {
+                    if (sbmApplicationProperties.isIncrementalRescanEnabled()) {
+                        Set<Path> changedFiles = gitSupport.getChangedFiles(repo, expectedRevision);
+                        ProjectFingerprint fingerprint = context.getFingerprint();
+                        projectContextUpdater.updateProjectContext(context, changedFiles);
+                        if (fingerprint != null) {
+                            context.setFingerprint(fingerprint.update(changedFiles));
+                        }
+                        projectContextHolder.setProjectContext(context);
+                    } else {
+                        ProjectContext projectContext = scanCommand.execute(context.getProjectRootDirectory().toString());
+                        projectContextHolder.setProjectContext(projectContext);
+                    }
                 }
             }
         }
@@ -52,7 +66,7 @@ public class ProjectSyncVerifier {
             File repo = context.getProjectRootDirectory().toFile();
             if (gitSupport.repoExists(repo)) {
                 String expectedRevision = context.getRevision();
-                boolean projectInSync = isProjectInSync(repo, expectedRevision);
+                boolean projectInSync = isProjectInSync(context, repo, expectedRevision);
                 if (expectedRevision != null && !projectInSync) {
                     throw new ProjectOutOfSyncException("It seems that the project was changed while running the recipe. The project was scanned again but you'll need to run the recipe again.");
                 }
@@ -60,11 +74,28 @@ public class ProjectSyncVerifier {
         }
     }
 
+    /**
+     * With {@code sbm.fingerprintSyncCheckEnabled} the project is in sync when HEAD is still at
+     * {@code expectedRevision} and no scanned file changed since its fingerprint was taken.
+     * Only when that's not the case a full git status is calculated.
+     */
+    boolean isProjectInSync(ProjectContext context, File repo, String expectedRevision) {
+        ProjectFingerprint fingerprint = context.getFingerprint();
+        if (fingerprint != null && expectedRevision != null && isHeadAt(repo, expectedRevision) && fingerprint.isUnchanged()) {
+            return true;
+        }
+        return isProjectInSync(repo, expectedRevision);
+    }
+
+    private boolean isHeadAt(File repo, String expectedRevision) {
+        return gitSupport.getLatestCommit(repo)
+                .map(Commit::getHash)
+                .filter(expectedRevision::equals)
+                .isPresent();
+    }
 
     boolean isProjectInSync(File repo, String expectedRevision) {
         Assert.notNull(expectedRevision, "Revision must not be null. This might be due to a problem retrieving the last commit hash from git.");
         return !gitSupport.hasUncommittedChangesOrDifferentRevision(repo, expectedRevision);
     }
-
-
 }
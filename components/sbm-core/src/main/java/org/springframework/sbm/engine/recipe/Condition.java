@@ -17,6 +17,8 @@ package org.springframework.sbm.engine.recipe;
 
 import org.springframework.sbm.engine.context.ProjectContext;
 
+import java.util.Optional;
+
 public interface Condition {
 
     Condition FALSE = new Condition() {
@@ -67,5 +69,17 @@ public interface Condition {
 
     String getDescription();
 
+    /**
+     * Returns a key for the result of this condition, conditions of the same type with equal keys are evaluated
+     * only once per applicability pass, see {@link ConditionResultCache}.
+     * Conditions without key are only equal to themselves.
+     */
+    default Optional<Object> cacheKey() {
+        return Optional.empty();
+    }
+
+    /**
+     * Must only read the given {@code ProjectContext}, conditions of different recipes can be evaluated concurrently.
+     */
     boolean evaluate(ProjectContext context);
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import lombok.Value;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Results of the conditions evaluated during one applicability pass.
+ *
+ * Conditions of the same type with equal {@link Condition#cacheKey()} are evaluated only once, even when different
+ * recipes and actions declare them or when they are evaluated concurrently.
+ * All results are discarded when another {@link ProjectResourceSet} is evaluated or the current one was modified
+ * since they were computed.
+ */
+public class ConditionResultCache {
+
+    /**
+     * Whether an {@code Action} type inherits {@link Action#isApplicable(ProjectContext)} and so only evaluates its condition.
+     */
+    private static final Map<Class<?>, Boolean> evaluatesCondition = new ConcurrentReferenceHashMap<>();
+
+    private final Map<Object, FutureTask<Boolean>> results = new ConcurrentHashMap<>();
+    private ProjectResourceSet projectResources;
+    private long modificationCount;
+
+    public boolean evaluate(Condition condition, ProjectContext context) {
+        invalidateIfModified(context);
+        FutureTask<Boolean> evaluation = new FutureTask<>(() -> condition.evaluate(context));
+        FutureTask<Boolean> existing = results.putIfAbsent(getKey(condition), evaluation);
+        if (existing == null) {
+            evaluation.run();
+        } else {
+            evaluation = existing;
+        }
+        try {
+            return evaluation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating condition '%s'.".formatted(condition.getDescription()), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Evaluates the condition of {@code action} through this cache.
+     * Actions overriding {@link Action#isApplicable(ProjectContext)} are asked directly.
+     */
+    public boolean isApplicable(Action action, ProjectContext context) {
+        if (!evaluatesCondition.computeIfAbsent(action.getClass(), ConditionResultCache::inheritsIsApplicable)) {
+            return action.isApplicable(context);
+        }
+        return evaluate(action.getCondition(), context);
+    }
+
+    private static boolean inheritsIsApplicable(Class<?> actionType) {
+        Method isApplicable = ReflectionUtils.findMethod(actionType, "isApplicable", ProjectContext.class);
+        return isApplicable != null && isApplicable.getDeclaringClass() == Action.class;
+    }
+
+    private synchronized void invalidateIfModified(ProjectContext context) {
+        ProjectResourceSet currentProjectResources = context.getProjectResources();
+        long currentModificationCount = currentProjectResources.getModificationCount();
+        if (projectResources != currentProjectResources || modificationCount != currentModificationCount) {
+            results.clear();
+            projectResources = currentProjectResources;
+            modificationCount = currentModificationCount;
+        }
+    }
+
+    /**
+     * Conditions with a {@link Condition#cacheKey()} are identified by their type and key, all others by themselves.
+     */
+    static Object getKey(Condition condition) {
+        return condition.cacheKey()
+                .<Object>map(key -> new ConditionKey(condition.getClass(), key))
+                .orElse(condition);
+    }
+
+    @Value
+    static class ConditionKey {
+        private final Class<? extends Condition> type;
+        private final Object key;
+    }
+}
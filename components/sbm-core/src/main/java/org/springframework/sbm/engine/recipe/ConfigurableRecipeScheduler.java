@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRunStats;
+import org.openrewrite.RecipeScheduler;
+import org.openrewrite.SourceFile;
+import org.openrewrite.scheduling.DirectScheduler;
+import org.openrewrite.scheduling.ForkJoinScheduler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.openrewrite.SynchronizedExecutionContext;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Schedules the visits of OpenRewrite recipes run by SBM.
+ *
+ * {@code sbm.recipeExecutionThreads} sets the number of threads visiting source files concurrently.
+ * With {@code 0} OpenRewrite's shared {@link ForkJoinScheduler#common()} is used, like for {@code Recipe.run(List, ExecutionContext)}.
+ * With {@code 1} all source files are visited one after another in the calling thread.
+ * OpenRewrite joins the visited source files in their original order, so the results have the same order either way.
+ * Visitors get a {@link SynchronizedExecutionContext}, so their messages are thread-safe.
+ * The pool created for more than one thread is shut down with the application context.
+ */
+@Component
+public class ConfigurableRecipeScheduler implements RecipeScheduler, DisposableBean {
+
+    /**
+     * Max number of cycles a recipe is run by SBM, the same as OpenRewrite's default.
+     */
+    public static final int MAX_CYCLES = 3;
+
+    /**
+     * Min number of cycles a recipe is run by SBM, the same as OpenRewrite's default.
+     */
+    public static final int MIN_CYCLES = 1;
+
+    private final RecipeScheduler delegate;
+    private final ForkJoinPool forkJoinPool;
+
+    public ConfigurableRecipeScheduler(SbmApplicationProperties sbmApplicationProperties) {
+        int threads = sbmApplicationProperties.getRecipeExecutionThreads();
+        if (threads <= 0) {
+            this.forkJoinPool = null;
+            this.delegate = ForkJoinScheduler.common();
+        } else if (threads == 1) {
+            this.forkJoinPool = null;
+            this.delegate = DirectScheduler.common();
+        } else {
+            this.forkJoinPool = new ForkJoinPool(threads);
+            this.delegate = new ForkJoinScheduler(forkJoinPool);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    @Override
+    public <S extends SourceFile> List<S> scheduleVisit(RecipeRunStats runStats, Stack<Recipe> recipeStack, List<S> before, ExecutionContext ctx, Map<UUID, Stack<Recipe>> recipeThatAddedOrDeletedSourceFile) {
+        return RecipeScheduler.super.scheduleVisit(runStats, recipeStack, before, RewriteExecutionContext.synchronizedView(ctx), recipeThatAddedOrDeletedSourceFile);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> schedule(Callable<T> fn) {
+        return delegate.schedule(fn);
+    }
+}
@@ -92,6 +92,13 @@ public class Recipe {
         return condition.evaluate(context) && actions.stream().anyMatch(a -> a.isApplicable(context));
     }
 
+    /**
+     * Like {@link #isApplicable(ProjectContext)} but reuses the results of equal conditions from {@code conditionResults}.
+     */
+    public boolean isApplicable(ProjectContext context, ConditionResultCache conditionResults) {
+        return conditionResults.evaluate(condition, context) && actions.stream().anyMatch(a -> conditionResults.isApplicable(a, context));
+    }
+
     public List<Action> apply(ProjectContext context) {
 
         List<Action> appliedActions = new ArrayList<>();
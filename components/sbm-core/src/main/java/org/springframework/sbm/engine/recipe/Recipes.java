@@ -17,9 +17,12 @@ package org.springframework.sbm.engine.recipe;
 
 import org.springframework.sbm.engine.context.ProjectContext;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 public class Recipes {
@@ -45,13 +48,44 @@ public class Recipes {
                 .collect(Collectors.joining("\n"));
     }
 
+    /**
+     * Evaluates the applicability of all recipes, conditions shared by several recipes or actions are evaluated once.
+     */
     public List<Recipe> getApplicable(ProjectContext context) {
+        ConditionResultCache conditionResults = new ConditionResultCache();
         List<Recipe> applicableRecipes = recipesList.stream()
-                .filter(r -> r.isApplicable(context))
+                .filter(r -> r.isApplicable(context, conditionResults))
                 .collect(Collectors.toList());
         return applicableRecipes;
     }
 
+    /**
+     * Evaluates the applicability of all recipes concurrently on the threads of {@code executorService}.
+     *
+     * Conditions must only read the {@code ProjectContext}, its {@code ProjectResourceSet} rejects changes while
+     * conditions are evaluated. The returned recipes have the same order as with {@link #getApplicable(ProjectContext)}.
+     */
+    public List<Recipe> getApplicable(ProjectContext context, ExecutorService executorService) {
+        ConditionResultCache conditionResults = new ConditionResultCache();
+        return context.getProjectResources().readOnly(() -> {
+            List<CompletableFuture<Boolean>> applicable = recipesList.stream()
+                    .map(r -> CompletableFuture.supplyAsync(() -> r.isApplicable(context, conditionResults), executorService))
+                    .collect(Collectors.toList());
+            try {
+                List<Recipe> applicableRecipes = new ArrayList<>();
+                for (int i = 0; i < recipesList.size(); i++) {
+                    if (applicable.get(i).join()) {
+                        applicableRecipes.add(recipesList.get(i));
+                    }
+                }
+                return applicableRecipes;
+            } finally {
+                // conditions not started yet must not run after the ProjectResourceSet became writable again
+                applicable.forEach(f -> f.cancel(true));
+            }
+        });
+    }
+
     public Optional<Recipe> getRecipeByName(String recipeName) {
         return recipesList.stream()
                 .filter(r -> r.getName().equals(recipeName))
@@ -46,6 +46,8 @@ public class RewriteMigrationResultMerger {
                 handleModified(context, after);
             }
         });
+        context.getJavaSourceIndex().update();
+        context.getTypeHierarchyIndex().update();
     }
 
     private void handleDeleted(ProjectContext context, SourceFile before) {
@@ -17,6 +17,7 @@ package org.springframework.sbm.java.api;
 
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.J;
 
 import java.util.List;
@@ -36,6 +37,17 @@ public interface ProjectJavaSources {
 
     List<RewriteSourceFileHolder<J.CompilationUnit>> find(Recipe find);
 
+    /**
+     * Finds the Java sources in which {@code visitor} reports a match, without changing them.
+     * <p>
+     * The visitor reports matches by adding them to the list it's called with, the trees it returns are discarded.
+     * Unlike {@link #find(Recipe)} no recipe is run, so no new trees are created for the matches.
+     *
+     * @param visitor collecting matches
+     * @return the Java sources with at least one match
+     */
+    <M> List<RewriteSourceFileHolder<J.CompilationUnit>> query(JavaVisitor<List<M>> visitor);
+
     void replaceType(String existingType, String withType);
 
     /**
@@ -54,5 +66,12 @@ public interface ProjectJavaSources {
 
     List<JavaSourceAndType> findTypesImplementing(String interfaceType);
 
+    /**
+     * Finds the types declared in the project which directly extend or implement the given type.
+     *
+     * @param type the fully qualified name of the supertype
+     */
+    List<JavaSourceAndType> findDirectSubTypes(String type);
+
     List<? extends JavaSource> findClassesUsingType(String type);
 }
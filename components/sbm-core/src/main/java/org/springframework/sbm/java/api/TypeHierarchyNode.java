@@ -20,7 +20,6 @@ import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -33,14 +32,8 @@ public class TypeHierarchyNode {
         this.node = node;
         this.parent = parent;
 
-        List<? extends Type> childNodes = javaSourceSet.list().stream()
-                .map(JavaSource::getTypes)
-                .flatMap(List::stream)
-                .filter(t -> isSubTypeOf(t, node))
-                .collect(Collectors.toList());
-
-        childNodes.forEach(cn -> {
-            this.children.add(new TypeHierarchyNode(cn, node, javaSourceSet));
+        javaSourceSet.findDirectSubTypes(node.getFullyQualifiedName()).forEach(subType -> {
+            this.children.add(new TypeHierarchyNode(subType.getType(), node, javaSourceSet));
         });
     }
 
@@ -48,15 +41,4 @@ public class TypeHierarchyNode {
         return node.getFullyQualifiedName();
     }
 
-    private boolean isSubTypeOf(Type t, Type root) {
-        boolean isSubTypeOf = false;
-        if (t.getExtends().isPresent()) {
-            isSubTypeOf = t.getExtends().get().getFullyQualifiedName().equals(root.getFullyQualifiedName());
-        }
-        if (!t.getImplements().isEmpty()) {
-            isSubTypeOf = isSubTypeOf || t.getImplements().stream().anyMatch(i -> i.getFullyQualifiedName().equals(root.getFullyQualifiedName()));
-        }
-        return isSubTypeOf;
-    }
-
 }
@@ -16,16 +16,18 @@
 package org.springframework.sbm.java.impl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.tree.Scope;
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
-import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.project.parser.DependencyHelper;
 
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -53,8 +55,8 @@ public class ClasspathRegistry {
 	private ClasspathRegistry() {
 	}
 
-	public static ClasspathRegistry initialize(Set<ResolvedDependency> dependencies) {
-		return DependenciesRegistryHolder.initialDependencies(dependencies);
+	public static ClasspathRegistry initialize(Set<ResolvedDependency> dependencies, ArtifactDownloadPipeline artifactDownloadPipeline) {
+		return DependenciesRegistryHolder.initialDependencies(dependencies, artifactDownloadPipeline);
 	}
 
 	// FIXME: remove unused method
@@ -66,7 +68,7 @@ public class ClasspathRegistry {
 	// ClasspathRegistry.initialize(effectiveDependencies);
 	// }
 
-	public static void initializeFromBuildFiles(List<BuildFile> buildFiles) {
+	public static void initializeFromBuildFiles(List<BuildFile> buildFiles, ArtifactDownloadPipeline artifactDownloadPipeline) {
 		ClasspathRegistry.getInstance().clear();
 		Set<ResolvedDependency> effectiveDependencies = new HashSet<>();
 		buildFiles.forEach(bf -> {
@@ -77,7 +79,7 @@ public class ClasspathRegistry {
 			effectiveDependencies.addAll(dependencies.get(Scope.Provided));
 			effectiveDependencies.addAll(dependencies.get(Scope.Runtime));
 		});
-		ClasspathRegistry.initialize(effectiveDependencies);
+		ClasspathRegistry.initialize(effectiveDependencies, artifactDownloadPipeline);
 	}
 
 	private static org.openrewrite.maven.tree.Dependency mapToRewriteDependency(
@@ -94,8 +96,8 @@ public class ClasspathRegistry {
 
 		public static final ClasspathRegistry INSTANCE = new ClasspathRegistry();
 
-		public static ClasspathRegistry initialDependencies(Set<ResolvedDependency> dependencies) {
-			INSTANCE.setup(dependencies);
+		public static ClasspathRegistry initialDependencies(Set<ResolvedDependency> dependencies, ArtifactDownloadPipeline artifactDownloadPipeline) {
+			INSTANCE.setup(dependencies, artifactDownloadPipeline);
 			return INSTANCE;
 		}
 
@@ -105,9 +107,10 @@ public class ClasspathRegistry {
 		return DependenciesRegistryHolder.INSTANCE;
 	}
 
-	public void addDependency(ResolvedDependency... deps) {
+	public void addDependency(ArtifactDownloadPipeline artifactDownloadPipeline, ResolvedDependency... deps) {
 		Arrays.asList(deps).forEach(dep -> {
-			initDependency(dep, currentDependencies);
+			Path dependencyPath = isExternalDependency(dep) ? artifactDownloadPipeline.downloadArtifact(dep) : null;
+			initDependency(artifactDownloadPipeline, dep, dependencyPath, currentDependencies);
 		});
 	}
 
@@ -131,28 +134,25 @@ public class ClasspathRegistry {
 		return new HashSet<>(currentDependencies.values());
 	}
 
-	private void setup(Set<ResolvedDependency> deps) {
+	private void setup(Set<ResolvedDependency> deps, ArtifactDownloadPipeline artifactDownloadPipeline) {
 		initialDependencies.clear();
 		currentDependencies.clear();
-		initializeDepeendencies(deps);
+		initializeDepeendencies(artifactDownloadPipeline, deps);
 	}
 
-	private void initializeDepeendencies(Set<ResolvedDependency> deps) {
+	private void initializeDepeendencies(ArtifactDownloadPipeline artifactDownloadPipeline, Set<ResolvedDependency> deps) {
+		// download all external dependencies concurrently
+		Map<ResolvedDependency, Path> dependencyPaths = artifactDownloadPipeline.downloadArtifactsByDependency(deps.stream().filter(this::isExternalDependency).collect(Collectors.toList()));
 		deps.forEach(dep -> {
-			initDependency(dep, initialDependencies, currentDependencies);
+			initDependency(artifactDownloadPipeline, dep, dependencyPaths.get(dep), initialDependencies, currentDependencies);
 		});
 	}
 
-	private void initDependency(ResolvedDependency d, Map<ResolvedDependency, Path>... maps) {
-		if(isExternalDependency(d)) {
-			Path dependencyPath = new RewriteMavenArtifactDownloader().downloadArtifact(d);
-			if(dependencyPath != null) {
-				Stream.of(maps).forEach(m -> m.put(d, dependencyPath));
-			} else {
-				initializeDepeendencies(new HashSet<>(d.getDependencies()));
-			}
+	private void initDependency(ArtifactDownloadPipeline artifactDownloadPipeline, ResolvedDependency d, @Nullable Path dependencyPath, Map<ResolvedDependency, Path>... maps) {
+		if(dependencyPath != null) {
+			Stream.of(maps).forEach(m -> m.put(d, dependencyPath));
 		} else {
-			initializeDepeendencies(new HashSet(d.getDependencies()));
+			initializeDepeendencies(artifactDownloadPipeline, new HashSet<>(d.getDependencies()));
 		}
 	}
 
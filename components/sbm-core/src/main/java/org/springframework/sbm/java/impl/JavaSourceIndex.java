@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import lombok.Value;
+import org.openrewrite.java.search.FindReferencedTypes;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index of the Java sources in a {@link ProjectResourceSet}.
+ *
+ * Maps referenced types, imports, type annotations and member annotations to the compilation units containing them.
+ * Lookups synchronize the index with the {@code ProjectResourceSet} when its modification count changed,
+ * only compilation units that were added or replaced since the last synchronization are visited again.
+ */
+public class JavaSourceIndex {
+
+    private final ProjectResourceSet projectResourceSet;
+    private final Map<RewriteSourceFileHolder<J.CompilationUnit>, Entry> entries = new IdentityHashMap<>();
+    private final Map<String, Set<RewriteSourceFileHolder<J.CompilationUnit>>> byReferencedType = new HashMap<>();
+    private final NavigableMap<String, Set<RewriteSourceFileHolder<J.CompilationUnit>>> byImport = new TreeMap<>();
+    private final Map<String, Set<RewriteSourceFileHolder<J.CompilationUnit>>> byTypeAnnotation = new HashMap<>();
+    private final Map<String, Set<RewriteSourceFileHolder<J.CompilationUnit>>> byMemberAnnotation = new HashMap<>();
+    private long indexedModificationCount = -1;
+
+    public JavaSourceIndex(ProjectResourceSet projectResourceSet) {
+        this.projectResourceSet = projectResourceSet;
+    }
+
+    /**
+     * Returns the compilation units referencing any of the given fully qualified types.
+     */
+    public synchronized Set<RewriteSourceFileHolder<J.CompilationUnit>> findReferencingAnyType(Collection<String> fqTypeNames) {
+        update();
+        return fqTypeNames.stream()
+                .flatMap(t -> byReferencedType.getOrDefault(t, Set.of()).stream())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the compilation units having an import starting with the given prefix.
+     */
+    public synchronized Set<RewriteSourceFileHolder<J.CompilationUnit>> findImportingStartingWith(String prefix) {
+        update();
+        return byImport.tailMap(prefix, true).entrySet().stream()
+                .takeWhile(e -> e.getKey().startsWith(prefix))
+                .flatMap(e -> e.getValue().stream())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the compilation units declaring a type annotated with the given fully qualified annotation.
+     */
+    public synchronized Set<RewriteSourceFileHolder<J.CompilationUnit>> findWithTypeAnnotation(String annotation) {
+        update();
+        return Set.copyOf(byTypeAnnotation.getOrDefault(annotation, Set.of()));
+    }
+
+    /**
+     * Returns the compilation units declaring a type with a field annotated with the given fully qualified annotation.
+     */
+    public synchronized Set<RewriteSourceFileHolder<J.CompilationUnit>> findWithMemberAnnotation(String annotation) {
+        update();
+        return Set.copyOf(byMemberAnnotation.getOrDefault(annotation, Set.of()));
+    }
+
+    /**
+     * Synchronizes the index with the Java sources in the {@code ProjectResourceSet}.
+     */
+    public synchronized void update() {
+        long modificationCount = projectResourceSet.getModificationCount();
+        if (modificationCount == indexedModificationCount) {
+            return;
+        }
+        Set<RewriteSourceFileHolder<J.CompilationUnit>> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        projectResourceSet.streamByType(J.CompilationUnit.class)
+                .filter(JavaSource.class::isInstance)
+                .forEach(holder -> {
+                    current.add(holder);
+                    Entry entry = entries.get(holder);
+                    if (entry == null || entry.getCompilationUnit() != holder.getSourceFile()) {
+                        if (entry != null) {
+                            unindex(holder, entry);
+                        }
+                        index(holder);
+                    }
+                });
+        List<RewriteSourceFileHolder<J.CompilationUnit>> removed = entries.keySet().stream()
+                .filter(holder -> !current.contains(holder))
+                .collect(Collectors.toList());
+        removed.forEach(holder -> unindex(holder, entries.get(holder)));
+        indexedModificationCount = modificationCount;
+    }
+
+    private void index(RewriteSourceFileHolder<J.CompilationUnit> holder) {
+        J.CompilationUnit compilationUnit = holder.getSourceFile();
+        Entry entry = new Entry(
+                compilationUnit,
+                FindReferencedTypes.find(compilationUnit).stream()
+                        .map(JavaType.FullyQualified::getFullyQualifiedName)
+                        .collect(Collectors.toSet()),
+                compilationUnit.getImports().stream()
+                        .map(J.Import::getTypeName)
+                        .collect(Collectors.toSet()),
+                compilationUnit.getClasses().stream()
+                        .flatMap(cd -> getAnnotationTypes(cd.getLeadingAnnotations()))
+                        .collect(Collectors.toSet()),
+                compilationUnit.getClasses().stream()
+                        .flatMap(cd -> Utils.getFields(cd).stream())
+                        .flatMap(vd -> getAnnotationTypes(vd.getLeadingAnnotations()))
+                        .collect(Collectors.toSet())
+        );
+        entries.put(holder, entry);
+        entry.getReferencedTypes().forEach(t -> add(byReferencedType, t, holder));
+        entry.getImports().forEach(i -> add(byImport, i, holder));
+        entry.getTypeAnnotations().forEach(a -> add(byTypeAnnotation, a, holder));
+        entry.getMemberAnnotations().forEach(a -> add(byMemberAnnotation, a, holder));
+    }
+
+    private void unindex(RewriteSourceFileHolder<J.CompilationUnit> holder, Entry entry) {
+        entries.remove(holder);
+        entry.getReferencedTypes().forEach(t -> remove(byReferencedType, t, holder));
+        entry.getImports().forEach(i -> remove(byImport, i, holder));
+        entry.getTypeAnnotations().forEach(a -> remove(byTypeAnnotation, a, holder));
+        entry.getMemberAnnotations().forEach(a -> remove(byMemberAnnotation, a, holder));
+    }
+
+    /**
+     * Annotations without resolved type are not indexed, like in {@link OpenRewriteType#hasAnnotation(String)}.
+     */
+    private static Stream<String> getAnnotationTypes(List<J.Annotation> annotations) {
+        return annotations.stream()
+                .map(J.Annotation::getType)
+                .filter(JavaType.Class.class::isInstance)
+                .map(JavaType.Class.class::cast)
+                .map(JavaType.Class::getFullyQualifiedName);
+    }
+
+    private static void add(Map<String, Set<RewriteSourceFileHolder<J.CompilationUnit>>> index, String key, RewriteSourceFileHolder<J.CompilationUnit> holder) {
+        index.computeIfAbsent(key, k -> new HashSet<>()).add(holder);
+    }
+
+    private static void remove(Map<String, Set<RewriteSourceFileHolder<J.CompilationUnit>>> index, String key, RewriteSourceFileHolder<J.CompilationUnit> holder) {
+        Set<RewriteSourceFileHolder<J.CompilationUnit>> holders = index.get(key);
+        if (holders != null) {
+            holders.remove(holder);
+            if (holders.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    @Value
+    private static class Entry {
+        private final J.CompilationUnit compilationUnit;
+        private final Set<String> referencedTypes;
+        private final Set<String> imports;
+        private final Set<String> typeAnnotations;
+        private final Set<String> memberAnnotations;
+    }
+}
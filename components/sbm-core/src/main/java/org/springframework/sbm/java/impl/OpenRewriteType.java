@@ -31,7 +31,6 @@ import org.openrewrite.java.tree.J.ClassDeclaration;
 import org.openrewrite.java.tree.JavaType.Class;
 import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import org.springframework.sbm.support.openrewrite.java.AddAnnotationVisitor;
-import org.springframework.sbm.support.openrewrite.java.FindCompilationUnitContainingType;
 import org.springframework.sbm.support.openrewrite.java.RemoveAnnotationVisitor;
 
 import java.util.List;
@@ -246,11 +245,11 @@ public class OpenRewriteType implements Type {
     }
 
     private Optional<OpenRewriteType> buildForJavaType(JavaType.FullyQualified jt) {
-        List<RewriteSourceFileHolder<J.CompilationUnit>> compilationUnits = refactoring.find(new FindCompilationUnitContainingType(jt));
-        if (compilationUnits.isEmpty()) {
+        Optional<RewriteSourceFileHolder<J.CompilationUnit>> compilationUnit = refactoring.findCompilationUnitDeclaringType(jt.getFullyQualifiedName().trim());
+        if (compilationUnit.isEmpty()) {
             return Optional.empty();
         }
-        RewriteSourceFileHolder<J.CompilationUnit> modifiableCompilationUnit = compilationUnits.get(0);
+        RewriteSourceFileHolder<J.CompilationUnit> modifiableCompilationUnit = compilationUnit.get();
         J.ClassDeclaration classDeclaration = modifiableCompilationUnit.getSourceFile().getClasses().stream()
                 .peek(c -> {
                     if (c.getType() == null)
@@ -16,24 +16,19 @@
 package org.springframework.sbm.java.impl;
 
 import lombok.extern.slf4j.Slf4j;
-import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.FindMethods;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TypeUtils;
 import org.springframework.sbm.java.api.*;
-import org.springframework.sbm.java.exceptions.UnresolvedTypeException;
 import org.springframework.sbm.java.filter.JavaSourceListFilter;
 import org.springframework.sbm.java.refactoring.JavaGlobalRefactoring;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
-import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -43,11 +38,13 @@ import java.util.stream.Stream;
 public class ProjectJavaSourcesImpl implements ProjectJavaSources {
     private ProjectResourceSet projectResourceSet;
     private JavaGlobalRefactoring globalRefactoring;
+    private TypeHierarchyIndex typeHierarchyIndex;
 
-    public ProjectJavaSourcesImpl(ProjectResourceSet filteredResources, JavaGlobalRefactoring globalRefactoring) {
+    public ProjectJavaSourcesImpl(ProjectResourceSet filteredResources, JavaGlobalRefactoring globalRefactoring, TypeHierarchyIndex typeHierarchyIndex) {
         super();
         projectResourceSet = filteredResources;
         this.globalRefactoring = globalRefactoring;
+        this.typeHierarchyIndex = typeHierarchyIndex;
     }
 
     @Override
@@ -76,6 +73,11 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
         return globalRefactoring.find(findCompilationUnitContainingType);
     }
 
+    @Override
+    public <M> List<RewriteSourceFileHolder<J.CompilationUnit>> query(JavaVisitor<List<M>> visitor) {
+        return globalRefactoring.query(visitor);
+    }
+
     @Override
     public void replaceType(String existingType, String withType) {
         ChangeType visitor = new ChangeType(existingType, withType, false);
@@ -90,12 +92,8 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
 
     @Override
     public Optional<? extends JavaSource> findJavaSourceDeclaringType(String fqName) {
-        return list().stream()
-                .filter(js -> {
-                    return js.getTypes().stream()
-                            .anyMatch(t -> fqName.equals(t.getFullyQualifiedName()));
-                })
-                .findFirst();
+        return typeHierarchyIndex.findDeclaringCompilationUnit(fqName)
+                .map(JavaSource.class::cast);
     }
 
     /**
@@ -105,74 +103,85 @@ public class ProjectJavaSourcesImpl implements ProjectJavaSources {
      */
     @Override
     public List<MethodCall> findMethodCalls(String methodPattern) {
-        List<MethodCall> matches = new ArrayList<>();
-        FindMethods findMethods = new FindMethods(methodPattern,true, null);
         MethodMatcher methodMatcher = new MethodMatcher(methodPattern);
-        find(findMethods).stream()
-                .map(m -> list().stream().filter(js -> js.getResource().getId().equals(m.getId())).findFirst().get())
-                .map(m -> new MethodCall(m, methodMatcher))
-                .forEach(matches::add);
-        return matches;
+        return query(new MethodCallsCollector(new MethodMatcher(methodPattern, true))).stream()
+                .map(OpenRewriteJavaSource.class::cast)
+                .map(js -> new MethodCall(js, methodMatcher))
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<JavaSourceAndType> findTypesImplementing(String type) {
-        List<JavaSourceAndType> matches = new ArrayList<>();
-        this.list().forEach(js -> {
-            js.getResource().getSourceFile().getClasses().stream()
-                    .filter(c -> hasTypeImplementing(c, type))
-                    .map(c -> {
-                        Type matchingType = getTypeForClassDecl(c);
-                        return new JavaSourceAndType(js, matchingType);
-                    })
-                    .forEach(matches::add);
-        });
-        return matches;
+        return toJavaSourceAndTypes(typeHierarchyIndex.findImplementing(type));
+    }
+
+    @Override
+    public List<JavaSourceAndType> findDirectSubTypes(String type) {
+        return toJavaSourceAndTypes(typeHierarchyIndex.findDirectSubTypes(type));
     }
 
     @Override
     public List<? extends JavaSource> findClassesUsingType(String type) {
-        UsesType<ExecutionContext> usesType = new UsesType<>(type);
-        GenericOpenRewriteRecipe<UsesType<ExecutionContext>> recipe = new GenericOpenRewriteRecipe<>(() -> usesType);
-        return find(recipe).stream()
-                .filter(RewriteSourceFileHolder.class::isInstance)
-                .map(RewriteSourceFileHolder.class::cast)
-                .filter(r -> r.getType().isAssignableFrom(J.CompilationUnit.class))
-                .map(r -> (OpenRewriteJavaSource)r)
+        UsesType<List<J.CompilationUnit>> usesType = new UsesType<>(type);
+        return query(new JavaIsoVisitor<List<J.CompilationUnit>>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, List<J.CompilationUnit> matches) {
+                // UsesType returns a copy of the compilation unit with a SearchResult marker if the type is used
+                if (usesType.visit(cu, matches) != cu) {
+                    matches.add(cu);
+                }
+                return cu;
+            }
+        }).stream()
+                .map(OpenRewriteJavaSource.class::cast)
                 .collect(Collectors.toList());
     }
 
-    private boolean hasTypeImplementing(J.ClassDeclaration c, String type) {
-        return c.getImplements() != null &&
-                c.getImplements()
-                        .stream()
-                        .anyMatch(intaface -> {
-                                    JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(
-                                            intaface.getType()
-                                    );
-                                    if (fullyQualified == null) {
-
-                                        throw new UnresolvedTypeException(
-                                                String.format("Could not calculate if class '%s' implements an " +
-                                                        "interface compatible to '%s'. Type of interface '%s' could not" +
-                                                        " be resolved and was '%s'", c.getType(), type, intaface,
-                                                        intaface.getType().toString())
-                                        );
-
-                                    }
-                                    return fullyQualified
-                                            .getFullyQualifiedName()
-                                            .equals(type);
-                                }
-                        );
-
+    private List<JavaSourceAndType> toJavaSourceAndTypes(List<TypeHierarchyIndex.TypeDeclaration> typeDeclarations) {
+        return typeDeclarations.stream()
+                .map(td -> {
+                    JavaSource javaSource = (JavaSource) td.getCompilationUnit();
+                    Type matchingType = javaSource.getTypes().stream()
+                            .filter(t -> t.getFullyQualifiedName().equals(td.getFullyQualifiedName()))
+                            .findFirst().orElseThrow(() -> new RuntimeException("Could not find type for '" + td.getFullyQualifiedName() + "'"));
+                    return new JavaSourceAndType(javaSource, matchingType);
+                })
+                .collect(Collectors.toList());
     }
 
-    private Type getTypeForClassDecl(J.ClassDeclaration c) {
-        return list().stream()
-                .flatMap(js -> js.getTypes().stream())
-                .filter(t -> t.getFullyQualifiedName().equals(c.getType().getFullyQualifiedName()))
-                .findFirst().orElseThrow(() -> new RuntimeException("Could not find type for '" + c.getType().getFullyQualifiedName() + "'"));
+    /**
+     * Collects method invocations, member references and constructor calls matching the given {@code MethodMatcher},
+     * like OpenRewrite's {@code FindMethods} does without adding markers.
+     */
+    private static class MethodCallsCollector extends JavaIsoVisitor<List<J>> {
+        private final MethodMatcher methodMatcher;
+
+        MethodCallsCollector(MethodMatcher methodMatcher) {
+            this.methodMatcher = methodMatcher;
+        }
+
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<J> matches) {
+            if (methodMatcher.matches(method)) {
+                matches.add(method);
+            }
+            return super.visitMethodInvocation(method, matches);
+        }
+
+        @Override
+        public J.MemberReference visitMemberReference(J.MemberReference memberRef, List<J> matches) {
+            if (methodMatcher.matches(memberRef.getMethodType())) {
+                matches.add(memberRef);
+            }
+            return super.visitMemberReference(memberRef, matches);
+        }
+
+        @Override
+        public J.NewClass visitNewClass(J.NewClass newClass, List<J> matches) {
+            if (methodMatcher.matches(newClass)) {
+                matches.add(newClass);
+            }
+            return super.visitNewClass(newClass, matches);
+        }
     }
-
 }
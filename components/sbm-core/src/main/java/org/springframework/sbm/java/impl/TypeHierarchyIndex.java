@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeTree;
+import org.openrewrite.java.tree.TypeUtils;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.java.exceptions.UnresolvedTypeException;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the type hierarchy of the Java sources in a {@link ProjectResourceSet}.
+ *
+ * Maps the fully qualified names of the top-level types to the compilation units declaring them, to their direct
+ * supertypes and to the types directly extending or implementing them, {@code java.lang.Object} is not indexed as
+ * a supertype. Member types are indexed as well but only returned by {@link #findDirectSubTypes(String, boolean)}.
+ * Like {@link JavaSourceIndex} lookups synchronize the index with the {@code ProjectResourceSet} when its modification
+ * count changed, only compilation units that were added or replaced since the last synchronization are visited again.
+ */
+public class TypeHierarchyIndex {
+
+    private static final String OBJECT = "java.lang.Object";
+
+    private final ProjectResourceSet projectResourceSet;
+    private final Map<RewriteSourceFileHolder<J.CompilationUnit>, Entry> entries = new IdentityHashMap<>();
+    private final Map<String, List<Declaration>> declarations = new HashMap<>();
+    private final Map<String, Set<Declaration>> subTypes = new HashMap<>();
+    private final Map<RewriteSourceFileHolder<J.CompilationUnit>, Integer> positions = new IdentityHashMap<>();
+    private long indexedModificationCount = -1;
+
+    public TypeHierarchyIndex(ProjectResourceSet projectResourceSet) {
+        this.projectResourceSet = projectResourceSet;
+    }
+
+    /**
+     * Returns the compilation unit declaring the top-level type with given fully qualified name.
+     */
+    public synchronized Optional<RewriteSourceFileHolder<J.CompilationUnit>> findDeclaringCompilationUnit(String fqName) {
+        update();
+        return declarations.getOrDefault(fqName, List.of()).stream()
+                .filter(d -> !d.isNested())
+                .min(byPosition())
+                .map(Declaration::getHolder);
+    }
+
+    /**
+     * Returns the compilation units declaring top-level types which directly extend or implement given type,
+     * as pairs of compilation unit and fully qualified name of the subtype in the order of the project resources.
+     */
+    public List<TypeDeclaration> findDirectSubTypes(String fqName) {
+        return findDirectSubTypes(fqName, false);
+    }
+
+    /**
+     * Returns the compilation units declaring types which directly extend or implement given type, including the
+     * member types declared in other types when {@code includeNested} is {@code true}.
+     */
+    public synchronized List<TypeDeclaration> findDirectSubTypes(String fqName, boolean includeNested) {
+        update();
+        return subTypes.getOrDefault(fqName, Set.of()).stream()
+                .filter(d -> includeNested || !d.isNested())
+                .sorted(byPosition())
+                .map(Declaration::toTypeDeclaration)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the top-level types with {@code interfaceType} in their {@code implements} clause,
+     * in the order of the project resources.
+     *
+     * @throws UnresolvedTypeException if the type of an interface could not be resolved before a match was found
+     */
+    public synchronized List<TypeDeclaration> findImplementing(String interfaceType) {
+        update();
+        List<Declaration> unresolved = entries.values().stream()
+                .flatMap(e -> e.getDeclarations().stream())
+                .filter(d -> !d.isNested() && d.getUnresolvedImplements() != null)
+                .sorted(byPosition())
+                .collect(Collectors.toList());
+        for (Declaration declaration : unresolved) {
+            List<String> implementsTypes = declaration.getImplementsTypes();
+            int firstUnresolved = implementsTypes.indexOf(null);
+            if (!implementsTypes.subList(0, firstUnresolved).contains(interfaceType)) {
+                throw new UnresolvedTypeException(
+                        String.format("Could not calculate if class '%s' implements an " +
+                                        "interface compatible to '%s'. Type of interface '%s' could not" +
+                                        " be resolved and was '%s'", declaration.getFullyQualifiedName(), interfaceType,
+                                declaration.getUnresolvedImplements(), declaration.getUnresolvedImplementsType())
+                );
+            }
+        }
+        return subTypes.getOrDefault(interfaceType, Set.of()).stream()
+                .filter(d -> !d.isNested() && d.getImplementsTypes().contains(interfaceType))
+                .sorted(byPosition())
+                .map(Declaration::toTypeDeclaration)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Synchronizes the index with the Java sources in the {@code ProjectResourceSet}.
+     */
+    public synchronized void update() {
+        long modificationCount = projectResourceSet.getModificationCount();
+        if (modificationCount == indexedModificationCount) {
+            return;
+        }
+        positions.clear();
+        projectResourceSet.streamByType(J.CompilationUnit.class)
+                .filter(JavaSource.class::isInstance)
+                .forEach(holder -> {
+                    positions.put(holder, positions.size());
+                    Entry entry = entries.get(holder);
+                    if (entry == null || entry.getCompilationUnit() != holder.getSourceFile()) {
+                        if (entry != null) {
+                            unindex(holder, entry);
+                        }
+                        index(holder);
+                    }
+                });
+        List<RewriteSourceFileHolder<J.CompilationUnit>> removed = entries.keySet().stream()
+                .filter(holder -> !positions.containsKey(holder))
+                .collect(Collectors.toList());
+        removed.forEach(holder -> unindex(holder, entries.get(holder)));
+        indexedModificationCount = modificationCount;
+    }
+
+    private void index(RewriteSourceFileHolder<J.CompilationUnit> holder) {
+        J.CompilationUnit compilationUnit = holder.getSourceFile();
+        List<Declaration> entryDeclarations = new ArrayList<>();
+        collectDeclarations(holder, compilationUnit.getClasses(), false, entryDeclarations);
+        Entry entry = new Entry(compilationUnit, entryDeclarations);
+        entries.put(holder, entry);
+        entryDeclarations.forEach(d -> {
+            declarations.computeIfAbsent(d.getFullyQualifiedName(), k -> new ArrayList<>(1)).add(d);
+            d.getSuperTypes().forEach(st -> subTypes.computeIfAbsent(st, k -> new HashSet<>()).add(d));
+        });
+    }
+
+    private void unindex(RewriteSourceFileHolder<J.CompilationUnit> holder, Entry entry) {
+        entries.remove(holder);
+        entry.getDeclarations().forEach(d -> {
+            remove(declarations, d.getFullyQualifiedName(), d);
+            d.getSuperTypes().forEach(st -> remove(subTypes, st, d));
+        });
+    }
+
+    private void collectDeclarations(RewriteSourceFileHolder<J.CompilationUnit> holder, List<J.ClassDeclaration> classes, boolean nested, List<Declaration> found) {
+        for (J.ClassDeclaration classDecl : classes) {
+            if (classDecl.getType() != null) {
+                found.add(createDeclaration(holder, found.size(), nested, classDecl));
+            }
+            List<J.ClassDeclaration> memberClasses = classDecl.getBody().getStatements().stream()
+                    .filter(J.ClassDeclaration.class::isInstance)
+                    .map(J.ClassDeclaration.class::cast)
+                    .collect(Collectors.toList());
+            collectDeclarations(holder, memberClasses, true, found);
+        }
+    }
+
+    private Declaration createDeclaration(RewriteSourceFileHolder<J.CompilationUnit> holder, int index, boolean nested, J.ClassDeclaration classDecl) {
+        JavaType.FullyQualified type = classDecl.getType();
+        List<String> superTypes = new ArrayList<>();
+        if (type.getSupertype() != null && !OBJECT.equals(type.getSupertype().getFullyQualifiedName())) {
+            superTypes.add(type.getSupertype().getFullyQualifiedName());
+        }
+        type.getInterfaces().forEach(i -> superTypes.add(i.getFullyQualifiedName()));
+
+        List<String> implementsTypes = new ArrayList<>();
+        TypeTree unresolvedImplements = null;
+        if (classDecl.getImplements() != null) {
+            for (TypeTree implementsTree : classDecl.getImplements()) {
+                JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(implementsTree.getType());
+                implementsTypes.add(fullyQualified == null ? null : fullyQualified.getFullyQualifiedName());
+                if (fullyQualified == null && unresolvedImplements == null) {
+                    unresolvedImplements = implementsTree;
+                }
+            }
+        }
+        return new Declaration(holder, index, nested, type.getFullyQualifiedName(), superTypes, implementsTypes, unresolvedImplements);
+    }
+
+    private Comparator<Declaration> byPosition() {
+        return Comparator.<Declaration>comparingInt(d -> positions.getOrDefault(d.getHolder(), Integer.MAX_VALUE))
+                .thenComparingInt(Declaration::getIndex);
+    }
+
+    private static <T> void remove(Map<String, ? extends Collection<T>> index, String key, T value) {
+        Collection<T> values = index.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * A type and the compilation unit declaring it.
+     */
+    @Value
+    public static class TypeDeclaration {
+        private final RewriteSourceFileHolder<J.CompilationUnit> compilationUnit;
+        private final String fullyQualifiedName;
+    }
+
+    @Value
+    private static class Entry {
+        private final J.CompilationUnit compilationUnit;
+        private final List<Declaration> declarations;
+    }
+
+    /**
+     * Declarations are compared by identity, a compilation unit can declare the same type twice while it's invalid.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Declaration {
+        private final RewriteSourceFileHolder<J.CompilationUnit> holder;
+        private final int index;
+        private final boolean nested;
+        private final String fullyQualifiedName;
+        private final List<String> superTypes;
+        private final List<String> implementsTypes;
+        private final TypeTree unresolvedImplements;
+
+        JavaType getUnresolvedImplementsType() {
+            return unresolvedImplements.getType();
+        }
+
+        TypeDeclaration toTypeDeclaration() {
+            return new TypeDeclaration(holder, fullyQualifiedName);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Optional;
 
 @Setter
 @Getter
@@ -35,11 +36,14 @@ public class HasAnyImportStartingWith implements Condition {
         return description;
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(importPatterns);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .anyMatch(js -> importPatterns.stream()
-                            .anyMatch(v -> js.hasImportStartingWith(v))
-                );
+        return importPatterns.stream()
+                .anyMatch(v -> !context.getJavaSourceIndex().findImportingStartingWith(v).isEmpty());
     }
 }
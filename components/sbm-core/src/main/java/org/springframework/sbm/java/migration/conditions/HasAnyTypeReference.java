@@ -20,6 +20,7 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
 
 import java.util.List;
+import java.util.Optional;
 
 @Getter
 @Setter
@@ -35,9 +36,13 @@ public class HasAnyTypeReference implements Condition {
         return "Verifies if a type references on of the given types ["+ fqTypeNames +"]";
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(fqTypeNames);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .anyMatch(js -> js.getReferencedTypes().stream().anyMatch(rt -> fqTypeNames.contains(rt)));
+        return !context.getJavaSourceIndex().findReferencingAnyType(fqTypeNames).isEmpty();
     }
 }
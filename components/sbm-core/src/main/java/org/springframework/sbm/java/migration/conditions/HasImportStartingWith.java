@@ -21,6 +21,8 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
 import lombok.*;
 
+import java.util.Optional;
+
 @Setter
 @Getter
 @Builder
@@ -37,8 +39,13 @@ public class HasImportStartingWith implements Condition {
         return StringUtils.hasText(description) ? description : "If any imports starts with '" + value + "'";
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(value);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().hasImportStartingWith(value);
+        return !context.getJavaSourceIndex().findImportingStartingWith(value).isEmpty();
     }
 }
@@ -20,6 +20,8 @@ import org.springframework.sbm.engine.recipe.Condition;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Optional;
+
 public class HasMemberAnnotation implements Condition {
 
     @Setter
@@ -31,11 +33,13 @@ public class HasMemberAnnotation implements Condition {
         return "If there are any fields annotated with " + annotation;
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(annotation);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .flatMap(js -> js.getTypes().stream())
-                .flatMap(t -> t.getMembers().stream())
-                .anyMatch(m -> m.getAnnotation(annotation) != null);
+        return !context.getJavaSourceIndex().findWithMemberAnnotation(annotation).isEmpty();
     }
 }
@@ -19,6 +19,8 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
 import lombok.*;
 
+import java.util.Optional;
+
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,11 +35,14 @@ public class HasTypeAnnotation implements Condition {
         return "If there are any types annotated with " + annotation;
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(annotation);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
-        return context.getProjectJavaSources().asStream()
-                .flatMap(js -> js.getTypes().stream())
-                .anyMatch(t -> t.hasAnnotation(annotation));
+        return !context.getJavaSourceIndex().findWithTypeAnnotation(annotation).isEmpty();
     }
 
 }
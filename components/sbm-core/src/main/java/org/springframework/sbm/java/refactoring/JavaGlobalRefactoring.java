@@ -22,6 +22,7 @@ import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.J;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface JavaGlobalRefactoring {
     void refactor(Recipe... recipes);
@@ -33,6 +34,22 @@ public interface JavaGlobalRefactoring {
 
     /**
      * Run provided {@code Recipe}s to search for {@code SourceFile}s of type {@code T}.
+     * The {@code SourceFile}s are not changed by the search.
      */
     List<RewriteSourceFileHolder<J.CompilationUnit>> find(Recipe recipe);
+
+    /**
+     * Run provided {@code visitor} against all {@code J.CompilationUnit}s to search for {@code SourceFile}s without
+     * changing them.
+     * The visitor reports matches by adding them to the list it's called with, the trees it returns are discarded.
+     *
+     * @return the {@code SourceFile}s with at least one match, in the order of the project resources
+     */
+    <M> List<RewriteSourceFileHolder<J.CompilationUnit>> query(JavaVisitor<List<M>> visitor);
+
+    /**
+     * Find the {@code SourceFile} declaring a top-level type with given fully qualified name by a lookup in the
+     * {@link org.springframework.sbm.java.impl.TypeHierarchyIndex} of the project resources.
+     */
+    Optional<RewriteSourceFileHolder<J.CompilationUnit>> findCompilationUnitDeclaringType(String fqName);
 }
@@ -17,39 +17,64 @@ package org.springframework.sbm.java.refactoring;
 
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.*;
-import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.marker.Marker;
-import org.openrewrite.marker.Markers;
-import org.openrewrite.marker.RecipesThatMadeChanges;
-import org.openrewrite.marker.SearchResult;
+import org.springframework.sbm.engine.recipe.ConfigurableRecipeScheduler;
+import org.springframework.sbm.java.impl.TypeHierarchyIndex;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class JavaGlobalRefactoringImpl implements JavaGlobalRefactoring {
     private ProjectResourceSet projectResourceSet;
     private ExecutionContext executionContext;
+    private RecipeScheduler recipeScheduler;
+    private TypeHierarchyIndex typeHierarchyIndex;
 
-    public JavaGlobalRefactoringImpl(ProjectResourceSet projectResourceSet, ExecutionContext executionContext) {
+    public JavaGlobalRefactoringImpl(ProjectResourceSet projectResourceSet, ExecutionContext executionContext, RecipeScheduler recipeScheduler, TypeHierarchyIndex typeHierarchyIndex) {
         this.projectResourceSet = projectResourceSet;
         this.executionContext = executionContext;
+        this.recipeScheduler = recipeScheduler;
+        this.typeHierarchyIndex = typeHierarchyIndex;
     }
 
 
     @Override
     public void refactor(JavaVisitor<ExecutionContext>... visitors) {
         List<J.CompilationUnit> compilationUnits = getAllCompilationUnits().stream().map(RewriteSourceFileHolder::getSourceFile).collect(Collectors.toList());
-        Arrays.stream(visitors)
-                .map(v -> new GenericOpenRewriteRecipe(() -> v))
-                .map(r -> executeRecipe(compilationUnits, r))
-                .forEach(r -> processResults(compilationUnits, r));
+        List<Result> results = executeRecipe(compilationUnits, createFusedRecipe(visitors));
+        processResults(results);
+    }
+
+    /**
+     * Creates a recipe applying all {@code visitors} in given order to each compilation unit before the next one is
+     * visited. Every compilation unit is traversed once and only its final state is merged back, with the same result
+     * as running the visitors one after another.
+     */
+    protected Recipe createFusedRecipe(JavaVisitor<ExecutionContext>... visitors) {
+        return new GenericOpenRewriteRecipe<>(() -> new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return super.visit(tree, ctx);
+                }
+                SourceFile sourceFile = (SourceFile) tree;
+                for (JavaVisitor<ExecutionContext> visitor : visitors) {
+                    sourceFile = (SourceFile) visitor.visitSourceFile(sourceFile, ctx);
+                    if (visitor.isAcceptable(sourceFile, ctx)) {
+                        sourceFile = (SourceFile) visitor.visit(sourceFile, ctx);
+                    }
+                }
+                return sourceFile;
+            }
+        });
     }
 
     private List<RewriteSourceFileHolder<J.CompilationUnit>> getAllCompilationUnits() {
@@ -87,41 +112,42 @@ public class JavaGlobalRefactoringImpl implements JavaGlobalRefactoring {
         return matches;
     }
 
+    @Override
+    public <M> List<RewriteSourceFileHolder<J.CompilationUnit>> query(JavaVisitor<List<M>> visitor) {
+        return queryInternal(getAllCompilationUnits(), visitor);
+    }
+
+    @Override
+    public Optional<RewriteSourceFileHolder<J.CompilationUnit>> findCompilationUnitDeclaringType(String fqName) {
+        return typeHierarchyIndex.findDeclaringCompilationUnit(fqName);
+    }
+
+    /**
+     * Returns the holders of the compilation units changed by {@code recipe} without applying the changes,
+     * a search recipe only adds {@code SearchResult} markers.
+     */
     @NotNull
     protected List<RewriteSourceFileHolder<J.CompilationUnit>> findInternal(List<RewriteSourceFileHolder<J.CompilationUnit>> resourceWrappers, Recipe recipe) {
         List<J.CompilationUnit> compilationUnits = resourceWrappers.stream().map(RewriteSourceFileHolder::getSourceFile).collect(Collectors.toList());
         List<Result> results = executeRecipe(compilationUnits, recipe);
         return results.stream()
-                .map(r -> r.getAfter())
-                .filter(r -> J.CompilationUnit.class.isAssignableFrom(r.getClass()))
-                .map(J.CompilationUnit.class::cast)
+                .map(Result::getBefore)
+                .filter(J.CompilationUnit.class::isInstance)
                 .map(cu -> resourceWrappers.stream()
                         .filter(fh -> fh.getId().equals(cu.getId()))
-                        .map(pr -> {
-                            J.CompilationUnit cuRemovedMarkers = removeMarkers(cu, SearchResult.class, RecipesThatMadeChanges.class);
-                            pr.replaceWith(cuRemovedMarkers);
-                            return pr;
-                        })
                         .findAny().orElseThrow())
                 .collect(Collectors.toList());
     }
 
-    private J.CompilationUnit removeMarkers(J.CompilationUnit cu, Class<? extends Marker>... markerTypes) {
-        RecipeRun recipeRun = new GenericOpenRewriteRecipe<>(() -> new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public Markers visitMarkers(Markers m, ExecutionContext executionContext) {
-                Markers markers = super.visitMarkers(m, executionContext);
-                if (!markers.getMarkers().isEmpty()) {
-                    for (Class<? extends Marker> marker : markerTypes) {
-                        markers = markers.removeByType(marker);
-                    }
-                }
-                return markers;
-            }
-        }).run(List.of(cu), executionContext);
-        J.CompilationUnit compilationUnit = (J.CompilationUnit) recipeRun.getResults().get(0).getAfter();
-        compilationUnit = compilationUnit.withMarkers(compilationUnit.getMarkers().removeByType(RecipesThatMadeChanges.class));
-        return compilationUnit;
+    @NotNull
+    protected <M> List<RewriteSourceFileHolder<J.CompilationUnit>> queryInternal(List<RewriteSourceFileHolder<J.CompilationUnit>> resourceWrappers, JavaVisitor<List<M>> visitor) {
+        return resourceWrappers.stream()
+                .filter(rsfh -> {
+                    List<M> matches = new ArrayList<>();
+                    visitor.visit(rsfh.getSourceFile(), matches);
+                    return !matches.isEmpty();
+                })
+                .collect(Collectors.toList());
     }
 
     @Deprecated
@@ -146,18 +172,15 @@ public class JavaGlobalRefactoringImpl implements JavaGlobalRefactoring {
     }
 
     private RewriteSourceFileHolder<J.CompilationUnit> findRewriteSourceFileHolderHoldingCompilationUnitWithId(UUID id) {
-        return projectResourceSet.stream()
-                .filter(pr -> pr.getSourceFile().getId().equals(id))
+        return projectResourceSet.findById(id)
                 .filter(pr -> J.CompilationUnit.class.isAssignableFrom(pr.getSourceFile().getClass()))
                 .map(pr -> (RewriteSourceFileHolder<J.CompilationUnit>) pr)
-                .findAny()
                 .orElseThrow(() -> new RuntimeException("Not matching modification found"));
     }
 
     List<Result> executeRecipe(List<J.CompilationUnit> compilationUnits, Recipe recipe) {
         // FIXME #7 added RewriteExecutionContext here, remove again?
-        List<Result> results = recipe.run(compilationUnits, executionContext).getResults();
-//         List<Result> results = recipe.run(compilationUnits, new RewriteExecutionContext(), new ForkJoinScheduler(new ForkJoinPool(1)), 10, 1);
+        List<Result> results = recipe.run(compilationUnits, executionContext, recipeScheduler, ConfigurableRecipeScheduler.MAX_CYCLES, ConfigurableRecipeScheduler.MIN_CYCLES).getResults();
         return results;
     }
 
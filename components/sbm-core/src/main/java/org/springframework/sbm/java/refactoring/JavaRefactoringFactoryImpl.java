@@ -16,6 +16,7 @@
 package org.springframework.sbm.java.refactoring;
 
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.RecipeScheduler;
 import org.springframework.sbm.project.resource.ProjectResourceSetHolder;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import lombok.RequiredArgsConstructor;
@@ -28,26 +29,30 @@ public class JavaRefactoringFactoryImpl implements JavaRefactoringFactory {
 
     private final ProjectResourceSetHolder projectResourceSetHolder;
     private final ExecutionContext executionContext;
+    private final RecipeScheduler recipeScheduler;
 
     @Override
     @Deprecated
     public JavaRefactoring createRefactoring(J.CompilationUnit compilationUnit) {
-        JavaRefactoringImpl refactoring = new JavaRefactoringImpl(projectResourceSetHolder.getProjectResourceSet(), compilationUnit,
-                                                                  executionContext);
+        JavaRefactoringImpl refactoring = new JavaRefactoringImpl(projectResourceSetHolder.getProjectResourceSet(),
+                                                                  executionContext, recipeScheduler,
+                                                                  projectResourceSetHolder.getTypeHierarchyIndex());
         return refactoring;
     }
 
     @Override
     public JavaGlobalRefactoring createRefactoring() {
         JavaGlobalRefactoring refactoring = new JavaGlobalRefactoringImpl(projectResourceSetHolder.getProjectResourceSet(),
-                                                                          executionContext);
+                                                                          executionContext, recipeScheduler,
+                                                                          projectResourceSetHolder.getTypeHierarchyIndex());
         return refactoring;
     }
 
     @Override
     public JavaRefactoring createRefactoring(RewriteSourceFileHolder<J.CompilationUnit> rewriteSourceFileHolder) {
-        JavaRefactoringImpl refactoring = new JavaRefactoringImpl(projectResourceSetHolder.getProjectResourceSet(), rewriteSourceFileHolder,
-                                                                  executionContext);
+        JavaRefactoringImpl refactoring = new JavaRefactoringImpl(projectResourceSetHolder.getProjectResourceSet(),
+                                                                  executionContext, recipeScheduler,
+                                                                  projectResourceSetHolder.getTypeHierarchyIndex());
         return refactoring;
     }
 }
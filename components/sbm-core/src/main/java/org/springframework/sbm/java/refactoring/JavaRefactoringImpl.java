@@ -15,39 +15,27 @@
  */
 package org.springframework.sbm.java.refactoring;
 
+import org.springframework.sbm.java.impl.TypeHierarchyIndex;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
-import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
+import org.openrewrite.RecipeScheduler;
 import org.openrewrite.Result;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.J;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class JavaRefactoringImpl extends JavaGlobalRefactoringImpl implements JavaRefactoring {
 
-    @Deprecated
-    public JavaRefactoringImpl(ProjectResourceSet projectResources, ExecutionContext executionContext) {
-        super(projectResources, executionContext);
-    }
-
-    @Deprecated
-    public JavaRefactoringImpl(ProjectResourceSet projectResourceSet, J.CompilationUnit compilationUnit, ExecutionContext executionContext) {
-        super(projectResourceSet, executionContext);
-    }
-
-    @Deprecated
-    public JavaRefactoringImpl(ProjectResourceSet projectResourceSet, RewriteSourceFileHolder<J.CompilationUnit> rewriteSourceFileHolder, ExecutionContext executionContext) {
-        super(projectResourceSet, executionContext);
+    public JavaRefactoringImpl(ProjectResourceSet projectResourceSet, ExecutionContext executionContext, RecipeScheduler recipeScheduler, TypeHierarchyIndex typeHierarchyIndex) {
+        super(projectResourceSet, executionContext, recipeScheduler, typeHierarchyIndex);
     }
 
     @Override
     public void refactor(RewriteSourceFileHolder<J.CompilationUnit> resourceWrapper, JavaVisitor<ExecutionContext>... visitors) {
-        Recipe recipe = createRecipeChainFromVisitors(visitors);
+        Recipe recipe = createFusedRecipe(visitors);
         List<J.CompilationUnit> compilationUnits = List.of(resourceWrapper.getSourceFile());
         runRecipe(compilationUnits, recipe);
     }
@@ -69,15 +57,6 @@ public class JavaRefactoringImpl extends JavaGlobalRefactoringImpl implements Ja
         processResults(results);
     }
 
-    private Recipe createRecipeChainFromVisitors(JavaVisitor<ExecutionContext>[] visitors) {
-        Recipe recipe = null;
-        List<Recipe> recipes = Arrays.stream(visitors)
-                .map(v -> new GenericOpenRewriteRecipe(() -> v))
-                .collect(Collectors.toList());
-        recipe = chainRecipes(recipes);
-        return recipe;
-    }
-
     private Recipe chainRecipes(List<Recipe> recipes) {
         Recipe recipe = null;
         if (!recipes.isEmpty()) {
@@ -21,6 +21,7 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.maven.MavenExecutionContextView;
 
 import java.util.Collection;
 import java.util.Set;
@@ -49,6 +50,30 @@ public class RewriteExecutionContext implements ExecutionContext {
         this.delegate = delegate;
     }
 
+    /**
+     * Returns a view of {@code delegate} for visitors running concurrently, see {@link SynchronizedExecutionContext}.
+     */
+    public static ExecutionContext synchronizedView(ExecutionContext delegate) {
+        return delegate instanceof SynchronizedExecutionContext ? delegate : new SynchronizedExecutionContext(delegate);
+    }
+
+    /**
+     * Returns a new context with the error handler and the Maven configuration of {@code source} but without its messages,
+     * e.g. for parsing modules concurrently.
+     */
+    public static ExecutionContext withMavenConfigurationOf(ExecutionContext source) {
+        ExecutionContext executionContext = new RewriteExecutionContext(source.getOnError());
+        MavenExecutionContextView sourceView = MavenExecutionContextView.view(source);
+        MavenExecutionContextView view = MavenExecutionContextView.view(executionContext);
+        if (sourceView.getSettings() != null) {
+            view.setMavenSettings(sourceView.getSettings());
+        }
+        view.setLocalRepository(sourceView.getLocalRepository())
+                .setRepositories(sourceView.getRepositories())
+                .setPomCache(sourceView.getPomCache());
+        return executionContext;
+    }
+
     @Override
     public void putMessage(String key, @Nullable Object value) {
         delegate.putMessage(key, value);
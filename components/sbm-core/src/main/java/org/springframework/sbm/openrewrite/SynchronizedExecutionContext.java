@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.openrewrite;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@code ExecutionContext} for visitors running concurrently.
+ *
+ * Messages that are read and written in one step, like {@link #putMessageInSet(String, Object)}, are changed under a
+ * lock, so concurrent visitors don't overwrite each other's messages.
+ * Collections created through {@link #putMessageInCollection(String, Object, Supplier)} are only changed under this
+ * lock, callers get copies of them, also from {@link #getMessage(String)}.
+ * Created through {@link RewriteExecutionContext#synchronizedView(ExecutionContext)}.
+ */
+public class SynchronizedExecutionContext implements ExecutionContext {
+
+    private final ExecutionContext delegate;
+
+    /**
+     * Creates empty collections for the keys of the messages managed by {@link #putMessageInCollection(String, Object, Supplier)}.
+     */
+    private final Map<String, Supplier<? extends Collection<?>>> collectionFactories = new HashMap<>();
+
+    SynchronizedExecutionContext(ExecutionContext delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void putMessage(String key, @Nullable Object value) {
+        collectionFactories.remove(key);
+        delegate.putMessage(key, value);
+    }
+
+    @Override
+    public synchronized <T> @Nullable T getMessage(String key) {
+        return copyIfCollection(key, delegate.getMessage(key));
+    }
+
+    @Override
+    public synchronized <V, T> T computeMessage(String key, V value, Supplier<T> defaultValue, BiFunction<V, ? super T, ? extends T> remappingFunction) {
+        return ExecutionContext.super.computeMessage(key, value, defaultValue, remappingFunction);
+    }
+
+    @Override
+    public synchronized <V, C extends Collection<V>> C putMessageInCollection(String key, V value, Supplier<C> newCollection) {
+        C collection = delegate.getMessage(key);
+        if (collection == null) {
+            collection = newCollection.get();
+            delegate.putMessage(key, collection);
+        }
+        collection.add(value);
+        collectionFactories.put(key, newCollection);
+        return copyIfCollection(key, collection);
+    }
+
+    @Override
+    public synchronized <T> Set<T> putMessageInSet(String key, T value) {
+        return putMessageInCollection(key, value, HashSet::new);
+    }
+
+    @Override
+    public synchronized int incrementAndGetUncaughtExceptionCount() {
+        return ExecutionContext.super.incrementAndGetUncaughtExceptionCount();
+    }
+
+    @Override
+    public synchronized <T> @Nullable T pollMessage(String key) {
+        collectionFactories.remove(key);
+        return delegate.pollMessage(key);
+    }
+
+    @Override
+    public Consumer<Throwable> getOnError() {
+        return delegate.getOnError();
+    }
+
+    @Override
+    public BiConsumer<Throwable, ExecutionContext> getOnTimeout() {
+        return delegate.getOnTimeout();
+    }
+
+    @Override
+    public Duration getRunTimeout(int inputs) {
+        return delegate.getRunTimeout(inputs);
+    }
+
+    private <T> T copyIfCollection(String key, T value) {
+        Supplier<? extends Collection<?>> collectionFactory = collectionFactories.get(key);
+        if (collectionFactory == null || !(value instanceof Collection)) {
+            return value;
+        }
+        Collection<Object> copy = (Collection<Object>) collectionFactory.get();
+        copy.addAll((Collection<?>) value);
+        return (T) copy;
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.ImmutableCollectionsSerializers;
+import com.esotericsoftware.kryo.util.DefaultClassResolver;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.MapReferenceResolver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.git.Commit;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.CodeSource;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the parsed {@link SourceFile}s of a project on disk and rehydrates them when the project did not change.
+ *
+ * A snapshot is keyed by the latest git revision of the project, the builds of SBM and OpenRewrite plus a hash over
+ * the paths and contents of all scanned resources. No snapshot is read or written for projects without git revision.
+ * The dependency classpath is only known after parsing, the snapshot records size and modification time of its
+ * artifacts and is not used when one of them changed.
+ *
+ * Snapshots are read with class registration required, only classes of the LST and the JDK types it uses are
+ * accepted.
+ *
+ * Storing and loading snapshots is best effort, failures are logged and the project gets parsed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LstSnapshotCache {
+
+    /**
+     * Increment when the serialized format changes to invalidate existing snapshots.
+     */
+    private static final int SNAPSHOT_FORMAT_VERSION = 2;
+
+    /**
+     * Builds of SBM and OpenRewrite, LSTs written by other builds might not be compatible.
+     */
+    private static final String BUILD_IDENTIFIER = Stream.of(LstSnapshotCache.class, SourceFile.class, J.class, MavenResolutionResult.class)
+            .map(LstSnapshotCache::getBuildIdentifier)
+            .collect(Collectors.joining("|"));
+
+    private static final Set<String> ALLOWED_CLASS_NAME_PREFIXES = Set.of(
+            "org.openrewrite.",
+            "java.util.",
+            "java.time.",
+            "java.nio.charset.",
+            // implementations of Path and Charset
+            "sun.nio.fs.",
+            "sun.nio.cs."
+    );
+
+    private static final Set<String> ALLOWED_CLASS_NAMES = Set.of(
+            Object.class.getName(),
+            String.class.getName(),
+            Boolean.class.getName(),
+            Byte.class.getName(),
+            Character.class.getName(),
+            Short.class.getName(),
+            Integer.class.getName(),
+            Long.class.getName(),
+            Float.class.getName(),
+            Double.class.getName()
+    );
+
+    private static final String SNAPSHOT_FILE_EXTENSION = ".lst";
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final GitSupport gitSupport;
+
+    /**
+     * Calculates the snapshot file for the given project and resources, the result is passed to
+     * {@link #load(Path)} and {@link #store(Path, List, Collection)}.
+     *
+     * @return empty if the cache is disabled or the project has no git revision.
+     */
+    public Optional<Path> getSnapshotFile(Path projectDirectory, List<Resource> resources) {
+        if (!sbmApplicationProperties.isLstCacheEnabled()) {
+            return Optional.empty();
+        }
+        Path absoluteProjectDir = projectDirectory.toAbsolutePath().normalize();
+        if (!gitSupport.repoExists(absoluteProjectDir.toFile())) {
+            return Optional.empty();
+        }
+        Optional<String> revision = gitSupport.getLatestCommit(absoluteProjectDir.toFile()).map(Commit::getHash);
+        if (revision.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            String workingTreeHash = calculateWorkingTreeHash(absoluteProjectDir, resources);
+            String key = revision.get() + "-" + workingTreeHash;
+            return Optional.of(Path.of(sbmApplicationProperties.getLstCacheDir())
+                                       .resolve(sha256(absoluteProjectDir.toString()))
+                                       .resolve(key + SNAPSHOT_FILE_EXTENSION));
+        } catch (IOException e) {
+            log.warn("Could not calculate hash of working tree '%s'.".formatted(absoluteProjectDir), e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<List<SourceFile>> load(Path snapshotFile) {
+        if (!Files.exists(snapshotFile)) {
+            return Optional.empty();
+        }
+        try (Input input = new Input(Files.newInputStream(snapshotFile))) {
+            Kryo kryo = createKryo();
+            List<String> classpathFingerprint = (List<String>) kryo.readClassAndObject(input);
+            if (!classpathFingerprint.equals(fingerprint(toPaths(classpathFingerprint)))) {
+                log.debug("Dependencies changed since LST snapshot '{}' was stored.", snapshotFile);
+                return Optional.empty();
+            }
+            List<SourceFile> sourceFiles = (List<SourceFile>) kryo.readClassAndObject(input);
+            log.debug("Loaded {} source files from LST snapshot '{}'.", sourceFiles.size(), snapshotFile);
+            return Optional.of(sourceFiles);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load LST snapshot '%s', project will be parsed.".formatted(snapshotFile), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param classpath the dependency artifacts the source files were parsed with
+     */
+    public void store(Path snapshotFile, List<SourceFile> sourceFiles, Collection<Path> classpath) {
+        Path snapshotDir = snapshotFile.getParent();
+        Path tmpFile = null;
+        try {
+            Files.createDirectories(snapshotDir);
+            tmpFile = Files.createTempFile(snapshotDir, "snapshot", ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmpFile); Output output = new Output(os)) {
+                Kryo kryo = createKryo();
+                kryo.writeClassAndObject(output, fingerprint(classpath));
+                kryo.writeClassAndObject(output, new ArrayList<>(sourceFiles));
+            }
+            Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteOutdatedSnapshots(snapshotDir, snapshotFile);
+            log.debug("Stored {} source files in LST snapshot '{}'.", sourceFiles.size(), snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not store LST snapshot '%s'.".formatted(snapshotFile), e);
+            deleteQuietly(tmpFile);
+        }
+    }
+
+    /**
+     * Absolute path, size and modification time of the given artifacts, sorted by path.
+     */
+    private static List<String> fingerprint(Collection<Path> artifacts) {
+        return artifacts.stream()
+                .map(p -> p.toAbsolutePath().normalize())
+                .sorted()
+                .distinct()
+                .map(p -> p + "|" + p.toFile().length() + "|" + p.toFile().lastModified())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static List<Path> toPaths(List<String> fingerprint) {
+        return fingerprint.stream()
+                .map(f -> Path.of(f.substring(0, f.indexOf('|'))))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Hash over the relative paths and contents of all scanned resources.
+     */
+    private String calculateWorkingTreeHash(Path projectDirectory, List<Resource> resources) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(Integer.toString(SNAPSHOT_FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+        digest.update(BUILD_IDENTIFIER.getBytes(StandardCharsets.UTF_8));
+        List<Path> paths = new ArrayList<>();
+        for (Resource resource : resources) {
+            paths.add(resource.getFile().toPath().toAbsolutePath().normalize());
+        }
+        Collections.sort(paths);
+        byte[] buffer = new byte[8192];
+        for (Path path : paths) {
+            digest.update(projectDirectory.relativize(path).toString().getBytes(StandardCharsets.UTF_8));
+            try (InputStream is = new DigestInputStream(Files.newInputStream(path), digest)) {
+                while (is.read(buffer) != -1) {
+                    // digest is updated while reading
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void deleteOutdatedSnapshots(Path snapshotDir, Path currentSnapshot) throws IOException {
+        try (Stream<Path> snapshots = Files.list(snapshotDir)) {
+            snapshots.filter(p -> !p.equals(currentSnapshot))
+                    .filter(p -> p.getFileName().toString().endsWith(SNAPSHOT_FILE_EXTENSION))
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete '{}'.", path, e);
+        }
+    }
+
+    private static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Identifies the build of the jar or directory {@code type} was loaded from by its version, location, size and
+     * modification time.
+     */
+    private static String getBuildIdentifier(Class<?> type) {
+        String identifier = type.getPackage().getImplementationVersion() + ":";
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return identifier;
+        }
+        URL location = codeSource.getLocation();
+        identifier += location;
+        if ("file".equals(location.getProtocol())) {
+            try {
+                File file = new File(location.toURI());
+                identifier += ":" + file.length() + ":" + file.lastModified();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                log.debug("Could not access location '{}' of '{}'.", location, type, e);
+            }
+        }
+        return identifier;
+    }
+
+    private static boolean isAllowedClass(String className) {
+        if (className.startsWith("[")) {
+            // array class names like "[Lorg.openrewrite.Tree;" or "[B"
+            String elementClassName = className.replaceFirst("^\\[+", "");
+            return elementClassName.length() == 1 || isAllowedClass(elementClassName.substring(1, elementClassName.length() - 1));
+        }
+        return ALLOWED_CLASS_NAMES.contains(className) || ALLOWED_CLASS_NAME_PREFIXES.stream().anyMatch(className::startsWith);
+    }
+
+    /**
+     * Kryo instances are not thread-safe, a new instance is created per load and store.
+     */
+    private static Kryo createKryo() {
+        LstClassResolver classResolver = new LstClassResolver();
+        Kryo kryo = new Kryo(classResolver, new MapReferenceResolver());
+        classResolver.enableImplicitRegistration();
+        kryo.setRegistrationRequired(true);
+        // LSTs share JavaTypes and contain cycles
+        kryo.setReferences(true);
+        // LST classes have no no-arg constructors
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        kryo.setClassLoader(LstSnapshotCache.class.getClassLoader());
+        ImmutableCollectionsSerializers.addDefaultSerializers(kryo);
+        // JDK classes with fields not accessible through reflection
+        kryo.addDefaultSerializer(Path.class, new PathSerializer());
+        kryo.addDefaultSerializer(UUID.class, new UUIDSerializer());
+        kryo.addDefaultSerializer(Charset.class, new CharsetSerializer());
+        return kryo;
+    }
+
+    /**
+     * Registers the classes of the LST and the JDK types it uses when they are first written or read.
+     * Other classes are not registered, they fail to be written and snapshots containing them are rejected before
+     * the class is loaded.
+     */
+    private static class LstClassResolver extends DefaultClassResolver {
+
+        private boolean implicitRegistrationEnabled;
+
+        /**
+         * Called when Kryo registered its default classes, which must not be registered implicitly before.
+         */
+        void enableImplicitRegistration() {
+            implicitRegistrationEnabled = true;
+        }
+
+        @Override
+        public Registration getRegistration(Class type) {
+            Registration registration = super.getRegistration(type);
+            if (registration == null && implicitRegistrationEnabled && !isMappedByKryo(type) && isAllowedClass(type.getName())) {
+                registration = registerImplicit(type);
+            }
+            return registration;
+        }
+
+        /**
+         * Kryo uses the registration of another class for proxies, enum constants with a body, EnumSets and lambdas.
+         */
+        private boolean isMappedByKryo(Class<?> type) {
+            return Proxy.isProxyClass(type)
+                    || (!type.isEnum() && Enum.class.isAssignableFrom(type))
+                    || (type != EnumSet.class && EnumSet.class.isAssignableFrom(type))
+                    || type.getName().indexOf('/') >= 0;
+        }
+
+        @Override
+        protected Class getTypeByName(String className) {
+            if (!isAllowedClass(className)) {
+                throw new KryoException("Class '%s' is not allowed in LST snapshots.".formatted(className));
+            }
+            return super.getTypeByName(className);
+        }
+    }
+
+    private static class PathSerializer extends Serializer<Path> {
+        @Override
+        public void write(Kryo kryo, Output output, Path path) {
+            output.writeString(path.toString());
+        }
+
+        @Override
+        public Path read(Kryo kryo, Input input, Class<? extends Path> type) {
+            return Path.of(input.readString());
+        }
+    }
+
+    private static class UUIDSerializer extends Serializer<UUID> {
+        @Override
+        public void write(Kryo kryo, Output output, UUID uuid) {
+            output.writeLong(uuid.getMostSignificantBits());
+            output.writeLong(uuid.getLeastSignificantBits());
+        }
+
+        @Override
+        public UUID read(Kryo kryo, Input input, Class<? extends UUID> type) {
+            return new UUID(input.readLong(), input.readLong());
+        }
+    }
+
+    private static class CharsetSerializer extends Serializer<Charset> {
+        @Override
+        public void write(Kryo kryo, Output output, Charset charset) {
+            output.writeString(charset.name());
+        }
+
+        @Override
+        public Charset read(Kryo kryo, Input input, Class<? extends Charset> type) {
+            return Charset.forName(input.readString());
+        }
+    }
+}
@@ -31,13 +31,18 @@ import org.openrewrite.marker.ci.BuildEnvironment;
 import org.openrewrite.maven.MavenExecutionContextView;
 import org.openrewrite.maven.MavenSettings;
 import org.openrewrite.maven.tree.*;
-import org.openrewrite.maven.utilities.MavenArtifactDownloader;
 import org.openrewrite.xml.tree.Xml;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.impl.MavenBuildFileUtil;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.events.*;
+import org.springframework.sbm.java.impl.RewriteJavaParser;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.scopes.ProjectMetadata;
 import org.springframework.stereotype.Component;
 
@@ -46,6 +51,10 @@ import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -55,33 +64,28 @@ import java.util.stream.Collectors;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class MavenProjectParser {
+public class MavenProjectParser implements DisposableBean {
 
     private final ResourceParser resourceParser;
     private final RewriteMavenParser mavenParser;
-    private final MavenArtifactDownloader artifactDownloader;
     private final ApplicationEventPublisher eventPublisher;
     private final JavaProvenanceMarkerFactory javaProvenanceMarkerFactory;
     private final JavaParser javaParser;
     private final MavenConfigHandler mavenConfigHandler;
     private final ProjectMetadata projectMetadata;
     private final ExecutionContext executionContext;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private final ArtifactDownloadPipeline artifactDownloadPipeline;
+    private final AutowireCapableBeanFactory beanFactory;
+    private ExecutorService executorService;
 
     public List<SourceFile> parse(Path projectDirectory, List<Resource> resources) {
-        projectMetadata.setMetadata("some metadata");
-        MavenSettings mavenSettings = new MavenSettings(null, null, null, null, null);
-        projectMetadata.setMavenSettings(mavenSettings);
-        MavenExecutionContextView mavenExecutionContext = MavenExecutionContextView.view(executionContext);
-        mavenExecutionContext.setMavenSettings(mavenSettings);
-        Path localRepo = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
-        MavenExecutionContextView.view(executionContext).setLocalRepository(new MavenRepository("local", localRepo.toUri().toString(), null, null, false, null, null, null));
-        // default local repo provided by MavenExecutionContextView misses two '/' in the path
-        mavenConfigHandler.injectMavenConfigIntoSystemProperties(resources);
+        initializeMavenExecutionContext(resources);
 
         @Nullable BuildEnvironment buildEnvironment = null;
         GitProvenance gitProvenance = GitProvenance.fromProjectDirectory(projectDirectory, buildEnvironment);
 
-        List<Resource> filteredMavenPoms = filterMavenPoms(resources);
+        List<Resource> filteredMavenPoms = filterMavenPoms(projectDirectory, resources);
         List<Parser.Input> inputs = filteredMavenPoms.stream().map(r -> new Parser.Input(getPath(r), () -> {
             eventPublisher.publishEvent(new StartedScanningProjectResourceEvent(getPath(r)));
             InputStream is = getInputStream(r);
@@ -102,84 +106,14 @@ public class MavenProjectParser {
             }
         }
 
-        List<SourceFile> sourceFiles = new ArrayList<>();
-        for (Xml.Document pomXml : mavens) {
-            // Create markers for pom
-            List<Marker> javaProvenanceMarkers = javaProvenanceMarkerFactory.createJavaProvenanceMarkers(pomXml,
-                                                                                                         projectDirectory,
-                                                                                                         executionContext);
-            // Add markers to pom
-            Xml.Document mavenWithMarkers = addMarkers(pomXml, javaProvenanceMarkers);
-            // Add pom to sources
-            sourceFiles.add(mavenWithMarkers);
-
-            // download pom dependencies, provided scope contains compile scope
-            Path relativeModuleDir = mavenWithMarkers.getSourcePath().getParent();
-            Path mavenProjectDirectory = projectDirectory;
-            if (relativeModuleDir != null) {
-                mavenProjectDirectory = projectDirectory.resolve(relativeModuleDir);
+        List<SourceFile> sourceFiles;
+        if (sbmApplicationProperties.isParallelParsingEnabled() && mavens.size() > 1) {
+            sourceFiles = parseModulesInParallel(projectDirectory, resources, mavens, gitProvenance);
+        } else {
+            sourceFiles = new ArrayList<>();
+            for (Xml.Document pomXml : mavens) {
+                sourceFiles.addAll(parseModule(projectDirectory, resources, pomXml, gitProvenance, javaParser, executionContext));
             }
-
-            // --------
-            // Main Java sources
-            List<J.CompilationUnit> mainJavaSources = parseMainJavaSources(projectDirectory, resources,
-                                                                           executionContext, javaParser,
-                                                                           pomXml, mavenWithMarkers,
-                                                                           mavenProjectDirectory,
-                                                                           javaProvenanceMarkers);
-            JavaSourceSet mainSourceSet = javaParser.getSourceSet(executionContext);
-            sourceFiles.addAll(mainJavaSources);
-            // FIxME: cus already have sourceSetMarker, only provenance need to be added
-
-            // FIXME: ALL JavaParser should share the same TypeCache
-
-            //UnaryOperator<J.CompilationUnit> unaryOperator = addMarkers(mainSourceSet, javaProvenanceMarkers);
-            //sourceFiles.addAll(ListUtils.map(mainCompilationUnits, unaryOperator));
-
-            // --------
-            // Main resources
-            Set<Path> mainResourcePaths = Set.of(
-                    Path.of("src/main/resources"),
-                    Path.of("src/main/webapp"),
-                    Path.of("src/main/mule")
-            );
-
-            // FIXME: mainSourceSetMarker and provenance marker must be added to all resources
-            List<Resource> resourceList = resourceParser.filter(projectDirectory, mainResourcePaths, resources, relativeModuleDir);
-
-            List<Marker> resourceMarker = new ArrayList(javaProvenanceMarkers);
-            resourceMarker.add(mainSourceSet);
-            if(gitProvenance != null) {
-                resourceMarker.add(gitProvenance);
-            }
-            List<SourceFile> mainResources = resourceParser.parse(projectDirectory, resourceList, resourceMarker);
-            sourceFiles.addAll(mainResources);
-
-            // -------
-            // Test Java sources
-            ArrayList<Marker> markers = new ArrayList<>(javaProvenanceMarkers);
-            markers.add(mainSourceSet);
-            List<J.CompilationUnit> testJavaSources = parseTestJavaSources(projectDirectory, resources,
-                                                                           executionContext, javaParser, pomXml, mavenWithMarkers, mavenProjectDirectory, markers);
-            JavaSourceSet testSourceSet = javaParser.getSourceSet(executionContext);
-            sourceFiles.addAll(testJavaSources);
-
-            // --------
-            // Test resources
-            Set<Path> testResourcePaths = Set.of(
-                    Path.of("src/test/resources"),
-                    Path.of("src/test/webapp"),
-                    Path.of("src/test/mule")
-            );
-
-            List<Resource> filteredResources = resourceParser.filter(projectDirectory, testResourcePaths, resources, relativeModuleDir);
-            List<Marker> testResourceMarker = new ArrayList(javaProvenanceMarkers);
-            testResourceMarker.add(testSourceSet);
-            if(gitProvenance != null) {
-                testResourceMarker.add(gitProvenance);
-            }
-            List<SourceFile> testResources = resourceParser.parse(projectDirectory, filteredResources, testResourceMarker);
-            sourceFiles.addAll(testResources);
         }
         if(gitProvenance != null) {
             sourceFiles = ListUtils.map(sourceFiles, s -> s.withMarkers(s.getMarkers().addIfAbsent(gitProvenance)));
@@ -188,6 +122,191 @@ public class MavenProjectParser {
     }
 
 
+    /**
+     * Parse the given resources of a module that was parsed before, e.g. after they were changed on disk.
+     * The returned list does not contain the pom of the module.
+     */
+    public List<SourceFile> parseModuleResources(Path projectDirectory, Xml.Document pomXml, List<Resource> resources) {
+        GitProvenance gitProvenance = GitProvenance.fromProjectDirectory(projectDirectory, null);
+        List<SourceFile> parsedModule = parseModule(projectDirectory, resources, pomXml, gitProvenance, createJavaParser(), executionContext);
+        List<SourceFile> sourceFiles = new ArrayList<>(parsedModule.subList(1, parsedModule.size()));
+        if(gitProvenance != null) {
+            sourceFiles = ListUtils.map(sourceFiles, s -> s.withMarkers(s.getMarkers().addIfAbsent(gitProvenance)));
+        }
+        return sourceFiles;
+    }
+
+    /**
+     * Initialize Maven settings and local repository in the {@link ExecutionContext}.
+     * Must also be called when previously parsed source files are reused instead of parsing the project.
+     */
+    public void initializeMavenExecutionContext(List<Resource> resources) {
+        projectMetadata.setMetadata("some metadata");
+        MavenSettings mavenSettings = new MavenSettings(null, null, null, null, null);
+        projectMetadata.setMavenSettings(mavenSettings);
+        MavenExecutionContextView mavenExecutionContext = MavenExecutionContextView.view(executionContext);
+        mavenExecutionContext.setMavenSettings(mavenSettings);
+        Path localRepo = Path.of(System.getProperty("user.home")).resolve(".m2/repository");
+        MavenExecutionContextView.view(executionContext).setLocalRepository(new MavenRepository("local", localRepo.toUri().toString(), null, null, false, null, null, null));
+        // default local repo provided by MavenExecutionContextView misses two '/' in the path
+        mavenConfigHandler.injectMavenConfigIntoSystemProperties(resources);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+
+    /**
+     * Parse the given module, its Java sources and resources using the given {@link JavaParser} and {@link ExecutionContext}.
+     */
+    private List<SourceFile> parseModule(Path projectDirectory, List<Resource> resources, Xml.Document pomXml, @Nullable GitProvenance gitProvenance, JavaParser javaParser, ExecutionContext executionContext) {
+        List<SourceFile> sourceFiles = new ArrayList<>();
+        // Create markers for pom
+        List<Marker> javaProvenanceMarkers = javaProvenanceMarkerFactory.createJavaProvenanceMarkers(pomXml,
+                                                                                                     projectDirectory,
+                                                                                                     executionContext);
+        // Add markers to pom
+        Xml.Document mavenWithMarkers = addMarkers(pomXml, javaProvenanceMarkers);
+        // Add pom to sources
+        sourceFiles.add(mavenWithMarkers);
+
+        // download pom dependencies, provided scope contains compile scope
+        Path relativeModuleDir = mavenWithMarkers.getSourcePath().getParent();
+        Path mavenProjectDirectory = projectDirectory;
+        if (relativeModuleDir != null) {
+            mavenProjectDirectory = projectDirectory.resolve(relativeModuleDir);
+        }
+
+        // --------
+        // Main Java sources
+        List<J.CompilationUnit> mainJavaSources = parseMainJavaSources(projectDirectory, resources,
+                                                                       executionContext, javaParser,
+                                                                       pomXml, mavenWithMarkers,
+                                                                       mavenProjectDirectory,
+                                                                       javaProvenanceMarkers);
+        JavaSourceSet mainSourceSet = javaParser.getSourceSet(executionContext);
+        sourceFiles.addAll(mainJavaSources);
+        // FIxME: cus already have sourceSetMarker, only provenance need to be added
+
+        // FIXME: ALL JavaParser should share the same TypeCache
+
+        //UnaryOperator<J.CompilationUnit> unaryOperator = addMarkers(mainSourceSet, javaProvenanceMarkers);
+        //sourceFiles.addAll(ListUtils.map(mainCompilationUnits, unaryOperator));
+
+        // --------
+        // Main resources
+        Set<Path> mainResourcePaths = Set.of(
+                Path.of("src/main/resources"),
+                Path.of("src/main/webapp"),
+                Path.of("src/main/mule")
+        );
+
+        // FIXME: mainSourceSetMarker and provenance marker must be added to all resources
+        List<Resource> resourceList = resourceParser.filter(projectDirectory, mainResourcePaths, resources, relativeModuleDir);
+
+        List<Marker> resourceMarker = new ArrayList(javaProvenanceMarkers);
+        resourceMarker.add(mainSourceSet);
+        if(gitProvenance != null) {
+            resourceMarker.add(gitProvenance);
+        }
+        List<SourceFile> mainResources = resourceParser.parse(projectDirectory, resourceList, resourceMarker);
+        sourceFiles.addAll(mainResources);
+
+        // -------
+        // Test Java sources
+        ArrayList<Marker> markers = new ArrayList<>(javaProvenanceMarkers);
+        markers.add(mainSourceSet);
+        List<J.CompilationUnit> testJavaSources = parseTestJavaSources(projectDirectory, resources,
+                                                                       executionContext, javaParser, pomXml, mavenWithMarkers, mavenProjectDirectory, markers);
+        JavaSourceSet testSourceSet = javaParser.getSourceSet(executionContext);
+        sourceFiles.addAll(testJavaSources);
+
+        // --------
+        // Test resources
+        Set<Path> testResourcePaths = Set.of(
+                Path.of("src/test/resources"),
+                Path.of("src/test/webapp"),
+                Path.of("src/test/mule")
+        );
+
+        List<Resource> filteredResources = resourceParser.filter(projectDirectory, testResourcePaths, resources, relativeModuleDir);
+        List<Marker> testResourceMarker = new ArrayList(javaProvenanceMarkers);
+        testResourceMarker.add(testSourceSet);
+        if(gitProvenance != null) {
+            testResourceMarker.add(gitProvenance);
+        }
+        List<SourceFile> testResources = resourceParser.parse(projectDirectory, filteredResources, testResourceMarker);
+        sourceFiles.addAll(testResources);
+        return sourceFiles;
+    }
+
+    /**
+     * Parse modules concurrently on a bounded pool that is shared by all parses.
+     * A module is parsed when all modules it depends on were parsed, every module gets its own {@link JavaParser}
+     * and {@link ExecutionContext}.
+     * The returned list has the same order as when parsing the modules sequentially.
+     */
+    private List<SourceFile> parseModulesInParallel(Path projectDirectory, List<Resource> resources, List<Xml.Document> mavens, @Nullable GitProvenance gitProvenance) {
+        ExecutorService executorService = getExecutorService();
+        Map<Xml.Document, CompletableFuture<List<SourceFile>>> parsedModules = new HashMap<>();
+        try {
+            for (Xml.Document pomXml : mavens) {
+                scheduleModule(pomXml, mavens, parsedModules, executorService, projectDirectory, resources, gitProvenance);
+            }
+            List<SourceFile> sourceFiles = new ArrayList<>();
+            for (Xml.Document pomXml : mavens) {
+                sourceFiles.addAll(parsedModules.get(pomXml).join());
+            }
+            return sourceFiles;
+        } catch (CompletionException e) {
+            parsedModules.values().forEach(m -> m.cancel(true));
+            throw new ProjectParserException("Could not parse modules in parallel.", e);
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(Math.max(1, sbmApplicationProperties.getParallelParsingThreads()));
+        }
+        return executorService;
+    }
+
+    /**
+     * Create a new {@link RewriteJavaParser} through the container, independent of the one in the scan scope.
+     */
+    private JavaParser createJavaParser() {
+        return beanFactory.createBean(RewriteJavaParser.class);
+    }
+
+    /**
+     * Create an {@link ExecutionContext} for one module with the Maven configuration of the shared one.
+     */
+    private ExecutionContext createModuleExecutionContext() {
+        return RewriteExecutionContext.withMavenConfigurationOf(executionContext);
+    }
+
+    private CompletableFuture<List<SourceFile>> scheduleModule(Xml.Document pomXml, List<Xml.Document> mavens, Map<Xml.Document, CompletableFuture<List<SourceFile>>> parsedModules, ExecutorService executorService, Path projectDirectory, List<Resource> resources, @Nullable GitProvenance gitProvenance) {
+        CompletableFuture<List<SourceFile>> scheduled = parsedModules.get(pomXml);
+        if (scheduled != null) {
+            return scheduled;
+        }
+        CompletableFuture<?>[] upstreamModules = findUpstreamModules(pomXml, mavens)
+                .stream()
+                .filter(upstream -> upstream != pomXml)
+                .map(upstream -> scheduleModule(upstream, mavens, parsedModules, executorService, projectDirectory, resources, gitProvenance))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture<List<SourceFile>> module = CompletableFuture
+                .allOf(upstreamModules)
+                .thenApplyAsync(v -> parseModule(projectDirectory, resources, pomXml, gitProvenance, createJavaParser(), createModuleExecutionContext()), executorService);
+        parsedModules.put(pomXml, module);
+        return module;
+    }
+
+
     private List<J.CompilationUnit> parseTestJavaSources(Path projectDirectory, List<Resource> resources, ExecutionContext ctx, JavaParser javaParser, Xml.Document pomXml, Xml.Document mavenWithMarkers, Path mavenProjectDirectory, List<Marker> javaProvenanceMarkers) {
         MavenResolutionResult mavenResolution = MavenBuildFileUtil.getMavenResolution(mavenWithMarkers);
         List<ResolvedDependency> resolvedDependencies = mavenResolution.getDependencies().get(Scope.Test);
@@ -238,13 +357,30 @@ public class MavenProjectParser {
     }
 
 
-    public static List<Resource> filterMavenPoms(List<Resource> resources) {
+    public static List<Resource> filterMavenPoms(Path projectDirectory, List<Resource> resources) {
         return resources
                 .stream()
-                .filter(p -> getPath(p).getFileName().toString().equals("pom.xml") && !p.toString().contains("/src/"))
+                .filter(p -> isMavenPom(projectDirectory, getPath(p)))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * A {@code pom.xml} is a build file unless it is located in a {@code src} directory of the project, e.g. as test resource.
+     */
+    static boolean isMavenPom(Path projectDirectory, Path file) {
+        if (!file.getFileName().toString().equals("pom.xml")) {
+            return false;
+        }
+        Path projectRoot = projectDirectory.toAbsolutePath().normalize();
+        Path relativePath = file.startsWith(projectRoot) ? projectRoot.relativize(file) : file;
+        for (Path segment : relativePath) {
+            if (segment.toString().equals("src")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public List<Resource> getJavaSources(Path projectDir, List<Resource> resources, Xml.Document maven) {
 
         Path inPath = projectDir.resolve(maven.getSourcePath()).getParent().resolve(Paths.get("src", "main", "java"));
@@ -275,14 +411,12 @@ public class MavenProjectParser {
         eventPublisher.publishEvent(new StartDownloadingDependenciesEvent(dependencies.size()));
 
 
-        List<Path> paths = dependencies
+        List<ResolvedDependency> externalDependencies = dependencies
                 .stream()
                 .filter(d -> d.getRepository() != null)
                 .peek(d -> eventPublisher.publishEvent(new StartDownloadingDependencyEvent(d.getRequested())))
-//                .parallel()
-                .map(artifactDownloader::downloadArtifact)
-                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        List<Path> paths = artifactDownloadPipeline.downloadArtifacts(externalDependencies);
 
         eventPublisher.publishEvent(new FinishedDownloadingDependencies());
 
@@ -294,28 +428,9 @@ public class MavenProjectParser {
         Map<Xml.Document, Set<Xml.Document>> byDependedOn = new HashMap<>();
 
         for (Xml.Document maven : mavens) {
-            MavenResolutionResult mavenResolution = MavenBuildFileUtil.findMavenResolution(maven).get();
             byDependedOn.computeIfAbsent(maven, m -> new HashSet<>());
 
-            Set<Dependency> dependencies = mavenResolution
-                    .getDependencies()
-                    .values()
-                    .stream()
-                    .flatMap(d -> d.stream())
-                    .map(d -> d.getRequested())
-                    .collect(Collectors.toSet());
-
-            for (Dependency dependency : dependencies) {
-                for (Xml.Document test : mavens) {
-                    MavenResolutionResult testMavenResolution = MavenBuildFileUtil.findMavenResolution(test).get();
-                    if (testMavenResolution.getPom().getGroupId().equals(dependency.getGroupId()) && testMavenResolution
-                            .getPom()
-                            .getArtifactId()
-                            .equals(dependency.getArtifactId())) {
-                        byDependedOn.computeIfAbsent(maven, m -> new HashSet<>()).add(test);
-                    }
-                }
-            }
+            byDependedOn.get(maven).addAll(findUpstreamModules(maven, mavens));
         }
 
         List<Xml.Document> sorted = new ArrayList<>(mavens.size());
@@ -341,6 +456,34 @@ public class MavenProjectParser {
         return sorted;
     }
 
+    /**
+     * Find the modules in {@code mavens} that {@code maven} declares a dependency to.
+     */
+    private static Set<Xml.Document> findUpstreamModules(Xml.Document maven, List<Xml.Document> mavens) {
+        MavenResolutionResult mavenResolution = MavenBuildFileUtil.findMavenResolution(maven).get();
+        Set<Dependency> dependencies = mavenResolution
+                .getDependencies()
+                .values()
+                .stream()
+                .flatMap(d -> d.stream())
+                .map(d -> d.getRequested())
+                .collect(Collectors.toSet());
+
+        Set<Xml.Document> upstreamModules = new HashSet<>();
+        for (Dependency dependency : dependencies) {
+            for (Xml.Document test : mavens) {
+                MavenResolutionResult testMavenResolution = MavenBuildFileUtil.findMavenResolution(test).get();
+                if (testMavenResolution.getPom().getGroupId().equals(dependency.getGroupId()) && testMavenResolution
+                        .getPom()
+                        .getArtifactId()
+                        .equals(dependency.getArtifactId())) {
+                    upstreamModules.add(test);
+                }
+            }
+        }
+        return upstreamModules;
+    }
+
     private static Path getPath(Resource r) {
         try {
             return r.getFile().toPath();
@@ -16,6 +16,7 @@
 package org.springframework.sbm.project.parser;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.sbm.common.util.OsAgnosticPathMatcher;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
@@ -26,6 +27,7 @@ import org.springframework.util.PathMatcher;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -46,12 +48,33 @@ public class PathScanner {
 				.collect(Collectors.toList());
 	}
 
+	/**
+	 * Returns the relevant resources for the given files, files that do not exist are ignored.
+	 */
+	public List<Resource> scan(Path projectRoot, Collection<Path> files) {
+		return files.stream()
+				.map(f -> f.toAbsolutePath().normalize())
+				.filter(f -> f.startsWith(projectRoot.toAbsolutePath().normalize()))
+				.filter(f -> f.toFile().exists())
+				.filter(f -> this.isRelevant(projectRoot, f))
+				.sorted()
+				.map(FileSystemResource::new)
+				.collect(Collectors.toList());
+	}
+
 	private boolean isRelevant(Path projectRoot, Path givenResource) {
 		if (givenResource.toFile().isDirectory()) {
 			return false;
 		}
+		return !isIgnored(projectRoot, givenResource);
+	}
+
+	/**
+	 * Checks if the given file or directory matches one of the {@code sbm.ignoredPathsPatterns}.
+	 */
+	public boolean isIgnored(Path projectRoot, Path path) {
 		return sbmApplicationProperties.getIgnoredPathsPatterns().stream()
-				.noneMatch(ir -> pathMatcher.match(ir, projectRoot.relativize(givenResource).toString()));
+				.anyMatch(ir -> pathMatcher.match(ir, projectRoot.relativize(path).toString()));
 	}
 
 	private Path getPath(Resource r) {
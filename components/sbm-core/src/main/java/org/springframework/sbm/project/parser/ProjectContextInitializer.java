@@ -22,11 +22,15 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextFactory;
 import org.springframework.sbm.engine.git.Commit;
 import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.engine.git.ProjectFingerprint;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
 import org.springframework.sbm.project.RewriteSourceFileWrapper;
 import org.springframework.sbm.project.resource.ProjectResourceSet;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -44,22 +48,55 @@ public class ProjectContextInitializer {
 
     private final RewriteSourceFileWrapper rewriteSourceFileWrapper;
 
+    private final LstSnapshotCache lstSnapshotCache;
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+
+    private final PathScanner pathScanner;
+
     public ProjectContext initProjectContext(Path projectDir, List<Resource> resources) {
         final Path absoluteProjectDir = projectDir.toAbsolutePath().normalize();
         // TODO: remove git initialization, handled by precondition check
         initializeGitRepoIfNoneExists(absoluteProjectDir);
+        ProjectFingerprint fingerprint = takeFingerprint(absoluteProjectDir, resources);
 
-        List<SourceFile> parsedResources = mavenProjectParser.parse(absoluteProjectDir, resources);
+        Optional<Path> snapshotFile = lstSnapshotCache.getSnapshotFile(absoluteProjectDir, resources);
+        Optional<List<SourceFile>> snapshot = snapshotFile.flatMap(lstSnapshotCache::load);
+        List<SourceFile> parsedResources;
+        if (snapshot.isPresent()) {
+            mavenProjectParser.initializeMavenExecutionContext(resources);
+            parsedResources = snapshot.get();
+        } else {
+            parsedResources = mavenProjectParser.parse(absoluteProjectDir, resources);
+        }
         List<RewriteSourceFileHolder<? extends SourceFile>> rewriteSourceFileHolders = rewriteSourceFileWrapper.wrapRewriteSourceFiles(absoluteProjectDir, parsedResources);
 
         ProjectResourceSet projectResourceSet = new ProjectResourceSet(rewriteSourceFileHolders);
         ProjectContext projectContext = projectContextFactory.createProjectContext(projectDir, projectResourceSet);
+        if (snapshot.isEmpty()) {
+            // the classpath is known once the ClasspathRegistry was initialized with the build files
+            snapshotFile.ifPresent(f -> lstSnapshotCache.store(f, parsedResources, ClasspathRegistry.getInstance().getInitialDependencies()));
+        }
 
         storeGitCommitHash(projectDir, projectContext);
+        projectContext.setFingerprint(fingerprint);
 
         return projectContext;
     }
 
+    /**
+     * Taken before parsing, so files changed while parsing don't match the fingerprint.
+     */
+    private ProjectFingerprint takeFingerprint(Path projectDir, List<Resource> resources) {
+        if (!sbmApplicationProperties.isFingerprintSyncCheckEnabled()) {
+            return null;
+        }
+        List<Path> files = resources.stream()
+                .map(ProjectContextInitializer::getPath)
+                .collect(Collectors.toList());
+        return ProjectFingerprint.of(projectDir, files, sbmApplicationProperties.isFingerprintContentHashEnabled(), dir -> pathScanner.isIgnored(projectDir, dir));
+    }
+
     public void storeGitCommitHash(Path projectDir, ProjectContext projectContext) {
         if (gitSupport.repoExists(projectDir.toFile())) {
             Optional<Commit> latestCommit = gitSupport.getLatestCommit(projectDir.toFile());
@@ -77,4 +114,11 @@ public class ProjectContextInitializer {
         }
     }
 
+    private static Path getPath(Resource r) {
+        try {
+            return r.getFile().toPath().toAbsolutePath().normalize();
+        } catch (IOException e) {
+            throw new ProjectParserException(String.format("Error retrieving path for Resource '%s'", r), e);
+        }
+    }
 }
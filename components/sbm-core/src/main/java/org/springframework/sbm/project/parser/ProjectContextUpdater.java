@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.openrewrite.SourceFile;
+import org.openrewrite.xml.tree.Xml;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.build.api.BuildFile;
+import org.springframework.sbm.build.filter.BuildFileProjectResourceFilter;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
+import org.springframework.sbm.build.impl.MavenBuildFileUtil;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.git.Commit;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.java.impl.ClasspathRegistry;
+import org.springframework.sbm.project.RewriteSourceFileWrapper;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.ProjectResourceWrapper;
+import org.springframework.sbm.project.resource.ProjectResourceWrapperRegistry;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Updates the {@link ProjectResourceSet} of a {@link ProjectContext} with the files changed on disk.
+ *
+ * Added and modified files are parsed again and deleted files are removed, all other resources are kept.
+ * When a pom changed all poms are parsed again and all sources of the modules below the changed pom are reparsed
+ * as their classpath might have changed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectContextUpdater {
+
+    private final PathScanner pathScanner;
+    private final MavenProjectParser mavenProjectParser;
+    private final RewriteSourceFileWrapper rewriteSourceFileWrapper;
+    private final ProjectResourceWrapperRegistry resourceWrapperRegistry;
+    private final GitSupport gitSupport;
+    private final ArtifactDownloadPipeline artifactDownloadPipeline;
+
+    /**
+     * @param changedFiles absolute paths of added, modified and deleted files
+     */
+    public void updateProjectContext(ProjectContext projectContext, Set<Path> changedFiles) {
+        Path projectRoot = projectContext.getProjectRootDirectory().toAbsolutePath().normalize();
+        Set<Path> changedFilesInProject = changedFiles.stream()
+                .map(Path::normalize)
+                .filter(p -> p.startsWith(projectRoot))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        if (!changedFilesInProject.isEmpty()) {
+            ProjectResourceSet projectResourceSet = projectContext.getProjectResources();
+            if (changedFilesInProject.stream().anyMatch(p -> MavenProjectParser.isMavenPom(projectRoot, p))) {
+                updateWithChangedPoms(projectRoot, projectResourceSet, changedFilesInProject);
+            } else {
+                updateChangedFiles(projectRoot, projectResourceSet, changedFilesInProject);
+            }
+            log.debug("Updated project context with {} changed files.", changedFilesInProject.size());
+        }
+
+        if (gitSupport.repoExists(projectRoot.toFile())) {
+            gitSupport.getLatestCommit(projectRoot.toFile())
+                    .map(Commit::getHash)
+                    .ifPresent(projectContext::setRevision);
+        }
+    }
+
+    /**
+     * No pom changed, parse the changed files with the already resolved poms of their modules.
+     * Files in no module are not parsed, like in a full scan, and logged.
+     */
+    private void updateChangedFiles(Path projectRoot, ProjectResourceSet projectResourceSet, Set<Path> changedFiles) {
+        List<Xml.Document> poms = projectResourceSet.stream()
+                .map(RewriteSourceFileHolder::getSourceFile)
+                .filter(Xml.Document.class::isInstance)
+                .map(Xml.Document.class::cast)
+                .filter(d -> MavenBuildFileUtil.findMavenResolution(d).isPresent())
+                .collect(Collectors.toList());
+
+        Map<Xml.Document, List<Resource>> resourcesByModule = new LinkedHashMap<>();
+        List<Path> filesInNoModule = new ArrayList<>();
+        for (Resource resource : pathScanner.scan(projectRoot, changedFiles)) {
+            Path path = getPath(resource);
+            findModule(projectRoot, poms, path).ifPresentOrElse(
+                    pom -> resourcesByModule.computeIfAbsent(pom, p -> new ArrayList<>()).add(resource),
+                    () -> filesInNoModule.add(path));
+        }
+        if (!filesInNoModule.isEmpty()) {
+            log.info("Ignoring {} changed files not belonging to any module: {}", filesInNoModule.size(), filesInNoModule);
+        }
+
+        List<SourceFile> parsedSourceFiles = new ArrayList<>();
+        resourcesByModule.forEach((pom, resources) -> parsedSourceFiles.addAll(mavenProjectParser.parseModuleResources(projectRoot, pom, resources)));
+
+        merge(projectRoot, projectResourceSet, parsedSourceFiles, changedFiles);
+    }
+
+    /**
+     * Parse all poms again together with all resources of the modules below changed poms and the other changed files.
+     */
+    private void updateWithChangedPoms(Path projectRoot, ProjectResourceSet projectResourceSet, Set<Path> changedFiles) {
+        Set<Path> changedModuleDirs = changedFiles.stream()
+                .filter(p -> MavenProjectParser.isMavenPom(projectRoot, p))
+                .map(Path::getParent)
+                .collect(Collectors.toSet());
+
+        List<Resource> resources = pathScanner.scan(projectRoot).stream()
+                .filter(r -> {
+                    Path path = getPath(r);
+                    return MavenProjectParser.isMavenPom(projectRoot, path) || changedFiles.contains(path) || isInModules(path, changedModuleDirs) || path.startsWith(projectRoot.resolve(".mvn"));
+                })
+                .collect(Collectors.toList());
+
+        List<SourceFile> parsedSourceFiles = mavenProjectParser.parse(projectRoot, resources);
+
+        Set<Path> invalidatedFiles = new HashSet<>(changedFiles);
+        projectResourceSet.streamIncludingDeleted()
+                .map(RewriteSourceFileHolder::getAbsolutePath)
+                .filter(p -> MavenProjectParser.isMavenPom(projectRoot, p) || isInModules(p, changedModuleDirs))
+                .forEach(invalidatedFiles::add);
+
+        merge(projectRoot, projectResourceSet, parsedSourceFiles, invalidatedFiles);
+
+        List<BuildFile> buildFiles = new BuildFileProjectResourceFilter().apply(projectResourceSet);
+        ClasspathRegistry.initializeFromBuildFiles(buildFiles, artifactDownloadPipeline);
+    }
+
+    /**
+     * Replace or add the parsed source files and remove the invalidated files that were not parsed again.
+     */
+    private void merge(Path projectRoot, ProjectResourceSet projectResourceSet, List<SourceFile> parsedSourceFiles, Set<Path> invalidatedFiles) {
+        Set<Path> parsedFiles = new HashSet<>();
+        for (RewriteSourceFileHolder<? extends SourceFile> holder : rewriteSourceFileWrapper.wrapRewriteSourceFiles(projectRoot, parsedSourceFiles)) {
+            RewriteSourceFileHolder<? extends SourceFile> wrapped = wrap(holder);
+            Path path = wrapped.getAbsolutePath();
+            parsedFiles.add(path);
+            if (projectResourceSet.indexOf(path) > -1) {
+                projectResourceSet.replace(path, wrapped);
+            } else {
+                projectResourceSet.add(wrapped);
+            }
+        }
+        projectResourceSet.removeAll(invalidatedFiles.stream()
+                .filter(p -> !parsedFiles.contains(p))
+                .collect(Collectors.toList()));
+    }
+
+    private RewriteSourceFileHolder<? extends SourceFile> wrap(RewriteSourceFileHolder<? extends SourceFile> holder) {
+        Optional<ProjectResourceWrapper> wrapper = resourceWrapperRegistry.findWrapper(holder);
+        if (wrapper.isPresent()) {
+            return wrapper.get().wrapRewriteSourceFileHolder(holder);
+        }
+        return holder;
+    }
+
+    /**
+     * The module of a file is the module with the longest path containing it.
+     */
+    private Optional<Xml.Document> findModule(Path projectRoot, List<Xml.Document> poms, Path file) {
+        return poms.stream()
+                .filter(pom -> file.startsWith(getModuleDir(projectRoot, pom)))
+                .max(Comparator.comparingInt(pom -> getModuleDir(projectRoot, pom).getNameCount()));
+    }
+
+    private Path getModuleDir(Path projectRoot, Xml.Document pom) {
+        return projectRoot.resolve(pom.getSourcePath()).normalize().getParent();
+    }
+
+    private static boolean isInModules(Path file, Set<Path> moduleDirs) {
+        return moduleDirs.stream().anyMatch(file::startsWith);
+    }
+
+    private static Path getPath(Resource r) {
+        try {
+            return r.getFile().toPath().toAbsolutePath().normalize();
+        } catch (IOException e) {
+            throw new ProjectParserException(String.format("Error retrieving path for Resource '%s'", r), e);
+        }
+    }
+}
@@ -17,14 +17,26 @@ package org.springframework.sbm.project.resource;
 
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
 
 @Component
 public class ProjectResourceSerializer {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     public void writeChanges(InternalProjectResource projectResource) {
 
         if (projectResource != null && projectResource.hasChanges()) {
@@ -46,9 +58,8 @@ public class ProjectResourceSerializer {
                     throw new RuntimeException(e);
                 }
 
-                try (BufferedWriter sourceFileWriter = Files.newBufferedWriter(absolutePath)) {
-                    String newSource = projectResource.print();
-                    sourceFileWriter.write(newSource);
+                try {
+                    write(absolutePath, projectResource.print());
                     projectResource.resetHasChanges();
                 } catch (IOException ioe) {
                     throw new RuntimeException("Can't write back changes in [" + absolutePath + "]", ioe);
@@ -57,4 +68,57 @@ public class ProjectResourceSerializer {
 
         }
     }
+
+    /**
+     * Writes {@code content} to a temporary file next to {@code target} and renames it to {@code target}, so
+     * {@code target} never contains partially written content. Symbolic links are followed like before.
+     * The content is encoded in chunks straight into the file channel, without creating a byte array of the whole file.
+     */
+    private void write(Path target, String content) throws IOException {
+        if (Files.isSymbolicLink(target)) {
+            target = target.toRealPath();
+        }
+        Path tempFile = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                encode(content, channel);
+            }
+            if (Files.exists(target) && FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(target));
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void encode(String content, FileChannel channel) throws IOException {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        CharBuffer chars = CharBuffer.wrap(content);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            writeFully(bytes, channel);
+        } while (result.isOverflow());
+        do {
+            result = encoder.flush(bytes);
+            writeFully(bytes, channel);
+        } while (result.isOverflow());
+    }
+
+    private void writeFully(ByteBuffer bytes, FileChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
 }
@@ -18,22 +18,44 @@ package org.springframework.sbm.project.resource;
 import org.openrewrite.SourceFile;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+/**
+ * The resources of a project.
+ *
+ * A resource is owned by the first set it is added to and notifies this set about its changes.
+ * Other sets containing the same resources, like the module views created by
+ * {@link org.springframework.sbm.build.api.Module#search(ProjectResourceFinder)}, are not notified and must not
+ * outlive the search they were created for.
+ */
 // TODO: make package private
 public class ProjectResourceSet {
 
     private final List<RewriteSourceFileHolder<? extends SourceFile>> projectResources = new ArrayList<>();
 
+    /**
+     * Secondary indexes for lookups by absolute path, by {@code SourceFile} id and by {@code SourceFile} type.
+     * They are updated with every change through this class and by the resources owned by this set when they are
+     * moved or change their id or type, see {@link RewriteSourceFileHolder#setOwner(ProjectResourceSet)}.
+     * Read methods never modify them.
+     */
+    private final Map<RewriteSourceFileHolder<? extends SourceFile>, Integer> positions = new IdentityHashMap<>();
+    private final Map<Path, List<RewriteSourceFileHolder<? extends SourceFile>>> byAbsolutePath = new HashMap<>();
+    private final Map<UUID, List<RewriteSourceFileHolder<? extends SourceFile>>> byId = new HashMap<>();
+    private final Map<Class<? extends SourceFile>, List<RewriteSourceFileHolder<? extends SourceFile>>> byType = new HashMap<>();
+    private final AtomicLong modificationCount = new AtomicLong();
+    private volatile boolean readOnly;
+
     public ProjectResourceSet(List<RewriteSourceFileHolder<? extends SourceFile>> projectResources) {
         this.projectResources.addAll(projectResources);
+        reindex();
     }
 
     public ProjectResourceSet() {
+        reindex();
     }
 
     public List<RewriteSourceFileHolder<? extends SourceFile>> list() {
@@ -49,16 +71,50 @@ public class ProjectResourceSet {
     }
 
     public void add(RewriteSourceFileHolder<? extends SourceFile> newResource) {
+        verifyWritable();
         projectResources.add(newResource);
+        index(newResource, projectResources.size() - 1);
+        modificationCount.incrementAndGet();
     }
 
     public void replace(int index, RewriteSourceFileHolder<? extends SourceFile> newResource) {
+        verifyWritable();
+        RewriteSourceFileHolder<? extends SourceFile> oldResource = projectResources.get(index);
+        unindex(oldResource);
+        release(oldResource);
         projectResources.set(index, newResource);
+        index(newResource, index);
+        modificationCount.incrementAndGet();
     }
 
     public void replace(Path path, RewriteSourceFileHolder<? extends SourceFile> newResource) {
         int index = indexOf(path);
-        projectResources.set(index, newResource);
+        replace(index, newResource);
+    }
+
+    public void remove(Path absolutePath) {
+        verifyWritable();
+        int index = indexOf(absolutePath);
+        if (index > -1) {
+            release(projectResources.remove(index));
+            reindex();
+            modificationCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes the resources with given absolute paths and updates the indexes once.
+     */
+    public void removeAll(Collection<Path> absolutePaths) {
+        verifyWritable();
+        Set<RewriteSourceFileHolder<? extends SourceFile>> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        absolutePaths.forEach(p -> first(byAbsolutePath.get(p), false).ifPresent(removed::add));
+        if (!removed.isEmpty()) {
+            projectResources.removeIf(removed::contains);
+            removed.forEach(this::release);
+            reindex();
+            modificationCount.incrementAndGet();
+        }
     }
 
     public int size() {
@@ -75,18 +131,163 @@ public class ProjectResourceSet {
 //    }
 
     public int indexOf(Path absolutePath) {
-        return projectResources.stream()
-                .map(ProjectResource::getAbsolutePath)
-                .collect(Collectors.toList())
-                .indexOf(absolutePath);
+        return first(byAbsolutePath.get(absolutePath), false)
+                .map(positions::get)
+                .orElse(-1);
+    }
+
+    /**
+     * Find the (not deleted) resource with given absolute path.
+     */
+    public Optional<RewriteSourceFileHolder<? extends SourceFile>> findByAbsolutePath(Path absolutePath) {
+        return first(byAbsolutePath.get(absolutePath), true);
+    }
+
+    /**
+     * Find the (not deleted) resource holding the {@code SourceFile} with given id.
+     */
+    public Optional<RewriteSourceFileHolder<? extends SourceFile>> findById(UUID id) {
+        return first(byId.get(id), true);
+    }
+
+    /**
+     * Stream the (not deleted) resources holding a {@code SourceFile} of given type in the order of this set.
+     */
+    public <T extends SourceFile> Stream<RewriteSourceFileHolder<T>> streamByType(Class<T> type) {
+        return byType.entrySet().stream()
+                .filter(e -> type.isAssignableFrom(e.getKey()))
+                .flatMap(e -> e.getValue().stream())
+                .filter(r -> !r.isDeleted())
+                .sorted(Comparator.comparingInt(positions::get))
+                .map(r -> (RewriteSourceFileHolder<T>) r);
     }
 
     void clearDeletedResources() {
+        verifyWritable();
         Iterator<RewriteSourceFileHolder<? extends SourceFile>> iterator = this.projectResources.iterator();
         while(iterator.hasNext()) {
             RewriteSourceFileHolder<? extends SourceFile> current = iterator.next();
             if(current.isDeleted()) {
                 iterator.remove();
+                release(current);
+            }
+        }
+        reindex();
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Runs {@code reads} while this set and the resources it owns reject all changes, e.g. while conditions are
+     * evaluated concurrently.
+     */
+    public <T> T readOnly(Supplier<T> reads) {
+        boolean wasReadOnly = readOnly;
+        readOnly = true;
+        try {
+            return reads.get();
+        } finally {
+            readOnly = wasReadOnly;
+        }
+    }
+
+    /**
+     * Returns a number that changes whenever a resource is added, replaced, removed, moved or deleted,
+     * or the source file of a resource owned by this set is replaced.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Called by an owned {@code resource} before it changes, the indexed properties are its path, id and type.
+     */
+    void beforeResourceChange(RewriteSourceFileHolder<? extends SourceFile> resource, boolean indexedPropertiesChange) {
+        verifyWritable();
+        if (indexedPropertiesChange) {
+            unindexProperties(resource);
+        }
+    }
+
+    /**
+     * Called by an owned {@code resource} after it changed.
+     */
+    void afterResourceChange(RewriteSourceFileHolder<? extends SourceFile> resource, boolean indexedPropertiesChange) {
+        if (indexedPropertiesChange && positions.containsKey(resource)) {
+            indexProperties(resource);
+        }
+        modificationCount.incrementAndGet();
+    }
+
+    private void verifyWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("ProjectResourceSet must not be changed while it is read-only.");
+        }
+    }
+
+    private void release(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        if (resource != null) {
+            resource.releaseOwner(this);
+        }
+    }
+
+    private Optional<RewriteSourceFileHolder<? extends SourceFile>> first(List<RewriteSourceFileHolder<? extends SourceFile>> candidates, boolean excludeDeleted) {
+        if (candidates == null) {
+            return Optional.empty();
+        }
+        return candidates.stream()
+                .filter(r -> !excludeDeleted || !r.isDeleted())
+                .min(Comparator.comparingInt(positions::get));
+    }
+
+    private void reindex() {
+        positions.clear();
+        byAbsolutePath.clear();
+        byId.clear();
+        byType.clear();
+        for (int i = 0; i < projectResources.size(); i++) {
+            index(projectResources.get(i), i);
+        }
+    }
+
+    private void index(RewriteSourceFileHolder<? extends SourceFile> resource, int position) {
+        if (resource == null) {
+            return;
+        }
+        resource.setOwner(this);
+        positions.put(resource, position);
+        indexProperties(resource);
+    }
+
+    private void indexProperties(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        addToIndex(byAbsolutePath, resource.getAbsolutePath(), resource);
+        addToIndex(byId, resource.getId(), resource);
+        addToIndex(byType, resource.getType(), resource);
+    }
+
+    private void unindex(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        if (resource == null || !positions.containsKey(resource)) {
+            return;
+        }
+        positions.remove(resource);
+        unindexProperties(resource);
+    }
+
+    private void unindexProperties(RewriteSourceFileHolder<? extends SourceFile> resource) {
+        removeFromIndex(byAbsolutePath, resource.getAbsolutePath(), resource);
+        removeFromIndex(byId, resource.getId(), resource);
+        removeFromIndex(byType, resource.getType(), resource);
+    }
+
+    private <K> void addToIndex(Map<K, List<RewriteSourceFileHolder<? extends SourceFile>>> index, K key, RewriteSourceFileHolder<? extends SourceFile> resource) {
+        index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(resource);
+    }
+
+    private <K> void removeFromIndex(Map<K, List<RewriteSourceFileHolder<? extends SourceFile>>> index, K key, RewriteSourceFileHolder<? extends SourceFile> resource) {
+        List<RewriteSourceFileHolder<? extends SourceFile>> resources = index.get(key);
+        if (resources != null) {
+            resources.removeIf(r -> r == resource);
+            if (resources.isEmpty()) {
+                index.remove(key);
             }
         }
     }
@@ -15,6 +15,7 @@
  */
 package org.springframework.sbm.project.resource;
 
+import org.springframework.sbm.java.impl.TypeHierarchyIndex;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -22,11 +23,20 @@ import java.util.ArrayList;
 @Component
 public class ProjectResourceSetHolder {
     private ProjectResourceSet projectResourceSet;
+    private TypeHierarchyIndex typeHierarchyIndex;
     public void setProjectResourceSet(ProjectResourceSet projectResourceSet) {
         this.projectResourceSet = projectResourceSet;
+        this.typeHierarchyIndex = new TypeHierarchyIndex(projectResourceSet);
     }
 
     public ProjectResourceSet getProjectResourceSet() {
         return projectResourceSet == null ? new ProjectResourceSet(new ArrayList<>()) : projectResourceSet;
     }
+
+    /**
+     * The {@link TypeHierarchyIndex} of the current {@code ProjectResourceSet}, shared by the refactorings created for it.
+     */
+    public TypeHierarchyIndex getTypeHierarchyIndex() {
+        return typeHierarchyIndex == null ? new TypeHierarchyIndex(getProjectResourceSet()) : typeHierarchyIndex;
+    }
 }
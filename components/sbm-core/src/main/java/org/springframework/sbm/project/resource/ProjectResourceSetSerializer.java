@@ -16,17 +16,77 @@
 package org.springframework.sbm.project.resource;
 
 import lombok.RequiredArgsConstructor;
+import org.openrewrite.SourceFile;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
 @Component
 @RequiredArgsConstructor
-public class ProjectResourceSetSerializer {
+public class ProjectResourceSetSerializer implements DisposableBean {
 
     private final ProjectResourceSerializer resourceSerializer;
+    private final SbmApplicationProperties sbmApplicationProperties;
+    private ExecutorService executorService;
 
+    /**
+     * Deletes the files of deleted resources and writes the changed resources back.
+     *
+     * With {@code sbm.parallelWriteBackEnabled} the changed resources are printed and written concurrently on
+     * {@code sbm.parallelWriteBackThreads} threads, files of deleted resources are always deleted before.
+     */
     public void writeChanges(ProjectResourceSet projectResourceSet) {
-        projectResourceSet.streamIncludingDeleted()
+        List<RewriteSourceFileHolder<? extends SourceFile>> resources = projectResourceSet.streamIncludingDeleted()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        resources.stream()
+                .filter(RewriteSourceFileHolder::isDeleted)
                 .forEach(resourceSerializer::writeChanges);
+        List<RewriteSourceFileHolder<? extends SourceFile>> remaining = resources.stream()
+                .filter(r -> !r.isDeleted())
+                .collect(Collectors.toList());
+        if (sbmApplicationProperties.isParallelWriteBackEnabled() && remaining.size() > 1) {
+            writeChangesConcurrently(remaining);
+        } else {
+            remaining.forEach(resourceSerializer::writeChanges);
+        }
         projectResourceSet.clearDeletedResources();
     }
+
+    private void writeChangesConcurrently(List<RewriteSourceFileHolder<? extends SourceFile>> resources) {
+        ExecutorService executorService = getExecutorService();
+        try {
+            List<CompletableFuture<Void>> writes = resources.stream()
+                    .map(r -> CompletableFuture.runAsync(() -> resourceSerializer.writeChanges(r), executorService))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(Math.max(1, sbmApplicationProperties.getParallelWriteBackThreads()));
+        }
+        return executorService;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
 }
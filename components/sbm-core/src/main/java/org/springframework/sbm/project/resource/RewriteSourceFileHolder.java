@@ -19,15 +19,37 @@ import lombok.Getter;
 import org.openrewrite.SourceFile;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
 
 public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectResource implements InternalProjectResource {
 
     private T sourceFile;
+
+    /**
+     * The {@link ProjectResourceSet} this resource was first added to, notified about all changes.
+     */
+    private ProjectResourceSet owner;
+
     @Getter
     final private Path absoluteProjectDir;
 
+    /**
+     * The source file when this holder was created or its changes were last written, kept until its content hash
+     * was computed by the first {@link #hasChanges()} after a replacement.
+     */
+    private T unchangedSourceFile;
+    private byte[] unchangedContentHash;
+    private boolean replacedSinceLastCheck;
+
+    /**
+     * Hash of the current source file, computed on demand and discarded when the source file is replaced.
+     */
+    private byte[] contentHash;
+
     /**
      * @param absoluteProjectDir the absolute path to project root
      * @param sourceFile         the OpenRewrite {@code SourceFile}
@@ -35,6 +57,7 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
     public RewriteSourceFileHolder(Path absoluteProjectDir, T sourceFile) {
         this.absoluteProjectDir = absoluteProjectDir;
         this.sourceFile = sourceFile;
+        this.unchangedSourceFile = sourceFile;
         if (!this.absoluteProjectDir.isAbsolute()) {
             throw new IllegalArgumentException(String.format("Given projectDir '%s' is not absolute.", absoluteProjectDir));
         }
@@ -90,7 +113,10 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
         if (absoluteProjectDir.resolve(newPath).toFile().isDirectory()) {
             newPath = newPath.resolve(this.getAbsolutePath().getFileName());
         }
-        sourceFile = sourceFile.withSourcePath(newPath);
+        T movedSourceFile = sourceFile.withSourcePath(newPath);
+        beforeChange(true);
+        sourceFile = movedSourceFile;
+        afterChange(true);
         this.markChanged();
     }
 
@@ -101,16 +127,109 @@ public class RewriteSourceFileHolder<T extends SourceFile> extends BaseProjectRe
     /**
      * Replace current source file with {@code fixedSourceFile}.
      * <p>
-     * If {@code fixedSourceFile.print()} differs from current file content,
+     * If {@code fixedSourceFile.print()} differs from the unchanged file content,
      * source file is marked as changed.
+     * The content is only compared when {@link #hasChanges()} is called, until then the unchanged source file is kept.
      *
      * @param fixedSourceFile the new source file
      */
     public void replaceWith(T fixedSourceFile) {
-        if (sourceFile != null && !sourceFile.printAll().equals(fixedSourceFile.printAll())) {
-            markChanged();
+        if (sourceFile == fixedSourceFile) {
+            return;
         }
+        boolean indexedPropertiesChange = sourceFile == null || hasDifferentIndexedProperties(sourceFile, fixedSourceFile);
+        beforeChange(indexedPropertiesChange);
         sourceFile = fixedSourceFile;
+        contentHash = null;
+        replacedSinceLastCheck = true;
+        afterChange(indexedPropertiesChange);
+    }
+
+    /**
+     * Returns true if this resource was marked as changed, e.g. moved or deleted, or if the content of a replacement
+     * differed from the unchanged content.
+     * A detected change is kept until {@link #resetHasChanges()}, also when a later replacement reverts it.
+     */
+    @Override
+    public boolean hasChanges() {
+        if (!isChanged && replacedSinceLastCheck) {
+            replacedSinceLastCheck = false;
+            if (sourceFile != unchangedSourceFile && !MessageDigest.isEqual(getUnchangedContentHash(), getContentHash())) {
+                markChanged();
+            }
+        }
+        return isChanged;
+    }
+
+    @Override
+    public void resetHasChanges() {
+        super.resetHasChanges();
+        replacedSinceLastCheck = false;
+        unchangedContentHash = contentHash;
+        unchangedSourceFile = contentHash == null ? sourceFile : null;
+    }
+
+    private byte[] getUnchangedContentHash() {
+        if (unchangedContentHash == null) {
+            unchangedContentHash = hash(unchangedSourceFile.printAll());
+            unchangedSourceFile = null;
+        }
+        return unchangedContentHash;
+    }
+
+    private byte[] getContentHash() {
+        if (contentHash == null) {
+            contentHash = hash(sourceFile.printAll());
+        }
+        return contentHash;
+    }
+
+    private static byte[] hash(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean hasDifferentIndexedProperties(SourceFile current, SourceFile replacement) {
+        return !current.getId().equals(replacement.getId())
+                || !current.getSourcePath().equals(replacement.getSourcePath())
+                || current.getClass() != replacement.getClass();
+    }
+
+    /**
+     * Makes {@code projectResourceSet} the owner of this resource unless it is already owned by another set.
+     */
+    void setOwner(ProjectResourceSet projectResourceSet) {
+        if (owner == null) {
+            owner = projectResourceSet;
+        }
+    }
+
+    void releaseOwner(ProjectResourceSet projectResourceSet) {
+        if (owner == projectResourceSet) {
+            owner = null;
+        }
+    }
+
+    private void beforeChange(boolean indexedPropertiesChange) {
+        if (owner != null) {
+            owner.beforeResourceChange(this, indexedPropertiesChange);
+        }
+    }
+
+    private void afterChange(boolean indexedPropertiesChange) {
+        if (owner != null) {
+            owner.afterResourceChange(this, indexedPropertiesChange);
+        }
+    }
+
+    @Override
+    public void delete() {
+        beforeChange(false);
+        super.delete();
+        afterChange(false);
     }
 
     public void markChanged() {
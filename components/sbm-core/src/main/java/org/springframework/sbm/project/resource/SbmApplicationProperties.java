@@ -20,6 +20,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -35,6 +36,21 @@ public class SbmApplicationProperties {
     private boolean writeInMavenLocal;
     private boolean  javaParserLoggingCompilationWarningsAndErrors;
     private List<String> ignoredPathsPatterns = new ArrayList<>();
+    private boolean parallelParsingEnabled;
+    private int parallelParsingThreads = Runtime.getRuntime().availableProcessors();
+    private boolean lstCacheEnabled;
+    private String lstCacheDir = Path.of(System.getProperty("user.home"), ".sbm", "lst-cache").toString();
+    private boolean incrementalRescanEnabled;
+    private boolean parallelApplicabilityEnabled;
+    private int parallelApplicabilityThreads = Runtime.getRuntime().availableProcessors();
+    private boolean parallelReportEnabled;
+    private int parallelReportThreads = Runtime.getRuntime().availableProcessors();
+    private int recipeExecutionThreads;
+    private boolean parallelWriteBackEnabled;
+    private int parallelWriteBackThreads = Runtime.getRuntime().availableProcessors();
+    private boolean fingerprintSyncCheckEnabled;
+    private boolean fingerprintContentHashEnabled;
+    private int muleTranslationThreads = Runtime.getRuntime().availableProcessors();
 
     public void setIgnoredPathsPatterns(List<String> patterns) {
         List<String> absolutePatterns = patterns.stream()
@@ -21,6 +21,7 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.Scope;
 import org.springframework.lang.Nullable;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -35,6 +36,31 @@ public class AbstractBaseScope implements Scope {
         scopedBeans.keySet().stream().forEach(beanName -> beanFactory.destroyScopedBean(beanName));
     }
 
+    /**
+     * Removes all beans from this scope without destroying them, they can be put back with {@link #attach(Map)}.
+     */
+    public Map<String, Object> detach() {
+        Map<String, Object> detachedBeans = new HashMap<>(scopedBeans);
+        scopedBeans.clear();
+        return detachedBeans;
+    }
+
+    /**
+     * Puts beans removed with {@link #detach()} back into this scope, beans still in this scope are replaced
+     * without being destroyed.
+     */
+    public void attach(Map<String, Object> detachedBeans) {
+        scopedBeans.clear();
+        scopedBeans.putAll(detachedBeans);
+    }
+
+    /**
+     * Destroys beans removed with {@link #detach()}.
+     */
+    public void destroy(ConfigurableListableBeanFactory beanFactory, Map<String, Object> detachedBeans) {
+        detachedBeans.forEach(beanFactory::destroyBean);
+    }
+
     public Object get(String name, ObjectFactory<?> objectFactory) {
         Object scopedObject = this.scopedBeans.get(name);
         if (scopedObject == null) {
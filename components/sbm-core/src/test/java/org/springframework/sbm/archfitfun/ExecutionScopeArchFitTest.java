@@ -25,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.engine.commands.ApplicableRecipeListCommand;
@@ -104,10 +105,12 @@ import static org.springframework.sbm.archfitfun.ExecutionScopeArchFitTest.Scope
                     ResourceHelper.class,
                     PreconditionVerifier.class,
                     ProjectContextInitializer.class,
+                    LstSnapshotCache.class,
                     ProjectContextFactory.class,
                     ProjectResourceWrapperRegistry.class,
                     ProjectResourceSetHolder.class,
                     JavaRefactoringFactoryImpl.class,
+                    ConfigurableRecipeScheduler.class,
                     BasePackageCalculator.class,
                     RewriteJavaParser.class,
                     MavenProjectParser.class,
@@ -121,6 +124,7 @@ import static org.springframework.sbm.archfitfun.ExecutionScopeArchFitTest.Scope
                     MavenSettingsInitializer.class,
                     RewriteMigrationResultMerger.class,
                     RewriteMavenArtifactDownloader.class,
+                    ArtifactDownloadPipeline.class,
                     JavaProvenanceMarkerFactory.class,
                     MavenConfigHandler.class,
                     RewriteSourceFileWrapper.class,
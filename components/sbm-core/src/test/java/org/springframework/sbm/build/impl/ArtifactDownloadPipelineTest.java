@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.build.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.maven.cache.LocalMavenArtifactCache;
+import org.openrewrite.maven.tree.MavenRepository;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+import org.openrewrite.maven.utilities.MavenArtifactDownloader;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArtifactDownloadPipelineTest {
+
+    private final Map<String, AtomicInteger> downloadCount = new ConcurrentHashMap<>();
+
+    private final MavenArtifactDownloader countingDownloader = new MavenArtifactDownloader(new LocalMavenArtifactCache(Path.of("target")), null, t -> {}) {
+        @Override
+        public Path downloadArtifact(ResolvedDependency dependency) {
+            downloadCount.computeIfAbsent(dependency.getGav().toString(), k -> new AtomicInteger()).incrementAndGet();
+            if (dependency.getGav().getArtifactId().equals("missing")) {
+                return null;
+            }
+            return Path.of(dependency.getGav().getArtifactId() + ".jar");
+        }
+    };
+
+    @Test
+    void downloadsEachArtifactOnlyOnceAndKeepsOrder() {
+        ArtifactDownloadPipeline sut = new ArtifactDownloadPipeline(countingDownloader, 4);
+        ResolvedDependency a = dependency("a");
+        ResolvedDependency b = dependency("b");
+        ResolvedDependency missing = dependency("missing");
+
+        List<Path> paths = sut.downloadArtifacts(List.of(a, b, missing, a, b));
+        List<Path> pathsAgain = sut.downloadArtifacts(List.of(b, a));
+
+        assertThat(paths).containsExactly(Path.of("a.jar"), Path.of("b.jar"), Path.of("a.jar"), Path.of("b.jar"));
+        assertThat(pathsAgain).containsExactly(Path.of("b.jar"), Path.of("a.jar"));
+        assertThat(downloadCount.get("com.example:a:1.0.0").get()).isEqualTo(1);
+        assertThat(downloadCount.get("com.example:b:1.0.0").get()).isEqualTo(1);
+        sut.destroy();
+    }
+
+    @Test
+    void downloadsFailedAndSnapshotArtifactsAgain() {
+        ArtifactDownloadPipeline sut = new ArtifactDownloadPipeline(countingDownloader, 2);
+        ResolvedDependency missing = dependency("missing");
+        ResolvedDependency snapshot = dependency("snapshot", "1.0.0-SNAPSHOT");
+
+        assertThat(sut.downloadArtifact(missing)).isNull();
+        assertThat(sut.downloadArtifact(missing)).isNull();
+        assertThat(sut.downloadArtifact(snapshot)).isEqualTo(Path.of("snapshot.jar"));
+        assertThat(sut.downloadArtifact(snapshot)).isEqualTo(Path.of("snapshot.jar"));
+
+        assertThat(downloadCount.get("com.example:missing:1.0.0").get()).isEqualTo(2);
+        assertThat(downloadCount.get("com.example:snapshot:1.0.0-SNAPSHOT").get()).isEqualTo(2);
+        sut.destroy();
+    }
+
+    private ResolvedDependency dependency(String artifactId) {
+        return dependency(artifactId, "1.0.0");
+    }
+
+    private ResolvedDependency dependency(String artifactId, String version) {
+        return ResolvedDependency.builder()
+                .repository(MavenRepository.MAVEN_CENTRAL)
+                .gav(new ResolvedGroupArtifactVersion(MavenRepository.MAVEN_CENTRAL.getUri(), "com.example", artifactId, version, null))
+                .type("jar")
+                .build();
+    }
+}
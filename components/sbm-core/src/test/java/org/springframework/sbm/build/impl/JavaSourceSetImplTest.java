@@ -23,10 +23,15 @@ import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.TestProjectContext;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JavaSourceSetImplTest {
 
@@ -190,4 +195,40 @@ class JavaSourceSetImplTest {
         Assertions.assertThat(sut.list().get(0).getTypes().get(0).getSimpleName()).isEqualTo("Cla");
     }
 
-}
\ No newline at end of file
+    @Test
+    void addJavaSourcesShouldAddAllClassesInGivenOrder() {
+        JavaSourceSet sut = TestProjectContext.buildProjectContext()
+                .build()
+                .getApplicationModules()
+                .getRootModule()
+                .getMainJavaSourceSet();
+
+        sut.addJavaSources(TestProjectContext.getDefaultProjectRoot(), Path.of("src/main/java"), List.of(
+                "package org.springframework.sbm; public class B { A a; }",
+                "package org.springframework.sbm; public class A { }"
+        ));
+
+        assertThat(sut.list().stream().map(js -> js.getTypes().get(0).getFullyQualifiedName()).toList())
+                .containsExactly("org.springframework.sbm.B", "org.springframework.sbm.A");
+        assertThat(sut.list()).allMatch(js -> js.getResource().hasChanges());
+    }
+
+    @Test
+    void addJavaSourcesShouldRejectClassesThatAlreadyExist(@TempDir Path sourceFolder) throws IOException {
+        Path existingClass = sourceFolder.resolve("org/springframework/sbm/A.java");
+        Files.createDirectories(existingClass.getParent());
+        Files.writeString(existingClass, "package org.springframework.sbm; public class A { }");
+        JavaSourceSet sut = TestProjectContext.buildProjectContext()
+                .build()
+                .getApplicationModules()
+                .getRootModule()
+                .getMainJavaSourceSet();
+
+        assertThatThrownBy(() -> sut.addJavaSources(TestProjectContext.getDefaultProjectRoot(), sourceFolder, List.of(
+                "package org.springframework.sbm; public class B { }",
+                "package org.springframework.sbm; public class A { }"
+        ))).hasMessage("The Java class you tried to add already lives here: '" + existingClass + "'.");
+        assertThat(sut.list()).isEmpty();
+    }
+
+}
@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 class AddDependenciesTest {
@@ -36,12 +37,17 @@ class AddDependenciesTest {
 
         BuildFile buildFile = mock(BuildFile.class);
         when(buildFile.isRootBuildFile()).thenReturn(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(buildFile).batch(any());
 
         ProjectContext context = mock(ProjectContext.class);
         when(context.getBuildFile()).thenReturn(buildFile);
 
         sut.apply(context);
 
+        verify(buildFile).batch(any());
         verify(buildFile).addDependencies(dependencies);
     }
 
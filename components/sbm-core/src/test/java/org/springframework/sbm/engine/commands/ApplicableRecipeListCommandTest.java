@@ -27,6 +27,7 @@ import org.springframework.sbm.engine.recipe.ApplicableRecipesListHolder;
 import org.springframework.sbm.engine.recipe.Recipe;
 import org.springframework.sbm.engine.recipe.Recipes;
 import org.springframework.sbm.engine.recipe.RecipesBuilder;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +49,9 @@ class ApplicableRecipeListCommandTest {
     @Mock
     ApplicableRecipesListHolder applicableRecipesListHolder;
 
+    @Mock
+    SbmApplicationProperties sbmApplicationProperties;
+
     @InjectMocks
     ApplicableRecipeListCommand sut;
 
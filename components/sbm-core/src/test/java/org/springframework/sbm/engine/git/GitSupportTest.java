@@ -20,6 +20,8 @@ import ch.qos.logback.classic.Logger;
 import org.assertj.core.util.Files;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
@@ -29,9 +31,12 @@ import org.springframework.boot.test.system.OutputCaptureExtension;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.utils.LinuxWindowsPathUnifier;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -164,6 +169,137 @@ public class GitSupportTest {
         }
     }
 
+    @Test
+    void openRepository_shouldReuseRepository(@TempDir Path tmpDir) {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            Path projectDir = tmpDir.resolve("project");
+            Files.newFolder(projectDir.toString());
+            try (Repository repository = gitSupport.openRepository(tmpDir.toFile());
+                 Repository projectRepository = gitSupport.openRepository(projectDir.toFile())) {
+                assertThat(projectRepository).isSameAs(repository);
+            }
+            gitSupport.destroy();
+        }
+    }
+
+    @Test
+    void addAllAndCommit_withModifiedAndDeletedFiles_shouldStageAllFilesAndCommit(@TempDir Path tmpDir) throws Exception {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            Path projectDir = tmpDir.resolve("project");
+            Files.newFolder(projectDir.toString());
+            Path deleted = projectDir.resolve("deleted.file");
+            java.nio.file.Files.writeString(deleted, "deleted");
+            gitSupport.addAllAndCommit(tmpDir.toFile(), "initial commit", List.of("."), List.of());
+
+            List<String> modified = IntStream.range(0, 100)
+                    .mapToObj(i -> "src/file-" + i + ".txt")
+                    .collect(Collectors.toList());
+            java.nio.file.Files.createDirectories(projectDir.resolve("src"));
+            for (String file : modified) {
+                java.nio.file.Files.writeString(projectDir.resolve(file), file);
+            }
+            java.nio.file.Files.delete(deleted);
+            Commit commit = gitSupport.addAllAndCommit(projectDir.toFile(), "changes", modified, List.of("deleted.file"));
+
+            assertThat(gitSupport.getStatus(projectDir.toFile()).isClean()).isTrue();
+            assertThat(gitSupport.getLatestCommit(projectDir.toFile()).get().getHash()).isEqualTo(commit.getHash());
+            assertThat(gitSupport.getChangedFiles(tmpDir.toFile(), "HEAD~1")).hasSize(101).contains(deleted);
+        }
+    }
+
+    @Test
+    void getChangedFiles_shouldReturnCommittedAndUncommittedChangesSinceRevision(@TempDir Path tmpDir) throws Exception {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            Path committedLater = tmpDir.resolve("committed.later");
+            Path modified = tmpDir.resolve("modified.file");
+            Path deleted = tmpDir.resolve("deleted.file");
+            Path unchanged = tmpDir.resolve("unchanged.file");
+            Files.newFile(modified.toString());
+            Files.newFile(deleted.toString());
+            Files.newFile(unchanged.toString());
+            String revision = gitSupport.addAllAndCommit(tmpDir.toFile(), "initial commit", List.of("."), List.of()).getHash();
+
+            Files.newFile(committedLater.toString());
+            gitSupport.addAllAndCommit(tmpDir.toFile(), "second commit", List.of("committed.later"), List.of());
+            java.nio.file.Files.writeString(modified, "changed");
+            java.nio.file.Files.delete(deleted);
+            Path untracked = tmpDir.resolve("dir/untracked.file");
+            java.nio.file.Files.createDirectories(untracked.getParent());
+            Files.newFile(untracked.toString());
+
+            assertThat(gitSupport.getChangedFiles(tmpDir.toFile(), revision))
+                    .containsExactlyInAnyOrder(committedLater, modified, deleted, untracked);
+        }
+    }
+
+    @Test
+    void addAllAndCommit_withModifiedFiles_shouldApplyGitAttributesAndGitIgnore(@TempDir Path tmpDir) throws Exception {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            java.nio.file.Files.writeString(tmpDir.resolve(".gitattributes"), "*.txt text eol=lf\n");
+            java.nio.file.Files.writeString(tmpDir.resolve(".gitignore"), "*.log\n");
+            gitSupport.addAllAndCommit(tmpDir.toFile(), "initial commit", List.of("."), List.of());
+
+            java.nio.file.Files.writeString(tmpDir.resolve("crlf.txt"), "a\r\nb\r\n");
+            java.nio.file.Files.writeString(tmpDir.resolve("ignored.log"), "ignored");
+            gitSupport.addAllAndCommit(tmpDir.toFile(), "changes", List.of("crlf.txt", "ignored.log"), List.of());
+
+            assertThat(readFromHead(git.getRepository(), "crlf.txt")).isEqualTo("a\nb\n");
+            assertThat(readFromHead(git.getRepository(), "ignored.log")).isNull();
+        }
+    }
+
+    @Test
+    void closeRepositories_shouldOpenRepositoryAgainWhenNeeded(@TempDir Path tmpDir) {
+        try (Git git = GitSupport.initGit(tmpDir.toFile())) {
+            GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+            Repository repository = gitSupport.openRepository(tmpDir.toFile());
+            repository.close();
+
+            gitSupport.closeRepositories();
+
+            try (Repository reopened = gitSupport.openRepository(tmpDir.toFile())) {
+                assertThat(reopened).isNotSameAs(repository);
+            }
+            gitSupport.destroy();
+        }
+    }
+
+    @Test
+    void evictedRepository_shouldStayUsableWhileInUse(@TempDir Path tmpDir) throws Exception {
+        GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+        Path inUseDir = tmpDir.resolve("in-use");
+        try (Git git = GitSupport.initGit(inUseDir.toFile());
+             Repository inUse = gitSupport.openRepository(inUseDir.toFile())) {
+            Files.newFile(inUseDir.resolve("some.file").toString());
+            for (int i = 0; i < 16; i++) {
+                Path otherDir = tmpDir.resolve("other-" + i);
+                try (Git other = GitSupport.initGit(otherDir.toFile());
+                     Repository otherRepository = gitSupport.openRepository(otherDir.toFile())) {
+                    assertThat(otherRepository.getWorkTree()).isEqualTo(otherDir.toFile());
+                }
+            }
+
+            try (Repository reopened = gitSupport.openRepository(inUseDir.toFile())) {
+                assertThat(reopened).isNotSameAs(inUse);
+            }
+            Commit commit = gitSupport.addAllAndCommit(inUseDir.toFile(), "commit", List.of("some.file"), List.of());
+            assertThat(inUse.resolve("HEAD").getName()).isEqualTo(commit.getHash());
+        } finally {
+            gitSupport.destroy();
+        }
+    }
+
+    private static String readFromHead(Repository repository, String path) throws Exception {
+        RevCommit head = repository.parseCommit(repository.resolve("HEAD"));
+        try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, head.getTree())) {
+            return treeWalk == null ? null : new String(repository.open(treeWalk.getObjectId(0)).getBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
     private static String unifyPath(Path tmpDir) {
         return LinuxWindowsPathUnifier.unifyPath(tmpDir);
     }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.git;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectFingerprintTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void unchangedFilesShouldMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        assertThat(fingerprint.isUnchanged()).isTrue();
+    }
+
+    @Test
+    void modifiedFileShouldNotMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        Files.writeString(file, "class A { }");
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+    }
+
+    @Test
+    void deletedFileShouldNotMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        Files.delete(file);
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+    }
+
+    @Test
+    void touchedFileShouldOnlyMatchWithContentHash() throws IOException {
+        Path file = write("A.java", "class A {}");
+        ProjectFingerprint withoutHash = fingerprint(List.of(file), false);
+        ProjectFingerprint withHash = fingerprint(List.of(file), true);
+
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(withoutHash.isUnchanged()).isFalse();
+        assertThat(withHash.isUnchanged()).isTrue();
+    }
+
+    @Test
+    void updateShouldTakeFingerprintOfChangedFilesAgain() throws IOException {
+        Path changed = write("A.java", "class A {}");
+        Path added = projectDir.resolve("B.java");
+        ProjectFingerprint fingerprint = fingerprint(List.of(changed), false);
+
+        Files.writeString(changed, "class A { }");
+        write("B.java", "class B {}");
+        ProjectFingerprint updated = fingerprint.update(List.of(changed, added));
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+        assertThat(updated.isUnchanged()).isTrue();
+        Files.delete(added);
+        assertThat(updated.isUnchanged()).isFalse();
+    }
+
+    @Test
+    void addedFileShouldNotMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        write("B.java", "class B {}");
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+    }
+
+    @Test
+    void addedFileInNewDirectoryShouldNotMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        Files.createDirectories(projectDir.resolve("src"));
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        Files.createDirectories(projectDir.resolve("src/main"));
+        write("src/main/B.java", "class B {}");
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+    }
+
+    @Test
+    void addedFileInIgnoredDirectoryShouldMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        Files.createDirectories(projectDir.resolve("target"));
+        ProjectFingerprint fingerprint = ProjectFingerprint.of(projectDir, List.of(file), false, d -> d.endsWith("target"));
+
+        write("target/B.class", "");
+
+        assertThat(fingerprint.isUnchanged()).isTrue();
+    }
+
+    @Test
+    void fileChangedWithinSameTickShouldNotMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        Files.writeString(file, "class B {}");
+        Files.setLastModifiedTime(file, lastModified);
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+    }
+
+    @Test
+    void fileChangedLongAfterItsModificationTimeShouldNotMatch() throws IOException {
+        Path file = write("A.java", "class A {}");
+        FileTime lastModified = FileTime.from(Instant.now().minusSeconds(60));
+        Files.setLastModifiedTime(file, lastModified);
+        ProjectFingerprint fingerprint = fingerprint(List.of(file), false);
+
+        Files.writeString(file, "class A { }");
+
+        assertThat(fingerprint.isUnchanged()).isFalse();
+    }
+
+    private ProjectFingerprint fingerprint(List<Path> files, boolean withContentHash) {
+        return ProjectFingerprint.of(projectDir, files, withContentHash, d -> false);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(projectDir.resolve(name), content);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionResultCacheTest {
+
+    private final ProjectContext context = TestProjectContext.buildProjectContext().build();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @AfterEach
+    void afterEach() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void equalConditionsShouldBeEvaluatedOncePerPass() {
+        Recipes sut = new Recipes(new ArrayList<>(List.of(
+                recipe("a", new CountingCondition("shared", evaluations), new CountingCondition("a", evaluations)),
+                recipe("b", new CountingCondition("shared", evaluations), new CountingCondition("shared", evaluations)),
+                recipe("c", new CountingCondition("c", evaluations), new CountingCondition("shared", evaluations))
+        )));
+
+        assertThat(sut.getApplicable(context)).hasSize(3);
+        assertThat(evaluations).hasValue(3);
+
+        assertThat(sut.getApplicable(context, executorService)).hasSize(3);
+        assertThat(evaluations).hasValue(6);
+    }
+
+    @Test
+    void resultsShouldBeDiscardedWhenProjectResourcesChanged() {
+        ConditionResultCache sut = new ConditionResultCache();
+
+        sut.evaluate(new CountingCondition("shared", evaluations), context);
+        sut.evaluate(new CountingCondition("shared", evaluations), context);
+        assertThat(evaluations).hasValue(1);
+
+        context.getProjectResources().list().get(0).delete();
+        sut.evaluate(new CountingCondition("shared", evaluations), context);
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    void conditionsWithoutKeyShouldOnlyShareTheirOwnResult() {
+        ConditionResultCache sut = new ConditionResultCache();
+        Condition condition = new Condition() {
+            @Override
+            public String getDescription() {
+                return "without key";
+            }
+
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                evaluations.incrementAndGet();
+                return true;
+            }
+        };
+
+        sut.evaluate(condition, context);
+        sut.evaluate(condition, context);
+        sut.evaluate(new CountingCondition("shared", evaluations), context);
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    void resultsShouldBeDiscardedWhenAnotherProjectIsEvaluated() {
+        ConditionResultCache sut = new ConditionResultCache();
+        ProjectContext otherContext = TestProjectContext.buildProjectContext().build();
+
+        sut.evaluate(new CountingCondition("shared", evaluations), context);
+        sut.evaluate(new CountingCondition("shared", evaluations), otherContext);
+        assertThat(evaluations).hasValue(2);
+    }
+
+    private Recipe recipe(String name, Condition recipeCondition, Condition actionCondition) {
+        AbstractAction action = new AbstractAction() {
+            @Override
+            public void apply(ProjectContext context) {
+            }
+        };
+        action.setCondition(actionCondition);
+        return new Recipe(name, List.of(action), recipeCondition, 0);
+    }
+
+    private static class CountingCondition implements Condition {
+        private final String name;
+        private final AtomicInteger evaluations;
+
+        CountingCondition(String name, AtomicInteger evaluations) {
+            this.name = name;
+            this.evaluations = evaluations;
+        }
+
+        @Override
+        public String getDescription() {
+            return name;
+        }
+
+        @Override
+        public Optional<Object> cacheKey() {
+            return Optional.of(name);
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            evaluations.incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Result;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.text.PlainTextVisitor;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigurableRecipeSchedulerTest {
+
+    @Test
+    void resultsShouldKeepOrderOfSourceFilesWhenVisitedConcurrently() {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setRecipeExecutionThreads(4);
+        ConfigurableRecipeScheduler sut = new ConfigurableRecipeScheduler(sbmApplicationProperties);
+        List<PlainText> sourceFiles = IntStream.range(0, 200)
+                .mapToObj(i -> new PlainTextParser().parse("text " + i).get(0).withSourcePath(Path.of("file-" + i + ".txt")))
+                .collect(Collectors.toList());
+        ExecutionContext executionContext = new RewriteExecutionContext();
+        GenericOpenRewriteRecipe<PlainTextVisitor<ExecutionContext>> recipe = new GenericOpenRewriteRecipe<>(() -> new PlainTextVisitor<>() {
+            @Override
+            public PlainText visitText(PlainText text, ExecutionContext ctx) {
+                ctx.putMessageInSet("visited", text.getSourcePath());
+                return text.withText(text.getText().toUpperCase());
+            }
+        });
+
+        List<Result> results = recipe.run(sourceFiles, executionContext, sut, 1, 1).getResults();
+
+        assertThat(results).extracting(r -> r.getAfter().getSourcePath())
+                .containsExactlyElementsOf(sourceFiles.stream().map(PlainText::getSourcePath).collect(Collectors.toList()));
+        assertThat(results).extracting(r -> ((PlainText) r.getAfter()).getText()).startsWith("TEXT 0", "TEXT 1");
+        Set<Path> visited = executionContext.getMessage("visited");
+        assertThat(visited).hasSize(200);
+    }
+
+    @Test
+    void destroyShouldShutDownThreadPool() {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setRecipeExecutionThreads(2);
+        ConfigurableRecipeScheduler sut = new ConfigurableRecipeScheduler(sbmApplicationProperties);
+        assertThat(sut.schedule(() -> "done").join()).isEqualTo("done");
+
+        sut.destroy();
+
+        assertThatThrownBy(() -> sut.schedule(() -> "rejected")).isInstanceOf(RejectedExecutionException.class);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.engine.recipe;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecipesTest {
+
+    private final ProjectContext context = TestProjectContext.buildProjectContext().build();
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void afterEach() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void parallelEvaluationShouldReturnApplicableRecipesInSameOrderAsSequentialEvaluation() {
+        List<Recipe> recipeList = new ArrayList<>();
+        IntStream.range(0, 20).forEach(i -> recipeList.add(recipe("recipe-" + i, i % 3 != 0, 20 - i)));
+        Recipes sut = new Recipes(recipeList);
+
+        List<Recipe> sequential = sut.getApplicable(context);
+        List<Recipe> parallel = sut.getApplicable(context, executorService);
+
+        assertThat(parallel).hasSize(13);
+        assertThat(parallel).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    void parallelEvaluationShouldRejectChangesToProjectResources() {
+        Condition changingCondition = new Condition() {
+            @Override
+            public String getDescription() {
+                return "changes project resources";
+            }
+
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                context.getProjectResources().remove(context.getProjectRootDirectory().resolve("pom.xml"));
+                return true;
+            }
+        };
+        Recipes sut = new Recipes(new ArrayList<>(List.of(new Recipe("changing", List.of(applicableAction()), changingCondition, 0))));
+
+        assertThatThrownBy(() -> sut.getApplicable(context, executorService))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        ProjectResourceSet projectResources = context.getProjectResources();
+        assertThat(projectResources.indexOf(context.getProjectRootDirectory().resolve("pom.xml"))).isEqualTo(0);
+    }
+
+    @Test
+    void parallelEvaluationShouldRejectChangesToResources() {
+        Condition deletingCondition = new Condition() {
+            @Override
+            public String getDescription() {
+                return "deletes a resource";
+            }
+
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                context.getProjectResources().list().get(0).delete();
+                return true;
+            }
+        };
+        Recipes sut = new Recipes(new ArrayList<>(List.of(new Recipe("deleting", List.of(applicableAction()), deletingCondition, 0))));
+
+        assertThatThrownBy(() -> sut.getApplicable(context, executorService))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(context.getProjectResources().list().get(0).isDeleted()).isFalse();
+    }
+
+    private Recipe recipe(String name, boolean applicable, long delayMillis) {
+        Condition condition = new Condition() {
+            @Override
+            public String getDescription() {
+                return name;
+            }
+
+            @Override
+            public boolean evaluate(ProjectContext context) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return applicable;
+            }
+        };
+        return new Recipe(name, List.of(applicableAction()), condition, 0);
+    }
+
+    private Action applicableAction() {
+        return new AbstractAction() {
+            @Override
+            public void apply(ProjectContext context) {
+            }
+        };
+    }
+}
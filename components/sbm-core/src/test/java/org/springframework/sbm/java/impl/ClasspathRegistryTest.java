@@ -22,7 +22,9 @@ import org.openrewrite.maven.tree.MavenResolutionResult;
 import org.openrewrite.maven.tree.ResolvedDependency;
 import org.openrewrite.maven.tree.Scope;
 import org.openrewrite.xml.tree.Xml;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
 
@@ -117,7 +119,9 @@ public class ClasspathRegistryTest {
                 .stream()
                 .collect(Collectors.toSet());
 
-        ClasspathRegistry registry = ClasspathRegistry.initialize(resolvedDependencies);
+        ArtifactDownloadPipeline artifactDownloadPipeline = new ArtifactDownloadPipeline(new RewriteMavenArtifactDownloader());
+        ClasspathRegistry registry = ClasspathRegistry.initialize(resolvedDependencies, artifactDownloadPipeline);
+        artifactDownloadPipeline.destroy();
         assertThat(registry.getCurrentDependencies()).hasSize(1);
         assertThat(registry.getInitialDependencies()).hasSize(1);
     }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.tree.J;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JavaSourceIndexTest {
+
+    @Test
+    void lookupsShouldReflectChangedJavaSources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(
+                        """
+                        package com.example;
+                        import java.util.List;
+                        @Deprecated
+                        public class A {
+                            @Deprecated
+                            private List<String> names;
+                        }
+                        """,
+                        """
+                        package com.example;
+                        public class B {
+                        }
+                        """)
+                .build();
+        JavaSourceIndex sut = context.getJavaSourceIndex();
+        JavaSource a = context.getProjectJavaSources().findJavaSourceDeclaringType("com.example.A").get();
+        JavaSource b = context.getProjectJavaSources().findJavaSourceDeclaringType("com.example.B").get();
+
+        assertThat(sut.findReferencingAnyType(List.of("java.util.List", "java.util.Set"))).containsExactly(a.getResource());
+        assertThat(sut.findImportingStartingWith("java.util")).containsExactly(a.getResource());
+        assertThat(sut.findImportingStartingWith("java.utils")).isEmpty();
+        assertThat(sut.findWithTypeAnnotation("java.lang.Deprecated")).containsExactly(a.getResource());
+        assertThat(sut.findWithMemberAnnotation("java.lang.Deprecated")).containsExactly(a.getResource());
+
+        b.getTypes().get(0).addAnnotation("java.lang.Deprecated");
+        a.delete();
+
+        assertThat(sut.findWithTypeAnnotation("java.lang.Deprecated")).containsExactly(b.getResource());
+        assertThat(sut.findReferencingAnyType(List.of("java.util.List"))).isEmpty();
+        assertThat(sut.findWithMemberAnnotation("java.lang.Deprecated")).isEmpty();
+    }
+
+    @Test
+    void lookupsShouldOnlySynchronizeWhenProjectResourceSetWasModified() {
+        ProjectResourceSet projectResourceSet = mock(ProjectResourceSet.class);
+        when(projectResourceSet.getModificationCount()).thenReturn(1L, 1L, 2L);
+        when(projectResourceSet.streamByType(J.CompilationUnit.class)).thenAnswer(invocation -> Stream.empty());
+        JavaSourceIndex sut = new JavaSourceIndex(projectResourceSet);
+
+        sut.findWithTypeAnnotation("java.lang.Deprecated");
+        sut.findImportingStartingWith("java.util");
+        verify(projectResourceSet, times(1)).streamByType(J.CompilationUnit.class);
+
+        sut.findWithMemberAnnotation("java.lang.Deprecated");
+        verify(projectResourceSet, times(2)).streamByType(J.CompilationUnit.class);
+    }
+}
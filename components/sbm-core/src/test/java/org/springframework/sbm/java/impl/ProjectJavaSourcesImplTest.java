@@ -17,11 +17,18 @@ package org.springframework.sbm.java.impl;
 
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.J;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.JavaSource;
 import org.springframework.sbm.java.api.JavaSourceAndType;
+import org.springframework.sbm.java.api.MethodCall;
 import org.springframework.sbm.java.api.ProjectJavaSources;
 import org.springframework.sbm.java.exceptions.UnresolvedTypeException;
+import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.resource.TestProjectContext;
+import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
 import java.util.List;
 
@@ -118,4 +125,66 @@ class ProjectJavaSourcesImplTest {
                 javaSource.findTypesImplementing("a.b.c.K"));
 
     }
+
+    @Test
+    void findShouldNotChangeTheSourceFiles() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", """
+                        package com.example;
+                        import java.util.List;
+                        public class TheClass {
+                            List<String> names = List.of("a");
+                        }
+                        """)
+                .withJavaSource("src/main/java", """
+                        package com.example;
+                        public class OtherClass {}
+                        """)
+                .build();
+        ProjectJavaSources projectJavaSources = context.getProjectJavaSources();
+        List<J.CompilationUnit> sourceFiles = projectJavaSources.list().stream().map(js -> js.getResource().getSourceFile()).toList();
+        long modificationCount = context.getProjectResources().getModificationCount();
+
+        List<RewriteSourceFileHolder<J.CompilationUnit>> found = projectJavaSources.find(new GenericOpenRewriteRecipe<>(() -> new UsesType<>("java.util.List")));
+        List<MethodCall> methodCalls = projectJavaSources.findMethodCalls("java.util.List of(..)");
+        List<? extends JavaSource> classesUsingType = projectJavaSources.findClassesUsingType("java.util.List");
+
+        assertThat(found).extracting(RewriteSourceFileHolder::getSourcePathString).containsExactly("src/main/java/com/example/TheClass.java");
+        assertThat(methodCalls).extracting(mc -> mc.getJavaSource().getResource().getSourcePathString()).containsExactly("src/main/java/com/example/TheClass.java");
+        assertThat(classesUsingType).extracting(js -> js.getResource().getSourcePathString()).containsExactly("src/main/java/com/example/TheClass.java");
+        assertThat(context.getProjectResources().getModificationCount()).isEqualTo(modificationCount);
+        assertThat(projectJavaSources.list().stream().map(js -> js.getResource().getSourceFile()).toList())
+                .containsExactlyElementsOf(sourceFiles);
+    }
+
+    @Test
+    void queryShouldReturnJavaSourcesWithMatches() {
+        ProjectJavaSources projectJavaSources = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", """
+                        package com.example;
+                        public class TheClass {
+                            String s = "match";
+                        }
+                        """)
+                .withJavaSource("src/main/java", """
+                        package com.example;
+                        public class OtherClass {
+                            String s = "other";
+                        }
+                        """)
+                .build()
+                .getProjectJavaSources();
+
+        List<RewriteSourceFileHolder<J.CompilationUnit>> matches = projectJavaSources.query(new JavaIsoVisitor<List<J.Literal>>() {
+            @Override
+            public J.Literal visitLiteral(J.Literal literal, List<J.Literal> found) {
+                if ("match".equals(literal.getValue())) {
+                    found.add(literal);
+                }
+                return literal;
+            }
+        });
+
+        assertThat(matches).extracting(RewriteSourceFileHolder::getSourcePathString).containsExactly("src/main/java/com/example/TheClass.java");
+    }
 }
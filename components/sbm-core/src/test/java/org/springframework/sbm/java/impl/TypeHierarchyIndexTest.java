@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.JavaSource;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeHierarchyIndexTest {
+
+    @Test
+    void lookupsShouldReflectChangedJavaSources() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(
+                        """
+                        package com.example;
+                        public interface I {
+                        }
+                        """,
+                        """
+                        package com.example;
+                        public class A implements I {
+                        }
+                        """,
+                        """
+                        package com.example;
+                        public class B extends A {
+                        }
+                        """)
+                .build();
+        TypeHierarchyIndex sut = context.getTypeHierarchyIndex();
+        JavaSource a = context.getProjectJavaSources().findJavaSourceDeclaringType("com.example.A").get();
+        JavaSource b = context.getProjectJavaSources().findJavaSourceDeclaringType("com.example.B").get();
+
+        assertThat(sut.findDeclaringCompilationUnit("com.example.A")).containsSame(a.getResource());
+        assertThat(sut.findDeclaringCompilationUnit("com.example.C")).isEmpty();
+        assertThat(sut.findDirectSubTypes("java.lang.Object")).isEmpty();
+        assertThat(sut.findDirectSubTypes("com.example.I"))
+                .containsExactly(new TypeHierarchyIndex.TypeDeclaration(a.getResource(), "com.example.A"));
+        assertThat(sut.findDirectSubTypes("com.example.A"))
+                .containsExactly(new TypeHierarchyIndex.TypeDeclaration(b.getResource(), "com.example.B"));
+        assertThat(sut.findImplementing("com.example.I"))
+                .containsExactly(new TypeHierarchyIndex.TypeDeclaration(a.getResource(), "com.example.A"));
+
+        assertThat(b.getTypes().get(0).getExtends()).get()
+                .extracting(t -> t.getFullyQualifiedName()).isEqualTo("com.example.A");
+
+        b.delete();
+
+        assertThat(sut.findDirectSubTypes("com.example.A")).isEmpty();
+        assertThat(sut.findDeclaringCompilationUnit("com.example.B")).isEmpty();
+        assertThat(sut.findImplementing("com.example.I")).hasSize(1);
+
+        a.delete();
+
+        assertThat(sut.findImplementing("com.example.I")).isEmpty();
+        assertThat(sut.findDirectSubTypes("com.example.I")).isEmpty();
+    }
+
+    @Test
+    void memberTypesShouldOnlyBeFoundWhenRequested() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(
+                        """
+                        package com.example;
+                        public class Outer {
+                            public static class Inner implements java.io.Serializable {
+                            }
+                        }
+                        """)
+                .build();
+        TypeHierarchyIndex sut = context.getTypeHierarchyIndex();
+        JavaSource outer = context.getProjectJavaSources().findJavaSourceDeclaringType("com.example.Outer").get();
+
+        assertThat(sut.findDirectSubTypes("java.io.Serializable")).isEmpty();
+        assertThat(sut.findImplementing("java.io.Serializable")).isEmpty();
+        assertThat(sut.findDeclaringCompilationUnit("com.example.Outer$Inner")).isEmpty();
+        assertThat(sut.findDirectSubTypes("java.io.Serializable", true))
+                .containsExactly(new TypeHierarchyIndex.TypeDeclaration(outer.getResource(), "com.example.Outer$Inner"));
+    }
+}
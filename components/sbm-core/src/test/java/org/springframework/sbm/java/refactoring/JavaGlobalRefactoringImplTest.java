@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.java.refactoring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaGlobalRefactoringImplTest {
+
+    @Test
+    void visitorsShouldBeAppliedOneAfterAnother() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSources(
+                        """
+                        public class A {
+                            String s = "a";
+                        }
+                        """,
+                        """
+                        public class B {
+                            String s = "b";
+                        }
+                        """)
+                .build();
+        JavaGlobalRefactoringImpl sut = new JavaGlobalRefactoringImpl(context.getProjectResources(), context.getExecutionContext(), context.getRecipeScheduler(), context.getTypeHierarchyIndex());
+
+        sut.refactor(replaceLiteral("a", "b"), replaceLiteral("b", "c"));
+
+        assertThat(context.getProjectJavaSources().list())
+                .allSatisfy(js -> assertThat(js.print()).contains("String s = \"c\";"));
+    }
+
+    private JavaIsoVisitor<ExecutionContext> replaceLiteral(String from, String to) {
+        return new JavaIsoVisitor<>() {
+            @Override
+            public J.Literal visitLiteral(J.Literal literal, ExecutionContext executionContext) {
+                if (from.equals(literal.getValue())) {
+                    return literal.withValue(to).withValueSource("\"" + to + "\"");
+                }
+                return literal;
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.openrewrite;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SynchronizedExecutionContextTest {
+
+    @Test
+    void collectionsShouldBeReturnedAsCopies() {
+        ExecutionContext sut = RewriteExecutionContext.synchronizedView(new RewriteExecutionContext());
+
+        Set<String> returned = sut.putMessageInSet("key", "a");
+        returned.add("b");
+        Set<String> read = sut.getMessage("key");
+        read.add("c");
+
+        assertThat(sut.<Set<String>>getMessage("key")).containsExactly("a");
+    }
+
+    @Test
+    void collectionsShouldBeReadWhileOtherVisitorsAddMessages() {
+        ExecutionContext sut = RewriteExecutionContext.synchronizedView(new RewriteExecutionContext());
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture<?>[] futures = IntStream.range(0, 4)
+                    .mapToObj(t -> CompletableFuture.runAsync(() -> IntStream.range(0, 1000).forEach(i -> {
+                        sut.putMessageInSet("key", t + "-" + i);
+                        Set<String> messages = sut.getMessage("key");
+                        messages.forEach(String::length);
+                    }), executorService))
+                    .toArray(CompletableFuture[]::new);
+
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(sut.<Set<String>>getMessage("key")).hasSize(4000);
+    }
+}
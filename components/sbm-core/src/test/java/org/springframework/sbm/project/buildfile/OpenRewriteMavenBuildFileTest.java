@@ -21,6 +21,9 @@ import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.maven.MavenIsoVisitor;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.xml.tree.Xml;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.sbm.GitHubIssue;
 import org.springframework.sbm.build.api.BuildFile;
@@ -28,6 +31,8 @@ import org.springframework.sbm.build.api.DependenciesChangedEvent;
 import org.springframework.sbm.build.api.Dependency;
 import org.springframework.sbm.build.api.Plugin;
 import org.springframework.sbm.build.util.PomBuilder;
+import org.springframework.sbm.build.impl.MavenBuildFileUtil;
+import org.springframework.sbm.build.impl.OpenRewriteMavenBuildFile;
 import org.springframework.sbm.build.impl.OpenRewriteMavenPlugin;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
@@ -37,6 +42,7 @@ import org.springframework.sbm.java.impl.RewriteJavaParser;
 import org.springframework.sbm.openrewrite.RewriteExecutionContext;
 import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.sbm.project.resource.TestProjectContext;
+import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -47,6 +53,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
@@ -2390,6 +2397,92 @@ public class OpenRewriteMavenBuildFileTest {
                                               """);
     }
 
+    @Test
+    void batchShouldRefreshOnlyChangedAndDependentPomModelsAfterAllChanges() {
+        String rootPom = PomBuilder.buildPom("com.example:parent:1.0")
+                .packaging("pom")
+                .withModules("module1", "module2")
+                .build();
+        String module1Pom = PomBuilder.buildPom("com.example:parent:1.0", "module1").build();
+        String module2Pom = PomBuilder.buildPom("com.example:parent:1.0", "module2").build();
+
+        ProjectContext projectContext = TestProjectContext.buildProjectContext()
+                .withMavenBuildFileSource("pom.xml", rootPom)
+                .withMavenBuildFileSource("module1/pom.xml", module1Pom)
+                .withMavenBuildFileSource("module2/pom.xml", module2Pom)
+                .build();
+
+        OpenRewriteMavenBuildFile module1 = (OpenRewriteMavenBuildFile) projectContext.getApplicationModules().getModule("module1").getBuildFile();
+        OpenRewriteMavenBuildFile module2 = (OpenRewriteMavenBuildFile) projectContext.getApplicationModules().getModule("module2").getBuildFile();
+        MavenResolutionResult module2Model = module2.getPom();
+        Dependency dependency = Dependency.builder()
+                .groupId("org.apiguardian")
+                .artifactId("apiguardian-api")
+                .version("1.1.0")
+                .build();
+
+        module1.batch(() -> {
+            module1.addDependencies(List.of(dependency));
+            module1.setProperty("some.property", "some-value");
+            // the model is not resolved after every change but when it is read
+            assertThat(MavenBuildFileUtil.findMavenResolution(module1.getSourceFile()).get().getPom().getRequested().getProperties()).doesNotContainKey("some.property");
+            assertThat(module1.getProperty("some.property")).isEqualTo("some-value");
+            module1.deleteProperty("some.property");
+        });
+
+        assertThat(MavenBuildFileUtil.findMavenResolution(module1.getSourceFile()).get().getPom().getRequested().getProperties()).doesNotContainKey("some.property");
+        assertThat(module1.getDeclaredDependencies()).containsExactly(dependency);
+        assertThat(module2.getPom()).isSameAs(module2Model);
+
+        BuildFile rootBuildFile = projectContext.getApplicationModules().getRootModule().getBuildFile();
+        rootBuildFile.batch(() -> rootBuildFile.setProperty("inherited.property", "inherited-value"));
+
+        assertThat(module2.getPom()).isNotSameAs(module2Model);
+        assertThat(module2.getPom().getPom().getValue("${inherited.property}")).isEqualTo("inherited-value");
+        assertThat(module1.getPom().getPom().getValue("${inherited.property}")).isEqualTo("inherited-value");
+    }
+
+    @Test
+    void recipesAppliedInBatchShouldSeeRefreshedPomModels() {
+        String pom = PomBuilder.buildPom("com.example:module1:1.0").build();
+        ProjectContext projectContext = TestProjectContext.buildProjectContext()
+                .withMavenBuildFileSource("pom.xml", pom)
+                .build();
+        OpenRewriteMavenBuildFile buildFile = (OpenRewriteMavenBuildFile) projectContext.getBuildFile();
+        List<String> propertyValues = new ArrayList<>();
+        MavenIsoVisitor<ExecutionContext> propertyReader = new MavenIsoVisitor<>() {
+            @Override
+            public Xml.Document visitDocument(Xml.Document document, ExecutionContext executionContext) {
+                propertyValues.add(getResolutionResult().getPom().getRequested().getProperties().get("some.property"));
+                return document;
+            }
+        };
+
+        buildFile.batch(() -> {
+            buildFile.setProperty("some.property", "some-value");
+            buildFile.apply(new GenericOpenRewriteRecipe<>(() -> propertyReader));
+        });
+
+        assertThat(propertyValues).containsExactly("some-value");
+    }
+
+    @Test
+    void batchShouldRefreshPomModelsWhenChangesFail() {
+        String pom = PomBuilder.buildPom("com.example:module1:1.0").build();
+        ProjectContext projectContext = TestProjectContext.buildProjectContext()
+                .withMavenBuildFileSource("pom.xml", pom)
+                .build();
+        OpenRewriteMavenBuildFile buildFile = (OpenRewriteMavenBuildFile) projectContext.getBuildFile();
+        IllegalStateException failure = new IllegalStateException("failed");
+
+        assertThatThrownBy(() -> buildFile.batch(() -> {
+            buildFile.setProperty("some.property", "some-value");
+            throw failure;
+        })).isSameAs(failure);
+
+        assertThat(MavenBuildFileUtil.findMavenResolution(buildFile.getSourceFile()).get().getPom().getRequested().getProperties()).containsEntry("some.property", "some-value");
+    }
+
 	@Test
     void removePluginsMatchingRegex() {
         String pomXml =
@@ -19,11 +19,15 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
 import org.springframework.sbm.project.resource.TestProjectContext;
 import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.tree.J;
 
 import java.nio.file.Path;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
 
 class RewriteSourceFileHolderTest {
 
@@ -75,6 +79,56 @@ class RewriteSourceFileHolderTest {
         assertThat(sut.getSourceFile()).isSameAs(newSourceFile);
     }
 
+    @Test
+    void replaceWithShouldCompareWithUnchangedContent() {
+        J.CompilationUnit original = sut.getSourceFile();
+        J.CompilationUnit changed = original.withClasses(ListUtils.map(original.getClasses(), c -> c.withName(c.getName().withSimpleName("Bar"))));
+
+        sut.replaceWith(changed);
+        sut.replaceWith(original.withMarkers(original.getMarkers()));
+        assertThat(sut.hasChanges()).isFalse();
+
+        sut.replaceWith(changed);
+        assertThat(sut.hasChanges()).isTrue();
+
+        sut.resetHasChanges();
+        sut.replaceWith(changed.withMarkers(changed.getMarkers()));
+        assertThat(sut.hasChanges()).isFalse();
+    }
+
+    @Test
+    void hasChangesShouldStayTrue_whenDetectedChangeIsReverted() {
+        J.CompilationUnit original = sut.getSourceFile();
+        J.CompilationUnit changed = original.withClasses(ListUtils.map(original.getClasses(), c -> c.withName(c.getName().withSimpleName("Bar"))));
+
+        sut.replaceWith(changed);
+        assertThat(sut.hasChanges()).isTrue();
+
+        sut.replaceWith(original);
+        assertThat(sut.hasChanges()).isTrue();
+
+        sut.resetHasChanges();
+        assertThat(sut.hasChanges()).isFalse();
+    }
+
+    @Test
+    void replaceWithShouldNotPrintSourceFiles() {
+        SourceFile original = mock(SourceFile.class);
+        SourceFile replacement = mock(SourceFile.class);
+        UUID id = UUID.randomUUID();
+        Path sourcePath = Path.of("some.file");
+        when(original.getId()).thenReturn(id);
+        when(original.getSourcePath()).thenReturn(sourcePath);
+        when(replacement.getId()).thenReturn(id);
+        when(replacement.getSourcePath()).thenReturn(sourcePath);
+        RewriteSourceFileHolder<SourceFile> holder = new RewriteSourceFileHolder<>(PROJECT_DIR, original);
+
+        holder.replaceWith(replacement);
+
+        verify(original, never()).printAll();
+        verify(replacement, never()).printAll();
+    }
+
     @Test
     void testSourcePath() {
         Path sourcePath = sut.getSourcePath();
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.text.PlainTextParser;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.openrewrite.RewriteExecutionContext;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LstSnapshotCacheTest {
+
+    @TempDir
+    Path projectDir;
+
+    @TempDir
+    Path cacheDir;
+
+    private LstSnapshotCache sut;
+    private List<Resource> resources;
+    private List<SourceFile> sourceFiles;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        Path javaFile = projectDir.resolve("src/main/java/com/example/A.java");
+        Files.createDirectories(javaFile.getParent());
+        Files.writeString(javaFile, "package com.example; public class A { String s; }");
+        Path textFile = projectDir.resolve("README.txt");
+        Files.writeString(textFile, "some text");
+
+        GitSupport gitSupport = new GitSupport(new SbmApplicationProperties());
+        try (Git git = GitSupport.initGit(projectDir.toFile())) {
+            gitSupport.add(projectDir.toFile(), ".");
+            gitSupport.commit(projectDir.toFile(), "initial");
+        }
+
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setLstCacheEnabled(true);
+        sbmApplicationProperties.setLstCacheDir(cacheDir.toString());
+        sut = new LstSnapshotCache(sbmApplicationProperties, gitSupport);
+
+        resources = List.of(new FileSystemResource(javaFile), new FileSystemResource(textFile));
+        RewriteExecutionContext executionContext = new RewriteExecutionContext();
+        sourceFiles = new ArrayList<>();
+        sourceFiles.addAll(JavaParser.fromJavaVersion().build().parse(List.of(javaFile), projectDir, executionContext));
+        sourceFiles.addAll(new PlainTextParser().parse(List.of(textFile), projectDir, executionContext));
+    }
+
+    @Test
+    void loadShouldReturnStoredSourceFilesWhenProjectIsUnchanged() {
+        Path snapshotFile = sut.getSnapshotFile(projectDir, resources).get();
+        assertThat(sut.load(snapshotFile)).isEmpty();
+
+        sut.store(snapshotFile, sourceFiles, List.of());
+        Optional<List<SourceFile>> loaded = sut.load(sut.getSnapshotFile(projectDir, resources).get());
+
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get()).hasSize(2);
+        assertThat(loaded.get().get(0).getId()).isEqualTo(sourceFiles.get(0).getId());
+        assertThat(loaded.get().get(0).printAll()).isEqualTo(sourceFiles.get(0).printAll());
+        assertThat(loaded.get().get(0).getMarkers().getMarkers()).hasSameSizeAs(sourceFiles.get(0).getMarkers().getMarkers());
+        J.CompilationUnit cu = (J.CompilationUnit) loaded.get().get(0);
+        assertThat(cu.getClasses().get(0).getType().getFullyQualifiedName()).isEqualTo("com.example.A");
+        assertThat(loaded.get().get(1).printAll()).isEqualTo("some text");
+    }
+
+    @Test
+    void loadShouldReturnEmptyWhenWorkingTreeChanged() throws Exception {
+        sut.store(sut.getSnapshotFile(projectDir, resources).get(), sourceFiles, List.of());
+
+        Files.writeString(projectDir.resolve("README.txt"), "changed text");
+
+        assertThat(sut.load(sut.getSnapshotFile(projectDir, resources).get())).isEmpty();
+    }
+
+    @Test
+    void loadShouldReturnEmptyWhenDependencyChanged() throws Exception {
+        Path dependency = Files.writeString(cacheDir.resolve("dependency.jar"), "jar");
+        Path snapshotFile = sut.getSnapshotFile(projectDir, resources).get();
+        sut.store(snapshotFile, sourceFiles, List.of(dependency));
+        assertThat(sut.load(snapshotFile)).isPresent();
+
+        Files.writeString(dependency, "changed jar");
+
+        assertThat(sut.load(snapshotFile)).isEmpty();
+    }
+
+    @Test
+    void loadShouldRejectClassesNotBelongingToLst() throws Exception {
+        Path snapshotFile = sut.getSnapshotFile(projectDir, resources).get();
+        Files.createDirectories(snapshotFile.getParent());
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(true);
+        try (Output output = new Output(Files.newOutputStream(snapshotFile))) {
+            kryo.writeClassAndObject(output, new ArrayList<String>());
+            kryo.writeClassAndObject(output, new ArrayList<>(List.of(new NotAnLstClass())));
+        }
+
+        assertThat(sut.load(snapshotFile)).isEmpty();
+    }
+
+    @Test
+    void getSnapshotFileShouldReturnEmptyWhenCacheIsDisabled() {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setLstCacheDir(cacheDir.toString());
+        LstSnapshotCache disabledCache = new LstSnapshotCache(sbmApplicationProperties, new GitSupport(sbmApplicationProperties));
+
+        assertThat(disabledCache.getSnapshotFile(projectDir, resources)).isEmpty();
+    }
+
+    @Test
+    void storeShouldReplaceOutdatedSnapshot() throws Exception {
+        sut.store(sut.getSnapshotFile(projectDir, resources).get(), sourceFiles, List.of());
+        Files.writeString(projectDir.resolve("README.txt"), "changed text");
+        sut.store(sut.getSnapshotFile(projectDir, resources).get(), sourceFiles, List.of());
+
+        try (var snapshotDirs = Files.list(cacheDir)) {
+            Path snapshotDir = snapshotDirs.findFirst().get();
+            try (var snapshots = Files.list(snapshotDir)) {
+                assertThat(snapshots.count()).isEqualTo(1);
+            }
+        }
+    }
+
+    static class NotAnLstClass {
+        private String value = "value";
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenParser;
+import org.springframework.sbm.build.migration.MavenPomCacheProvider;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContextFactory;
+import org.springframework.sbm.engine.context.ProjectRootPathResolver;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.engine.precondition.PreconditionVerifier;
+import org.springframework.sbm.engine.recipe.ConfigurableRecipeScheduler;
+import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
+import org.springframework.sbm.java.impl.RewriteJavaParser;
+import org.springframework.sbm.java.refactoring.JavaRefactoringFactoryImpl;
+import org.springframework.sbm.java.util.BasePackageCalculator;
+import org.springframework.sbm.project.RewriteSourceFileWrapper;
+import org.springframework.sbm.project.resource.*;
+import org.springframework.sbm.properties.parser.RewritePropertiesParser;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.sbm.scopes.ScopeConfiguration;
+import org.springframework.sbm.xml.parser.RewriteXmlParser;
+import org.springframework.util.StopWatch;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the result and scan time of sequential and parallel parsing.
+ */
+@Slf4j
+@SpringBootTest(classes = {
+        ProjectContextInitializer.class,
+        LstSnapshotCache.class,
+        RewriteMavenArtifactDownloader.class,
+        ArtifactDownloadPipeline.class,
+        JavaProvenanceMarkerFactory.class,
+        BasePackageCalculator.class,
+        ProjectRootPathResolver.class,
+        PreconditionVerifier.class,
+        ProjectContextFactory.class,
+        MavenPomCacheProvider.class,
+        SbmApplicationProperties.class,
+        RewriteMigrationResultMerger.class,
+        PathScanner.class,
+        RewriteJavaParser.class,
+        RewritePlainTextParser.class,
+        RewriteYamlParser.class,
+        RewriteJsonParser.class,
+        ResourceParser.class,
+        RewritePropertiesParser.class,
+        MavenProjectParser.class,
+        RewriteMavenParser.class,
+        MavenSettingsInitializer.class,
+        RewriteXmlParser.class,
+        ResourceHelper.class,
+        GitSupport.class,
+        ScanCommand.class,
+        ProjectResourceSetHolder.class,
+        JavaRefactoringFactoryImpl.class,
+        ConfigurableRecipeScheduler.class,
+        ProjectResourceWrapperRegistry.class,
+        RewriteSourceFileWrapper.class,
+        MavenConfigHandler.class,
+        ScopeConfiguration.class,
+        ScanScope.class,
+        ExecutionScope.class
+}, properties = {"sbm.gitSupportEnabled=false"})
+class MavenProjectParserParallelParsingTest {
+
+    private final Path projectDirectory = Path.of("./testcode/multi-module/example1/given").toAbsolutePath().normalize();
+
+    @Autowired
+    private MavenProjectParser sut;
+
+    @Autowired
+    private ScanCommand scanCommand;
+
+    @Autowired
+    private SbmApplicationProperties sbmApplicationProperties;
+
+    @AfterEach
+    void afterEach() {
+        sbmApplicationProperties.setParallelParsingEnabled(false);
+    }
+
+    @Test
+    void parallelParsingShouldProduceSameSourceFilesInSameOrderAsSequentialParsing() {
+        List<Resource> resources = scanCommand.scanProjectRoot(projectDirectory.toString());
+        StopWatch stopWatch = new StopWatch();
+
+        sbmApplicationProperties.setParallelParsingEnabled(false);
+        stopWatch.start("sequential");
+        List<SourceFile> sequential = sut.parse(projectDirectory, resources);
+        stopWatch.stop();
+
+        sbmApplicationProperties.setParallelParsingEnabled(true);
+        sbmApplicationProperties.setParallelParsingThreads(4);
+        stopWatch.start("parallel");
+        List<SourceFile> parallel = sut.parse(projectDirectory, resources);
+        stopWatch.stop();
+
+        log.info(stopWatch.prettyPrint());
+
+        assertThat(parallel).hasSize(sequential.size());
+        assertThat(parallel.stream().map(SourceFile::getSourcePath).toList())
+                .containsExactlyElementsOf(sequential.stream().map(SourceFile::getSourcePath).toList());
+        assertThat(parallel.stream().map(SourceFile::printAll).toList())
+                .containsExactlyElementsOf(sequential.stream().map(SourceFile::printAll).toList());
+    }
+}
@@ -60,4 +60,16 @@ class PathScannerTest {
         assertThat(resources).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    void ignoredDirectoriesShouldMatchIgnorePatterns() {
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setIgnoredPathsPatterns(List.of("**/target/**"));
+        PathScanner sut = new PathScanner(sbmApplicationProperties, new ResourceHelper(new DefaultResourceLoader()));
+        Path projectRoot = Path.of(TESTCODE_DIR).toAbsolutePath().normalize();
+
+        assertThat(sut.isIgnored(projectRoot, projectRoot.resolve("target"))).isTrue();
+        assertThat(sut.isIgnored(projectRoot, projectRoot.resolve("module/target"))).isTrue();
+        assertThat(sut.isIgnored(projectRoot, projectRoot.resolve("module/src"))).isFalse();
+    }
+
+}
@@ -34,6 +34,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
 import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
 import org.springframework.sbm.build.impl.RewriteMavenParser;
 import org.springframework.sbm.build.migration.MavenPomCacheProvider;
@@ -43,6 +44,7 @@ import org.springframework.sbm.engine.context.ProjectContextFactory;
 import org.springframework.sbm.engine.context.ProjectRootPathResolver;
 import org.springframework.sbm.engine.git.GitSupport;
 import org.springframework.sbm.engine.precondition.PreconditionVerifier;
+import org.springframework.sbm.engine.recipe.ConfigurableRecipeScheduler;
 import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
 import org.springframework.sbm.java.impl.RewriteJavaParser;
 import org.springframework.sbm.java.refactoring.JavaRefactoringFactoryImpl;
@@ -67,7 +69,9 @@ import static org.springframework.sbm.project.parser.ResourceVerifierTestHelper.
 
 @SpringBootTest(classes = {
         ProjectContextInitializer.class,
+        LstSnapshotCache.class,
         RewriteMavenArtifactDownloader.class,
+        ArtifactDownloadPipeline.class,
         JavaProvenanceMarkerFactory.class,
         BasePackageCalculator.class,
         BasePackageCalculator.class,
@@ -94,6 +98,7 @@ import static org.springframework.sbm.project.parser.ResourceVerifierTestHelper.
         ScanCommand.class,
         ProjectResourceSetHolder.class,
         JavaRefactoringFactoryImpl.class,
+        ConfigurableRecipeScheduler.class,
         ProjectResourceWrapperRegistry.class,
         RewriteSourceFileWrapper.class,
         MavenConfigHandler.class,
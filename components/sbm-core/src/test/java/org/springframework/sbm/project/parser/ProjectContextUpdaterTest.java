@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.parser;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.sbm.build.impl.MavenSettingsInitializer;
+import org.springframework.sbm.build.impl.ArtifactDownloadPipeline;
+import org.springframework.sbm.build.impl.RewriteMavenArtifactDownloader;
+import org.springframework.sbm.build.impl.RewriteMavenParser;
+import org.springframework.sbm.build.migration.MavenPomCacheProvider;
+import org.springframework.sbm.engine.commands.ScanCommand;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.context.ProjectContextFactory;
+import org.springframework.sbm.engine.context.ProjectRootPathResolver;
+import org.springframework.sbm.engine.git.GitSupport;
+import org.springframework.sbm.engine.precondition.PreconditionVerifier;
+import org.springframework.sbm.engine.recipe.ConfigurableRecipeScheduler;
+import org.springframework.sbm.engine.recipe.RewriteMigrationResultMerger;
+import org.springframework.sbm.java.impl.RewriteJavaParser;
+import org.springframework.sbm.java.refactoring.JavaRefactoringFactoryImpl;
+import org.springframework.sbm.java.util.BasePackageCalculator;
+import org.springframework.sbm.project.RewriteSourceFileWrapper;
+import org.springframework.sbm.project.resource.*;
+import org.springframework.sbm.properties.parser.RewritePropertiesParser;
+import org.springframework.sbm.scopes.ExecutionScope;
+import org.springframework.sbm.scopes.ScanScope;
+import org.springframework.sbm.scopes.ScopeConfiguration;
+import org.springframework.sbm.xml.parser.RewriteXmlParser;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = {
+        ProjectContextInitializer.class,
+        ProjectContextUpdater.class,
+        LstSnapshotCache.class,
+        RewriteMavenArtifactDownloader.class,
+        ArtifactDownloadPipeline.class,
+        JavaProvenanceMarkerFactory.class,
+        BasePackageCalculator.class,
+        ProjectRootPathResolver.class,
+        PreconditionVerifier.class,
+        ProjectContextFactory.class,
+        MavenPomCacheProvider.class,
+        SbmApplicationProperties.class,
+        RewriteMigrationResultMerger.class,
+        PathScanner.class,
+        RewriteJavaParser.class,
+        RewritePlainTextParser.class,
+        RewriteYamlParser.class,
+        RewriteJsonParser.class,
+        ResourceParser.class,
+        RewritePropertiesParser.class,
+        MavenProjectParser.class,
+        RewriteMavenParser.class,
+        MavenSettingsInitializer.class,
+        RewriteXmlParser.class,
+        ResourceHelper.class,
+        GitSupport.class,
+        ScanCommand.class,
+        ProjectResourceSetHolder.class,
+        JavaRefactoringFactoryImpl.class,
+        ConfigurableRecipeScheduler.class,
+        ProjectResourceWrapperRegistry.class,
+        RewriteSourceFileWrapper.class,
+        MavenConfigHandler.class,
+        ScopeConfiguration.class,
+        ScanScope.class,
+        ExecutionScope.class
+})
+@ExtendWith(OutputCaptureExtension.class)
+class ProjectContextUpdaterTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Autowired
+    private ProjectContextUpdater sut;
+
+    @Autowired
+    private ScanCommand scanCommand;
+
+    @Autowired
+    private GitSupport gitSupport;
+
+    private ProjectContext projectContext;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        FileSystemUtils.copyRecursively(Path.of("./testcode/multi-module/example1/given"), projectDir);
+        try (Git git = GitSupport.initGit(projectDir.toFile())) {
+            gitSupport.add(projectDir.toFile(), ".");
+            gitSupport.commit(projectDir.toFile(), "initial");
+        }
+        projectContext = scanCommand.execute(projectDir.toString());
+    }
+
+    @Test
+    void shouldOnlyReparseChangedFiles() throws IOException {
+        RewriteSourceFileHolder<? extends SourceFile> bar = getResource("module2/src/main/java/Bar.java");
+        RewriteSourceFileHolder<? extends SourceFile> module1Pom = getResource("module1/pom.xml");
+        Files.writeString(projectDir.resolve("module1/src/main/java/Foo.java"), "public class Foo { String s; }");
+        Files.createDirectories(projectDir.resolve("module2/src/main/resources"));
+        Files.writeString(projectDir.resolve("module2/src/main/resources/application.properties"), "foo=bar");
+        Files.delete(projectDir.resolve("src/main/java/Baz.java"));
+
+        Set<Path> changedFiles = gitSupport.getChangedFiles(projectDir.toFile(), projectContext.getRevision());
+        sut.updateProjectContext(projectContext, changedFiles);
+
+        assertThat(getResource("module1/src/main/java/Foo.java").print()).isEqualTo("public class Foo { String s; }");
+        assertThat(getResource("module2/src/main/resources/application.properties").print()).isEqualTo("foo=bar");
+        assertThat(projectContext.getProjectResources().indexOf(projectDir.resolve("src/main/java/Baz.java"))).isEqualTo(-1);
+        assertThat(getResource("module2/src/main/java/Bar.java")).isSameAs(bar);
+        assertThat(getResource("module1/pom.xml")).isSameAs(module1Pom);
+        assertThat(projectContext.getProjectResources().list()).hasSize(6);
+    }
+
+    @Test
+    void shouldReparseSourcesOfModuleWithChangedPom() throws IOException {
+        RewriteSourceFileHolder<? extends SourceFile> foo = getResource("module1/src/main/java/Foo.java");
+        RewriteSourceFileHolder<? extends SourceFile> bar = getResource("module2/src/main/java/Bar.java");
+        Path module2Pom = projectDir.resolve("module2/pom.xml");
+        Files.writeString(module2Pom, Files.readString(module2Pom).replace("<artifactId>module2</artifactId>", "<artifactId>module2</artifactId>\n    <description>changed</description>"));
+
+        Set<Path> changedFiles = gitSupport.getChangedFiles(projectDir.toFile(), projectContext.getRevision());
+        sut.updateProjectContext(projectContext, changedFiles);
+
+        assertThat(getResource("module2/pom.xml").print()).contains("<description>changed</description>");
+        assertThat(getResource("module2/src/main/java/Bar.java")).isNotSameAs(bar);
+        assertThat(getResource("module1/src/main/java/Foo.java")).isSameAs(foo);
+        assertThat(projectContext.getProjectResources().list()).hasSize(6);
+    }
+
+    @Test
+    void shouldDetectChangedPomsOfProjectInSrcDirectory(@TempDir Path tempDir) throws IOException {
+        Path nestedProjectDir = tempDir.resolve("src/project");
+        FileSystemUtils.copyRecursively(Path.of("./testcode/multi-module/example1/given"), nestedProjectDir);
+        try (Git git = GitSupport.initGit(nestedProjectDir.toFile())) {
+            gitSupport.add(nestedProjectDir.toFile(), ".");
+            gitSupport.commit(nestedProjectDir.toFile(), "initial");
+        }
+        ProjectContext nestedProjectContext = scanCommand.execute(nestedProjectDir.toString());
+        ProjectResourceSet projectResources = nestedProjectContext.getProjectResources();
+        RewriteSourceFileHolder<? extends SourceFile> bar = projectResources.findByAbsolutePath(nestedProjectDir.resolve("module2/src/main/java/Bar.java")).get();
+        Path module2Pom = nestedProjectDir.resolve("module2/pom.xml");
+        Files.writeString(module2Pom, Files.readString(module2Pom).replace("<artifactId>module2</artifactId>", "<artifactId>module2</artifactId>\n    <description>changed</description>"));
+
+        Set<Path> changedFiles = gitSupport.getChangedFiles(nestedProjectDir.toFile(), nestedProjectContext.getRevision());
+        sut.updateProjectContext(nestedProjectContext, changedFiles);
+
+        assertThat(projectResources.findByAbsolutePath(module2Pom).get().print()).contains("<description>changed</description>");
+        assertThat(projectResources.findByAbsolutePath(nestedProjectDir.resolve("module2/src/main/java/Bar.java")).get()).isNotSameAs(bar);
+        assertThat(projectResources.list()).hasSize(6);
+    }
+
+    @Test
+    void shouldLogChangedFilesInNoModule(CapturedOutput output) throws IOException {
+        Logger logger = (Logger) LoggerFactory.getLogger(ProjectContextUpdater.class);
+        logger.setLevel(Level.INFO);
+        // without the root pom the files in the root directory belong to no module
+        projectContext.getProjectResources().removeAll(List.of(projectDir.resolve("pom.xml")));
+        Path baz = projectDir.resolve("src/main/java/Baz.java");
+        Files.writeString(baz, "public class Baz { String s; }");
+
+        Set<Path> changedFiles = gitSupport.getChangedFiles(projectDir.toFile(), projectContext.getRevision());
+        try {
+            sut.updateProjectContext(projectContext, changedFiles);
+        } finally {
+            logger.setLevel(null);
+        }
+
+        assertThat(output).contains("Ignoring 1 changed files not belonging to any module: [" + baz + "]");
+    }
+
+    private RewriteSourceFileHolder<? extends SourceFile> getResource(String path) {
+        ProjectResourceSet projectResources = projectContext.getProjectResources();
+        int index = projectResources.indexOf(projectDir.resolve(path));
+        assertThat(index).as("Resource '%s' not found.", path).isGreaterThan(-1);
+        return projectResources.list().get(index);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectResourceSetSerializerTest {
+
+    @TempDir
+    Path projectRoot;
+
+    @Test
+    void shouldWriteChangedResourcesConcurrentlyAndDeleteDeletedResources() throws IOException {
+        Files.writeString(projectRoot.resolve("deleted.txt"), "deleted");
+        Files.writeString(projectRoot.resolve("file-0.txt"), "unchanged");
+        List<RewriteSourceFileHolder<? extends SourceFile>> resources = IntStream.range(0, 50)
+                .mapToObj(i -> plainText("file-" + i + ".txt", "content ä " + i))
+                .collect(Collectors.toList());
+        resources.forEach(RewriteSourceFileHolder::markChanged);
+        RewriteSourceFileHolder<PlainText> deleted = plainText("deleted.txt", "deleted");
+        deleted.delete();
+        resources.add(deleted);
+        RewriteSourceFileHolder<PlainText> unchanged = plainText("unchanged.txt", "unchanged");
+        resources.add(unchanged);
+        ProjectResourceSet projectResourceSet = new ProjectResourceSet(new ArrayList<>(resources));
+        SbmApplicationProperties sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setParallelWriteBackEnabled(true);
+        sbmApplicationProperties.setParallelWriteBackThreads(4);
+        ProjectResourceSetSerializer sut = new ProjectResourceSetSerializer(new ProjectResourceSerializer(), sbmApplicationProperties);
+
+        try {
+            sut.writeChanges(projectResourceSet);
+        } finally {
+            sut.destroy();
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(projectRoot.resolve("file-" + i + ".txt")).usingCharset(StandardCharsets.UTF_8).hasContent("content ä " + i);
+        }
+        assertThat(projectRoot.resolve("deleted.txt")).doesNotExist();
+        assertThat(projectRoot.resolve("unchanged.txt")).doesNotExist();
+        assertThat(projectResourceSet.size()).isEqualTo(51);
+        assertThat(resources.get(0).hasChanges()).isFalse();
+        try (Stream<Path> files = Files.list(projectRoot)) {
+            assertThat(files.map(p -> p.getFileName().toString())).noneMatch(name -> name.endsWith(".tmp"));
+        }
+    }
+
+    private RewriteSourceFileHolder<PlainText> plainText(String path, String content) {
+        PlainText plainText = new PlainTextParser().parse(content).get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(projectRoot, plainText);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.project.resource;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.SourceFile;
+import org.openrewrite.text.PlainText;
+import org.openrewrite.text.PlainTextParser;
+import org.openrewrite.xml.XmlParser;
+import org.openrewrite.xml.tree.Xml;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProjectResourceSetTest {
+
+    private final Path projectRoot = Path.of("/project").toAbsolutePath();
+
+    @Test
+    void lookupsShouldReflectAddAndReplace() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<Xml.Document> b = xml("b.xml");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b)));
+        RewriteSourceFileHolder<PlainText> c = plainText("c.txt");
+
+        sut.add(c);
+
+        assertThat(sut.indexOf(projectRoot.resolve("c.txt"))).isEqualTo(2);
+        assertThat(sut.findById(c.getId())).containsSame(c);
+        assertThat(sut.streamByType(PlainText.class)).containsExactly(a, c);
+        assertThat(sut.streamByType(SourceFile.class).map(RewriteSourceFileHolder::getId)).containsExactly(a.getId(), b.getId(), c.getId());
+
+        RewriteSourceFileHolder<PlainText> newA = plainText("a.txt");
+        sut.replace(projectRoot.resolve("a.txt"), newA);
+
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("a.txt"))).containsSame(newA);
+        assertThat(sut.findById(a.getId())).isEmpty();
+        assertThat(sut.findById(newA.getId())).containsSame(newA);
+        assertThat(sut.streamByType(PlainText.class)).containsExactly(newA, c);
+    }
+
+    @Test
+    void lookupsShouldReflectChangesOfResources() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b)));
+
+        a.moveTo(Path.of("moved/a.txt"));
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("a.txt"))).isEmpty();
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("moved/a.txt"))).containsSame(a);
+
+        PlainText replacement = new PlainTextParser().parse("changed").get(0).withSourcePath(Path.of("b.txt"));
+        b.replaceWith(replacement);
+        assertThat(sut.findById(replacement.getId())).containsSame(b);
+
+        b.delete();
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("b.txt"))).isEmpty();
+        assertThat(sut.indexOf(projectRoot.resolve("b.txt"))).isEqualTo(1);
+        assertThat(sut.streamByType(PlainText.class)).containsExactly(a);
+
+        sut.clearDeletedResources();
+        assertThat(sut.indexOf(projectRoot.resolve("b.txt"))).isEqualTo(-1);
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeShouldUpdatePositions() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        RewriteSourceFileHolder<PlainText> c = plainText("c.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b, c)));
+
+        sut.remove(projectRoot.resolve("a.txt"));
+
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("a.txt"))).isEmpty();
+        assertThat(sut.indexOf(projectRoot.resolve("c.txt"))).isEqualTo(1);
+        assertThat(sut.list()).containsExactly(b, c);
+    }
+
+    @Test
+    void removeAllShouldRemoveAllGivenPaths() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        RewriteSourceFileHolder<PlainText> c = plainText("c.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b, c)));
+
+        sut.removeAll(List.of(projectRoot.resolve("a.txt"), projectRoot.resolve("c.txt"), projectRoot.resolve("unknown.txt")));
+
+        assertThat(sut.list()).containsExactly(b);
+        assertThat(sut.indexOf(projectRoot.resolve("b.txt"))).isEqualTo(0);
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("c.txt"))).isEmpty();
+    }
+
+    @Test
+    void modificationCountShouldOnlyReflectChangesOfOwnResources() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a)));
+        ProjectResourceSet other = new ProjectResourceSet(new ArrayList<>(List.of(b)));
+        long modificationCount = sut.getModificationCount();
+        long otherModificationCount = other.getModificationCount();
+
+        b.moveTo(Path.of("moved/b.txt"));
+
+        assertThat(sut.getModificationCount()).isEqualTo(modificationCount);
+        assertThat(other.getModificationCount()).isNotEqualTo(otherModificationCount);
+
+        a.delete();
+
+        assertThat(sut.getModificationCount()).isNotEqualTo(modificationCount);
+    }
+
+    @Test
+    void readOnlyShouldRejectChangesOfOwnResourcesOnly() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a)));
+        new ProjectResourceSet(new ArrayList<>(List.of(b)));
+
+        Optional<RewriteSourceFileHolder<? extends SourceFile>> found = sut.readOnly(() -> {
+            b.moveTo(Path.of("moved/b.txt"));
+            return sut.findByAbsolutePath(projectRoot.resolve("a.txt"));
+        });
+
+        assertThat(found).containsSame(a);
+        assertThatThrownBy(() -> sut.readOnly(() -> {
+            a.moveTo(Path.of("moved/a.txt"));
+            return null;
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("a.txt"))).containsSame(a);
+    }
+
+    @Test
+    void removedResourcesShouldNotChangeSet() {
+        RewriteSourceFileHolder<PlainText> a = plainText("a.txt");
+        RewriteSourceFileHolder<PlainText> b = plainText("b.txt");
+        ProjectResourceSet sut = new ProjectResourceSet(new ArrayList<>(List.of(a, b)));
+        sut.remove(projectRoot.resolve("a.txt"));
+        long modificationCount = sut.getModificationCount();
+
+        a.moveTo(Path.of("b.txt"));
+
+        assertThat(sut.getModificationCount()).isEqualTo(modificationCount);
+        assertThat(sut.findByAbsolutePath(projectRoot.resolve("b.txt"))).containsSame(b);
+    }
+
+    private RewriteSourceFileHolder<PlainText> plainText(String path) {
+        PlainText plainText = new PlainTextParser().parse("content of " + path).get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(projectRoot, plainText);
+    }
+
+    private RewriteSourceFileHolder<Xml.Document> xml(String path) {
+        Xml.Document document = new XmlParser().parse("<root/>").get(0).withSourcePath(Path.of(path));
+        return new RewriteSourceFileHolder<>(projectRoot, document);
+    }
+}
@@ -467,7 +467,7 @@ public class TestProjectContext {
             ProjectContext projectContext = build();
 
             ProjectContextSerializer serializer = new ProjectContextSerializer(
-                    new ProjectResourceSetSerializer(new ProjectResourceSerializer()));
+                    new ProjectResourceSetSerializer(new ProjectResourceSerializer(), sbmApplicationProperties));
             projectContext.getProjectResources().stream().forEach(RewriteSourceFileHolder::markChanged);
             serializer.writeChanges(projectContext);
             return projectContext;
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade.common;
+
+import org.asciidoctor.Asciidoctor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Renders Asciidoctor markup to HTML with long-lived Asciidoctor instances.
+ *
+ * Creating an Asciidoctor instance boots a JRuby runtime which takes seconds, so instances are created once
+ * and reused for following renderings.
+ * An instance is only used by one thread at a time, up to {@code sbm.asciidoctorInstances} instances are created
+ * when renderings run concurrently.
+ * The instances are shut down when the application context is closed.
+ */
+@Component
+public class AsciidoctorRenderer implements DisposableBean {
+
+    private final int maxInstances;
+    private final BlockingQueue<Asciidoctor> idleInstances = new LinkedBlockingQueue<>();
+    private final List<Asciidoctor> instances = new ArrayList<>();
+    private volatile boolean destroyed;
+
+    public AsciidoctorRenderer(@Value("${sbm.asciidoctorInstances:1}") int maxInstances) {
+        this.maxInstances = Math.max(1, maxInstances);
+    }
+
+    public String renderHtml(String markdown) {
+        return renderHtml(markdown, "spring-html");
+    }
+
+    public String renderHtml(String markdown, String backend) {
+        return withAsciidoctor(asciidoctor -> asciidoctor.convert(markdown, UpgradeReportUtil.htmlOptions(backend)));
+    }
+
+    public void writeHtml(String markdown, Path outputDir, String filename) {
+        withAsciidoctor(asciidoctor -> asciidoctor.convert(markdown, UpgradeReportUtil.fileOptions(outputDir, filename)));
+    }
+
+    @Override
+    public synchronized void destroy() {
+        destroyed = true;
+        instances.forEach(Asciidoctor::shutdown);
+        instances.clear();
+        idleInstances.clear();
+    }
+
+    <T> T withAsciidoctor(Function<Asciidoctor, T> rendering) {
+        Asciidoctor asciidoctor = acquire();
+        try {
+            return rendering.apply(asciidoctor);
+        } finally {
+            release(asciidoctor);
+        }
+    }
+
+    /**
+     * Waits for an idle instance when all instances are in use, checking every second if the renderer was destroyed
+     * in the meantime, as instances are not released anymore then.
+     */
+    private Asciidoctor acquire() {
+        Asciidoctor asciidoctor = idleInstances.poll();
+        while (asciidoctor == null) {
+            synchronized (this) {
+                if (destroyed) {
+                    throw new IllegalStateException("AsciidoctorRenderer was already destroyed");
+                }
+                if (instances.size() < maxInstances) {
+                    asciidoctor = Asciidoctor.Factory.create();
+                    instances.add(asciidoctor);
+                    return asciidoctor;
+                }
+            }
+            try {
+                asciidoctor = idleInstances.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an Asciidoctor instance", e);
+            }
+        }
+        return asciidoctor;
+    }
+
+    private synchronized void release(Asciidoctor asciidoctor) {
+        // instances were shut down already when destroyed
+        if (!destroyed) {
+            idleInstances.add(asciidoctor);
+        }
+    }
+}
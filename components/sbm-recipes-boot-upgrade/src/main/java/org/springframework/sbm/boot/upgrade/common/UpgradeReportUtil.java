@@ -41,29 +41,41 @@ public class UpgradeReportUtil {
         return renderHtml(markdown, "spring-html");
     }
 
+    /**
+     * Boots a new Asciidoctor instance for every call, use {@link AsciidoctorRenderer} when rendering repeatedly.
+     */
     public static void writeHtml(String markdown, Path outputDir, String filename) {
-        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
-        asciidoctor.convert(markdown, Options.builder()
-                    .mkDirs(true)
-                    .toDir(outputDir.toFile())
-                    .toFile(new File(filename))
-                    .backend("spring-html")
-                    .headerFooter(true)
-                    .safe(SafeMode.UNSAFE)
-                    .build()
-        );
+        try (Asciidoctor asciidoctor = Asciidoctor.Factory.create()) {
+            asciidoctor.convert(markdown, fileOptions(outputDir, filename));
+        }
     }
 
+    /**
+     * Boots a new Asciidoctor instance for every call, use {@link AsciidoctorRenderer} when rendering repeatedly.
+     */
     public static String renderHtml(String markdown, String backend) {
-        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+        try (Asciidoctor asciidoctor = Asciidoctor.Factory.create()) {
+            return asciidoctor.convert(markdown, htmlOptions(backend));
+        }
+    }
+
+    static Options fileOptions(Path outputDir, String filename) {
+        return Options.builder()
+                .mkDirs(true)
+                .toDir(outputDir.toFile())
+                .toFile(new File(filename))
+                .backend("spring-html")
+                .headerFooter(true)
+                .safe(SafeMode.UNSAFE)
+                .build();
+    }
 
-        String html = asciidoctor.convert(markdown,
-                                          Options.builder()
-                                                  .toFile(true)
-                                                  .backend(backend)
-                                                  .headerFooter(true)
-                                                  .safe(SafeMode.UNSAFE)
-                                                  .build());
-        return html;
+    static Options htmlOptions(String backend) {
+        return Options.builder()
+                .toFile(true)
+                .backend(backend)
+                .headerFooter(true)
+                .safe(SafeMode.UNSAFE)
+                .build();
     }
 }
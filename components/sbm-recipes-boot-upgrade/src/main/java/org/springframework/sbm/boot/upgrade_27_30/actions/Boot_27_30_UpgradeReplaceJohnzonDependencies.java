@@ -32,10 +32,10 @@ public class Boot_27_30_UpgradeReplaceJohnzonDependencies extends AbstractAction
         context.getApplicationModules()
                 .stream()
                 .map(Module::getBuildFile)
-                .forEach(bf -> {
+                .forEach(bf -> bf.batch(() -> {
                     bf.removeDependenciesMatchingRegex(JOHNZON_DEPENDENCY_PATTERN);
                     bf.addDependency(Dependency.fromCoordinates(JOHNZON_DEPENDENCY));
-                });
+                }));
     }
 
     @Override
@@ -18,6 +18,7 @@ package org.springframework.sbm.boot.upgrade_27_30.report;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -34,6 +35,7 @@ import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -46,6 +48,9 @@ import java.util.stream.Stream;
  * After being deserialized from {@code YAML}, the Action renders the {@link SpringBootUpgradeReportSection}s
  * as Asciidoctor and adds it into an Asciidoctor report template.
  * The Asciidoctor report is then rendered to HTML and written to {@code filename}.html in the project directory.
+ * Sections keep their rendered output until the project changes and templates are compiled only once,
+ * so rendering the report again is cheap.
+ * With {@code sbm.parallelReportEnabled} the sections having a read-only helper are evaluated concurrently.
  *
  * @author Fabian Krüger
  */
@@ -87,9 +92,21 @@ public class SpringBootUpgradeReportAction implements Action {
     @Autowired
     private SpringBootUpgradeReportFreemarkerSupport freemarkerSupport;
 
+    @JsonIgnore
+    @Autowired
+    private SpringBootUpgradeReportSectionEvaluator sectionEvaluator;
+
     @Valid
     List<SpringBootUpgradeReportSection> sections;
 
+    /**
+     * Compiled header, footer and report templates by their content.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, Template> templates;
+
     @JsonIgnore
     @Autowired
     private DataProvider dataProvider = new DataProvider() {
@@ -118,6 +135,9 @@ public class SpringBootUpgradeReportAction implements Action {
     @Override
     public void apply(ProjectContext context) {
 
+        if (sectionEvaluator != null) {
+            sectionEvaluator.evaluateReadOnlySections(context, sections);
+        }
 
         List<String> renderedSections = new ArrayList<>();
         sections.stream()
@@ -198,8 +218,7 @@ public class SpringBootUpgradeReportAction implements Action {
     private String renderTemplate(String key, String content, Map<String, Object> data) {
 
         try (StringWriter writer = new StringWriter()) {
-            freemarkerSupport.getStringLoader().putTemplate(key, content);
-            Template report = freemarkerSupport.getConfiguration().getTemplate(key);
+            Template report = getTemplate(key, content);
             report.process(data, writer);
             return writer.toString();
         } catch (IOException e) {
@@ -209,6 +228,18 @@ public class SpringBootUpgradeReportAction implements Action {
         }
     }
 
+    private synchronized Template getTemplate(String key, String content) throws IOException {
+        if (templates == null) {
+            templates = new HashMap<>();
+        }
+        Template template = templates.get(content);
+        if (template == null) {
+            template = new Template(key, content, freemarkerSupport.getConfiguration());
+            templates.put(content, template);
+        }
+        return template;
+    }
+
     @Override
     public void applyInternal(ProjectContext context) {
         apply(context);
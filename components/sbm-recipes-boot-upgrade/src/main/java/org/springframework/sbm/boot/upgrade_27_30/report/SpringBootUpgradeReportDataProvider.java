@@ -53,7 +53,7 @@ public class SpringBootUpgradeReportDataProvider implements SpringBootUpgradeRep
             data.put("projectName", context.getBuildFile().getName().get());
         }
 
-        // FIXME: results in all conditons for all sections being evaluated twice
+        // sections reuse their last evaluation, the conditions are not evaluated again
         data.put("numberOfChanges", sections.stream().filter(s -> s.shouldRender(context)).count());
 
         // FIXME: Retrieve Boot version from Finder
@@ -17,7 +17,7 @@ package org.springframework.sbm.boot.upgrade_27_30.report;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.sbm.boot.upgrade.common.UpgradeReportUtil;
+import org.springframework.sbm.boot.upgrade.common.AsciidoctorRenderer;
 import org.springframework.sbm.engine.context.ProjectContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -33,9 +33,10 @@ public class SpringBootUpgradeReportFileSystemRenderer implements SpringBootUpgr
     private static final String REPORT_DIR = "spring-boot-upgrade-report";
 
     private final ProjectContextHolder contextHolder;
+    private final AsciidoctorRenderer asciidoctorRenderer;
 
     public void writeReport(String s, Path outputDir, String filename) {
-        UpgradeReportUtil.writeHtml(s, outputDir, filename);
+        asciidoctorRenderer.writeHtml(s, outputDir, filename);
     }
 
     @Override
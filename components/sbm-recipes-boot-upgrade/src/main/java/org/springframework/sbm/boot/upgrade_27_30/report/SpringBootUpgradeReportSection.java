@@ -16,8 +16,8 @@
 package org.springframework.sbm.boot.upgrade_27_30.report;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import freemarker.core.ParseException;
 import freemarker.template.*;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +29,7 @@ import org.springframework.sbm.engine.context.ProjectContext;
 import javax.validation.constraints.NotEmpty;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,6 +41,7 @@ import static org.springframework.sbm.SbmConstants.LS;
  * A section in a generated report for Spring Boot 3 upgrade, rendered as Asciidoc from a freemarker template string.
  * The {@link Helper} is condition and evaluates if the section should be rendered.
  * If the section should be rendered, the {@link Helper} provides the data extracted from {@link ProjectContext} to render the template.
+ * The result is kept and reused until the {@link ProjectContext} changes, the template is compiled only once.
  *
  * @author Fabian Krüger
  */
@@ -95,40 +97,52 @@ public class SpringBootUpgradeReportSection {
     @Autowired
     private SpringBootUpgradeReportFreemarkerSupport freemarkerSupport;
 
-    public boolean shouldRender(ProjectContext context) {
-        return helper.evaluate(context);
-    }
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Template template;
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Rendering lastRendering;
 
+    public boolean shouldRender(ProjectContext context) {
+        return getRendering(context).getRenderedSection() != null;
+    }
 
     public String render(ProjectContext context) {
-        if (getHelper().evaluate(context)) {
-            Map<String, ?> params = getHelper().getData();
-
-            try (StringWriter writer = new StringWriter()) {
-                String templateContent = buildTemplate();
-                renderTemplate(params, writer, templateContent);
-                return writer.toString();
-            } catch (TemplateException e) {
-                throw new RuntimeException(e);
-            } catch (TemplateNotFoundException e) {
-                throw new RuntimeException(e);
-            } catch (ParseException e) {
-                throw new RuntimeException(e);
-            } catch (MalformedTemplateNameException e) {
-                throw new RuntimeException(e);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+        String renderedSection = getRendering(context).getRenderedSection();
+        if (renderedSection != null) {
+            return renderedSection;
         }
         throw new IllegalArgumentException("Could not render Section '"+ getTitle()+"', evaluating the context returned false");
     }
 
-    private void renderTemplate(Map<String, ?> params, StringWriter writer, String templateContent) throws IOException, TemplateException {
-        String templateName = getTitle().replace(" ", "") + UUID.randomUUID();
-        freemarkerSupport.getStringLoader().putTemplate(templateName, templateContent);
-        Template t = freemarkerSupport.getConfiguration().getTemplate(templateName);
-        t.process(params, writer);
+    /**
+     * Evaluates the helper and renders the section, or returns the last result if the project didn't change since.
+     */
+    private synchronized Rendering getRendering(ProjectContext context) {
+        long modificationCount = context.getProjectResources().getModificationCount();
+        if (lastRendering == null || !lastRendering.isValidFor(context, modificationCount)) {
+            String renderedSection = getHelper().evaluate(context) ? renderTemplate(getHelper().getData()) : null;
+            lastRendering = new Rendering(new WeakReference<>(context), modificationCount, renderedSection);
+        }
+        return lastRendering;
+    }
+
+    private String renderTemplate(Map<String, ?> params) {
+        try (StringWriter writer = new StringWriter()) {
+            if (template == null) {
+                template = new Template(getTitle(), buildTemplate(), freemarkerSupport.getConfiguration());
+            }
+            template.process(params, writer);
+            return writer.toString();
+        } catch (TemplateException e) {
+            throw new RuntimeException(e);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     @NotNull
@@ -292,6 +306,21 @@ public class SpringBootUpgradeReportSection {
     }
 
 
+    @Getter
+    @RequiredArgsConstructor
+    private static class Rendering {
+        private final WeakReference<ProjectContext> context;
+        private final long modificationCount;
+        /**
+         * {@code null} if the section should not be rendered.
+         */
+        private final String renderedSection;
+
+        boolean isValidFor(ProjectContext context, long modificationCount) {
+            return this.context.get() == context && this.modificationCount == modificationCount;
+        }
+    }
+
     @Getter
     @RequiredArgsConstructor
     @EqualsAndHashCode
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade_27_30.report;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates the sections with read-only helpers concurrently when {@code sbm.parallelReportEnabled} is set.
+ *
+ * The sections keep the result, so rendering them afterwards in their order doesn't evaluate them again.
+ * The {@code ProjectResourceSet} rejects changes while the sections are evaluated.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpringBootUpgradeReportSectionEvaluator implements DisposableBean {
+
+    private final SbmApplicationProperties sbmApplicationProperties;
+
+    private ExecutorService executorService;
+
+    public void evaluateReadOnlySections(ProjectContext context, List<SpringBootUpgradeReportSection> sections) {
+        if (!sbmApplicationProperties.isParallelReportEnabled()) {
+            return;
+        }
+        List<SpringBootUpgradeReportSection> readOnlySections = sections.stream()
+                .filter(s -> s.getHelper().isReadOnly())
+                .collect(Collectors.toList());
+        if (readOnlySections.size() < 2) {
+            return;
+        }
+        ExecutorService executorService = getExecutorService();
+        context.getProjectResources().readOnly(() -> {
+            List<CompletableFuture<Boolean>> evaluated = readOnlySections.stream()
+                    .map(s -> CompletableFuture.supplyAsync(() -> s.shouldRender(context), executorService))
+                    .collect(Collectors.toList());
+            evaluated.forEach(CompletableFuture::join);
+            return null;
+        });
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(Math.max(1, sbmApplicationProperties.getParallelReportThreads()));
+        }
+        return executorService;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
+    }
+}
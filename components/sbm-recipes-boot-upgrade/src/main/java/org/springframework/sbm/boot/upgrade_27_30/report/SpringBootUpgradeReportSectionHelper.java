@@ -34,4 +34,12 @@ public abstract class SpringBootUpgradeReportSectionHelper<T> implements Conditi
     public String getDescription() {
         return "";
     }
+
+    /**
+     * Read-only helpers only read the {@code ProjectContext} in {@link #evaluate} and keep the data in the helper,
+     * so the report can evaluate them concurrently.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
 }
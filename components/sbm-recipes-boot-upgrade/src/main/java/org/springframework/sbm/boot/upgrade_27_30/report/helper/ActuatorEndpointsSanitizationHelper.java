@@ -57,6 +57,11 @@ public class ActuatorEndpointsSanitizationHelper extends SpringBootUpgradeReport
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<BuildFile>> getData() {
         return Map.of("matchingBuildFiles", buildFilesWithActuatorOnClasspath);
@@ -29,6 +29,11 @@ public class AddSpringBootRepositoriesHelper extends SpringBootUpgradeReportSect
         return new NoRepositoryExistsCondition().evaluate(context) && new NoPluginRepositoryExistsCondition().evaluate(context);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, String> getData() {
         return Map.of();
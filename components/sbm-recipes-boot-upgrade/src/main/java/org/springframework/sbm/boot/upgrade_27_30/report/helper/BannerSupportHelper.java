@@ -55,6 +55,11 @@ public class BannerSupportHelper extends SpringBootUpgradeReportSectionHelper<Li
         return !foundBanners.isEmpty();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<String>> getData() {
 
@@ -85,6 +85,11 @@ public class ChangesToDataPropertiesHelper extends SpringBootUpgradeReportSectio
         return noDepExists && !data.isEmpty();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<Match>> getData() {
         return data;
@@ -61,6 +61,11 @@ public class CommonsMultipartResolverHelper extends SpringBootUpgradeReportSecti
         return !search.isEmpty();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<String>> getData() {
         return Map.of("types", types);
@@ -15,19 +15,10 @@
  */
 package org.springframework.sbm.boot.upgrade_27_30.report.helper;
 
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.TreeVisitor;
-import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.spring.boot3.RemoveConstructorBindingAnnotation;
-import org.openrewrite.java.tree.J;
 import org.springframework.sbm.boot.common.conditions.IsSpringBootProject;
-import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSection;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.engine.recipe.OpenRewriteSourceFilesFinder;
-import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
-import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
+import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
 
 import java.util.List;
 import java.util.Map;
@@ -53,11 +44,8 @@ public class ConstructorBindingHelper extends SpringBootUpgradeReportSectionHelp
             return false;
         }
 
-        GenericOpenRewriteRecipe<TreeVisitor<?, ExecutionContext>> recipe =
-                new GenericOpenRewriteRecipe<>(() -> new UsesType("org.springframework.boot.context.properties.ConstructorBinding"));
-
-        List<RewriteSourceFileHolder<J.CompilationUnit>> rewriteSourceFileHolders =
-                context.getProjectJavaSources().find(recipe);
+        List<OpenRewriteJavaSource> rewriteSourceFileHolders = JavaTypeFinder.of(context)
+                .findUsing("org.springframework.boot.context.properties.ConstructorBinding");
 
         constructorBindingFiles = rewriteSourceFileHolders
                 .stream()
@@ -67,6 +55,11 @@ public class ConstructorBindingHelper extends SpringBootUpgradeReportSectionHelp
         return !rewriteSourceFileHolders.isEmpty();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     public Map<String, List<String>> getData() {
         return Map.of("files", constructorBindingFiles);
     }
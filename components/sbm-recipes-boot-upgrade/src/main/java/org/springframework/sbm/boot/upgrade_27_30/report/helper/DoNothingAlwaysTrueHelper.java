@@ -30,6 +30,11 @@ public class DoNothingAlwaysTrueHelper extends SpringBootUpgradeReportSectionHel
         return true;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map getData() {
         return Map.of();
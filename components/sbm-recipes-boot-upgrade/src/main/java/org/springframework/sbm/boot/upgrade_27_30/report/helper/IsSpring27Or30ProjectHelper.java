@@ -49,6 +49,11 @@ public class IsSpring27Or30ProjectHelper extends SpringBootUpgradeReportSectionH
         return true;
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<String>> getData() {
         // FIXME: dummy
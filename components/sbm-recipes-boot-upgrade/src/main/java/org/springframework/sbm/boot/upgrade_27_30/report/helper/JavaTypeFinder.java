@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade_27_30.report.helper;
+
+import org.openrewrite.java.search.UsesType;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.api.ProjectJavaSources;
+import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
+import org.springframework.sbm.java.impl.TypeHierarchyIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Finds Java sources implementing or using types for the report section helpers.
+ *
+ * Implementations are looked up in the {@link TypeHierarchyIndex} of the project and usages are found with
+ * {@link ProjectJavaSources#findClassesUsingType(String)}, which visits the sources without running a recipe.
+ * No source file is replaced, so helpers using this finder only read the project.
+ */
+public class JavaTypeFinder {
+
+    private final ProjectJavaSources projectJavaSources;
+    private final TypeHierarchyIndex typeHierarchyIndex;
+
+    private JavaTypeFinder(ProjectJavaSources projectJavaSources, TypeHierarchyIndex typeHierarchyIndex) {
+        this.projectJavaSources = projectJavaSources;
+        this.typeHierarchyIndex = typeHierarchyIndex;
+    }
+
+    public static JavaTypeFinder of(ProjectContext context) {
+        return new JavaTypeFinder(context.getProjectJavaSources(), context.getTypeHierarchyIndex());
+    }
+
+    /**
+     * Java sources with a top-level or nested class directly implementing (or interface extending) {@code interfaceFqn}.
+     */
+    public List<OpenRewriteJavaSource> findImplementing(String interfaceFqn) {
+        return typeHierarchyIndex.findDirectSubTypes(interfaceFqn, true).stream()
+                .map(TypeHierarchyIndex.TypeDeclaration::getCompilationUnit)
+                .distinct()
+                .filter(OpenRewriteJavaSource.class::isInstance)
+                .map(OpenRewriteJavaSource.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Java sources using a type matching {@code typePattern}, as found by OpenRewrite's {@link UsesType}.
+     */
+    public List<OpenRewriteJavaSource> findUsing(String typePattern) {
+        return projectJavaSources.findClassesUsingType(typePattern).stream()
+                .map(OpenRewriteJavaSource.class::cast)
+                .collect(Collectors.toList());
+    }
+}
@@ -41,6 +41,11 @@ public class JohnzonDependencyHelper extends SpringBootUpgradeReportSectionHelpe
         return d.isPresent();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<String>> getData() {
         return Map.of();
@@ -51,6 +51,11 @@ public class LoggingDateFormatHelper extends SpringBootUpgradeReportSectionHelpe
         return propertiesSources.isEmpty();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<? extends PropertiesSource>> getData() {
         return Map.of("properties", propertiesSources);
@@ -15,16 +15,10 @@
  */
 package org.springframework.sbm.boot.upgrade_27_30.report.helper;
 
-import org.jetbrains.annotations.NotNull;
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.marker.SearchResult;
 import org.springframework.sbm.boot.common.conditions.IsSpringBootProject;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.engine.context.ProjectContext;
-import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
-import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
+import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
 
 import java.util.HashMap;
 import java.util.List;
@@ -53,12 +47,13 @@ public class PagingAndSortingHelper extends SpringBootUpgradeReportSectionHelper
         }
 
         //CrudRepositoryExtension
-        List<RewriteSourceFileHolder<J.CompilationUnit>> pagingAndSortingFileHolders =
-                context.getProjectJavaSources().find(pagingAndSortingFinders("org.springframework.data.repository.PagingAndSortingRepository"));
-        List<RewriteSourceFileHolder<J.CompilationUnit>> reactiveSortingFileHolders =
-                context.getProjectJavaSources().find(pagingAndSortingFinders("org.springframework.data.repository.reactive.ReactiveSortingRepository"));
-        List<RewriteSourceFileHolder<J.CompilationUnit>> rxJavaSortingFileHolders =
-                context.getProjectJavaSources().find(pagingAndSortingFinders("org.springframework.data.repository.reactive.RxJava3SortingRepository"));
+        JavaTypeFinder javaTypeFinder = JavaTypeFinder.of(context);
+        List<OpenRewriteJavaSource> pagingAndSortingFileHolders =
+                javaTypeFinder.findImplementing("org.springframework.data.repository.PagingAndSortingRepository");
+        List<OpenRewriteJavaSource> reactiveSortingFileHolders =
+                javaTypeFinder.findImplementing("org.springframework.data.repository.reactive.ReactiveSortingRepository");
+        List<OpenRewriteJavaSource> rxJavaSortingFileHolders =
+                javaTypeFinder.findImplementing("org.springframework.data.repository.reactive.RxJava3SortingRepository");
 
         pagingAndSortingRepo = pagingAndSortingFileHolders
                 .stream()
@@ -75,32 +70,9 @@ public class PagingAndSortingHelper extends SpringBootUpgradeReportSectionHelper
                 || !rxJavaSortingFileHolders.isEmpty();
     }
 
-    @NotNull
-    private GenericOpenRewriteRecipe<JavaIsoVisitor<ExecutionContext>> pagingAndSortingFinders(String clazz) {
-        return new GenericOpenRewriteRecipe<>(() -> new JavaIsoVisitor<>() {
-            @Override
-            @NotNull
-            public J.ClassDeclaration visitClassDeclaration(@NotNull J.ClassDeclaration classDecl, @NotNull ExecutionContext executionContext) {
-                return doesItExtendPagingAndSorting(classDecl) ? applyThisRecipe(classDecl) : ceaseVisit(classDecl);
-            }
-
-            private boolean doesItExtendPagingAndSorting(J.ClassDeclaration classDecl) {
-                if (classDecl.getImplements() == null) {
-                    return false;
-                }
-                return classDecl.getType().getInterfaces().stream()
-                        .anyMatch(impl -> impl.getFullyQualifiedName().equals(clazz));
-            }
-
-            private J.ClassDeclaration ceaseVisit(J.ClassDeclaration classDecl) {
-                return classDecl;
-            }
-
-            @NotNull
-            private J.ClassDeclaration applyThisRecipe(J.ClassDeclaration classDecl) {
-                return SearchResult.found(classDecl, "Found type implementing PagingAndSorting.");
-            }
-        });
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 
     @Override
@@ -60,6 +60,11 @@ public class SpringFactoriesHelper extends SpringBootUpgradeReportSectionHelper<
         }
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<String>> getData() {
         return Map.of("files", files);
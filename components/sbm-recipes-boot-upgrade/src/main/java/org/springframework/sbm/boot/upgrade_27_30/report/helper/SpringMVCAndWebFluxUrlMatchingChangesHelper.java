@@ -15,17 +15,11 @@
  */
 package org.springframework.sbm.boot.upgrade_27_30.report.helper;
 
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.J;
 import org.springframework.sbm.boot.common.conditions.IsSpringBootProject;
-import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSection;
 import org.springframework.sbm.boot.upgrade_27_30.report.SpringBootUpgradeReportSectionHelper;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.java.api.JavaSource;
-import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
 import org.springframework.sbm.project.resource.RewriteSourceFileHolder;
-import org.springframework.sbm.support.openrewrite.GenericOpenRewriteRecipe;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -53,17 +47,18 @@ public class SpringMVCAndWebFluxUrlMatchingChangesHelper extends SpringBootUpgra
             return false;
         }
 
-        GenericOpenRewriteRecipe<UsesType<ExecutionContext>> usesTypeRecipe = new GenericOpenRewriteRecipe<>(() -> new UsesType<>(SPRING_REST_CONTROLLER_FQN));
-
-        matches = context.getProjectJavaSources().find(usesTypeRecipe).stream()
-                .filter(m -> OpenRewriteJavaSource.class.isInstance(m))
-                .map(OpenRewriteJavaSource.class::cast)
+        matches = JavaTypeFinder.of(context).findUsing(SPRING_REST_CONTROLLER_FQN).stream()
                 .sorted(Comparator.comparing(RewriteSourceFileHolder::getAbsolutePath))
                 .collect(Collectors.toList());
 
         return !matches.isEmpty();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, List<JavaSource>> getData() {
         Map<String, List<JavaSource>> restControllerClasses = new HashMap<>();
@@ -42,6 +42,11 @@ public class UpgradeSpringBootVersionHelper extends SpringBootUpgradeReportSecti
         return isSpringBootProject.evaluate(context);
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
     @Override
     public Map<String, String> getData() {
         // FIXME: Provide correct boot version, see https://github.com/spring-projects-experimental/spring-boot-migrator/issues/560
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class AsciidoctorRendererTest {
+
+    @Test
+    void concurrentRenderingsShouldShareInstances() {
+        AsciidoctorRenderer sut = new AsciidoctorRenderer(2);
+        try {
+            List<CompletableFuture<String>> renderings = IntStream.range(0, 6)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> sut.renderHtml("= Title " + i, "html5")))
+                    .collect(Collectors.toList());
+
+            for (int i = 0; i < renderings.size(); i++) {
+                assertThat(renderings.get(i).join()).contains("<h1>Title " + i + "</h1>");
+            }
+        } finally {
+            sut.destroy();
+        }
+    }
+
+    @Test
+    void renderingShouldFailWhenDestroyed() {
+        AsciidoctorRenderer sut = new AsciidoctorRenderer(1);
+        sut.destroy();
+
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> sut.renderHtml("= Title", "html5"));
+    }
+
+    @Test
+    void renderingWaitingForAnInstanceShouldFailWhenDestroyed() throws Exception {
+        AsciidoctorRenderer sut = new AsciidoctorRenderer(1);
+        CountDownLatch instanceInUse = new CountDownLatch(1);
+        CountDownLatch releaseInstance = new CountDownLatch(1);
+        CompletableFuture<Object> blockingRendering = CompletableFuture.supplyAsync(() -> sut.withAsciidoctor(asciidoctor -> {
+            instanceInUse.countDown();
+            try {
+                return releaseInstance.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        try {
+            assertThat(instanceInUse.await(30, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> waitingRendering = CompletableFuture.supplyAsync(() -> sut.renderHtml("= Title", "html5"));
+
+            sut.destroy();
+
+            assertThatExceptionOfType(ExecutionException.class)
+                    .isThrownBy(() -> waitingRendering.get(10, TimeUnit.SECONDS))
+                    .withCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            releaseInstance.countDown();
+            blockingRendering.join();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade_27_30.report;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.project.resource.ProjectResourceSet;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpringBootUpgradeReportSectionTest {
+
+    @Test
+    void sectionShouldOnlyBeEvaluatedAgainWhenProjectChanged() {
+        CountingHelper helper = new CountingHelper();
+        SpringBootUpgradeReportSection sut = createSection(helper);
+        ProjectResourceSet projectResources = mock(ProjectResourceSet.class);
+        ProjectContext context = mock(ProjectContext.class);
+        when(context.getProjectResources()).thenReturn(projectResources);
+        when(projectResources.getModificationCount()).thenReturn(1L);
+
+        assertThat(sut.shouldRender(context)).isTrue();
+        assertThat(sut.render(context)).contains("Found 1 time");
+        assertThat(sut.render(context)).contains("Found 1 time");
+        assertThat(helper.evaluations).isEqualTo(1);
+
+        when(projectResources.getModificationCount()).thenReturn(2L);
+
+        assertThat(sut.render(context)).contains("Found 2 times");
+        assertThat(helper.evaluations).isEqualTo(2);
+    }
+
+    @Test
+    void sectionShouldBeEvaluatedAgainForAnotherProject() {
+        CountingHelper helper = new CountingHelper();
+        SpringBootUpgradeReportSection sut = createSection(helper);
+        ProjectResourceSet projectResources = mock(ProjectResourceSet.class);
+        ProjectContext context = mock(ProjectContext.class);
+        ProjectContext otherContext = mock(ProjectContext.class);
+        when(context.getProjectResources()).thenReturn(projectResources);
+        when(otherContext.getProjectResources()).thenReturn(projectResources);
+
+        sut.shouldRender(context);
+        sut.shouldRender(otherContext);
+
+        assertThat(helper.evaluations).isEqualTo(2);
+    }
+
+    private SpringBootUpgradeReportSection createSection(CountingHelper helper) {
+        SpringBootUpgradeReportSection section = new SpringBootUpgradeReportSection();
+        section.setTitle("Some Change");
+        section.setChange("Something changed.");
+        section.setAffected("Found ${evaluations}.");
+        Remediation remediation = new Remediation();
+        remediation.setDescription("Change it.");
+        section.setRemediation(remediation);
+        section.setHelper(helper);
+        section.setFreemarkerSupport(new SpringBootUpgradeReportFreemarkerSupport());
+        return section;
+    }
+
+    private static class CountingHelper extends SpringBootUpgradeReportSectionHelper<String> {
+        private int evaluations;
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            evaluations++;
+            return true;
+        }
+
+        @Override
+        public Map<String, String> getData() {
+            return Map.of("evaluations", evaluations == 1 ? "1 time" : evaluations + " times");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.boot.upgrade_27_30.report.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.java.impl.OpenRewriteJavaSource;
+import org.springframework.sbm.project.resource.TestProjectContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaTypeFinderTest {
+
+    @Test
+    void shouldFindSourcesImplementingAndUsingTypesWithoutChangingTheProject() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", """
+                        package example;
+                        public class A implements java.io.Serializable {}
+                        """)
+                .withJavaSource("src/main/java", """
+                        package example;
+                        import java.util.List;
+                        public class B {
+                            List<String> names;
+                        }
+                        """)
+                .build();
+        long modificationCount = context.getProjectResources().getModificationCount();
+
+        JavaTypeFinder finder = JavaTypeFinder.of(context);
+
+        assertThat(finder.findImplementing("java.io.Serializable"))
+                .extracting(OpenRewriteJavaSource::getSourcePathString)
+                .containsExactly("src/main/java/example/A.java");
+        assertThat(finder.findUsing("java.util.List"))
+                .extracting(OpenRewriteJavaSource::getSourcePathString)
+                .containsExactly("src/main/java/example/B.java");
+        assertThat(finder.findUsing("java.util.Map")).isEmpty();
+        assertThat(context.getProjectResources().getModificationCount()).isEqualTo(modificationCount);
+    }
+
+    @Test
+    void shouldFindSourcesWithNestedClassesImplementingType() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", """
+                        package example;
+                        public class Outer {
+                            public static class Inner {
+                                public static class Innermost implements java.io.Serializable {}
+                            }
+                        }
+                        """)
+                .withJavaSource("src/main/java", """
+                        package example;
+                        public class Other {}
+                        """)
+                .build();
+
+        assertThat(JavaTypeFinder.of(context).findImplementing("java.io.Serializable"))
+                .extracting(OpenRewriteJavaSource::getSourcePathString)
+                .containsExactly("src/main/java/example/Outer.java");
+    }
+
+    @Test
+    void shouldFindAgainWhenTheProjectChanged() {
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withJavaSource("src/main/java", """
+                        package example;
+                        public class A {}
+                        """)
+                .build();
+        JavaTypeFinder finder = JavaTypeFinder.of(context);
+        assertThat(finder.findImplementing("java.io.Serializable")).isEmpty();
+        assertThat(finder.findUsing("java.lang.Deprecated")).isEmpty();
+
+        context.getProjectJavaSources().list().get(0).getTypes().get(0).addAnnotation("java.lang.Deprecated");
+
+        assertThat(finder.findUsing("java.lang.Deprecated")).hasSize(1);
+    }
+}
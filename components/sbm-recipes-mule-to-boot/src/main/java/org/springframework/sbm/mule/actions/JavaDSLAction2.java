@@ -20,6 +20,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.sbm.boot.properties.actions.AddSpringBootApplicationPropertiesAction;
 import org.springframework.sbm.boot.properties.api.SpringBootApplicationProperties;
@@ -39,32 +40,41 @@ import org.springframework.sbm.mule.api.toplevel.TopLevelElementFactory;
 import org.springframework.sbm.mule.api.toplevel.UnknownTopLevelElement;
 import org.springframework.sbm.mule.api.toplevel.configuration.ConfigurationTypeAdapter;
 import org.springframework.sbm.mule.api.toplevel.configuration.MuleConfigurationsExtractor;
+import org.springframework.sbm.project.resource.SbmApplicationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.xml.bind.JAXBElement;
+import java.nio.file.Path;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-public class JavaDSLAction2 extends AbstractAction {
+public class JavaDSLAction2 extends AbstractAction implements DisposableBean {
 
     private static final String SPRING_CONFIGURATION_ANNOTATION = "org.springframework.context.annotation.Configuration";
     private final MuleMigrationContextFactory muleMigrationContextFactory;
     private final Map<Class<?>, TopLevelElementFactory> topLevelTypeMap;
     private final ExecutionContext executionContext;
+    private final SbmApplicationProperties sbmApplicationProperties;
     @Setter
     private boolean muleTriggerMeshTransformEnabled;
+    private ExecutorService executorService;
 
     @Autowired
-    public JavaDSLAction2(MuleMigrationContextFactory muleMigrationContextFactory, List<TopLevelElementFactory> topLevelTypeFactories, ExecutionContext executionContext) {
+    public JavaDSLAction2(MuleMigrationContextFactory muleMigrationContextFactory, List<TopLevelElementFactory> topLevelTypeFactories, ExecutionContext executionContext, SbmApplicationProperties sbmApplicationProperties) {
         topLevelTypeMap = topLevelTypeFactories.stream()
                 .collect(Collectors.toMap(TopLevelElementFactory::getSupportedTopLevelType, Function.identity()));
         this.muleMigrationContextFactory = muleMigrationContextFactory;
         this.executionContext = executionContext;
+        this.sbmApplicationProperties = sbmApplicationProperties;
     }
 
     @Override
@@ -93,18 +103,7 @@ public class JavaDSLAction2 extends AbstractAction {
     }
 
     private void handleTopLevelElements(BuildFile buildFile, MuleMigrationContext muleMigrationContext, JavaSourceAndType flowConfigurationSource, ProjectContext context) {
-        List<TopLevelElement> topLevelElements = new ArrayList<>();
-        for (JAXBElement tle : muleMigrationContext.getTopLevelElements()) {
-            if (MuleConfigurationsExtractor.isConfigType(tle)) {
-                continue;
-            }
-            if (topLevelTypeMap.containsKey(tle.getValue().getClass())) {
-                TopLevelElementFactory tltf = topLevelTypeMap.get(tle.getValue().getClass());
-                topLevelElements.add(tltf.buildDefinition(tle, muleMigrationContext.getMuleConfigurations()));
-            } else {
-                topLevelElements.add(new UnknownTopLevelElement(tle));
-            }
-        }
+        List<TopLevelElement> topLevelElements = translateTopLevelElements(muleMigrationContext);
         Set<Dependency> dependencies = topLevelElements.stream()
                 .map(this::buildDependencies)
                 .flatMap(List::stream)
@@ -118,9 +117,10 @@ public class JavaDSLAction2 extends AbstractAction {
 
         if (muleTriggerMeshTransformEnabled) {
             logEvent("Adding TriggerMesh Dataweave payload class");
-            createClass(context, createTmDwPayloadClass(context));
+            createClasses(context, List.of(createTmDwPayloadClass(context)));
         }
 
+        List<String> classContents = new ArrayList<>();
         logEvent("Adding " + topLevelElements.size() + " methods");
         topLevelElements.forEach(topLevelElement -> {
             flowConfigurationSource.getType().addMethod(
@@ -141,8 +141,63 @@ public class JavaDSLAction2 extends AbstractAction {
 
             }
 
-            createExternalClasses(context, topLevelElement);
+            classContents.addAll(getExternalClassContents(topLevelElement));
         });
+
+        createClasses(context, classContents);
+    }
+
+    /**
+     * Top-level elements are translated concurrently on {@code sbm.muleTranslationThreads} threads, translators don't
+     * depend on the translation of other flows. The order of the returned elements is the order in the Mule files.
+     */
+    private List<TopLevelElement> translateTopLevelElements(MuleMigrationContext muleMigrationContext) {
+        List<JAXBElement> jaxbElements = muleMigrationContext.getTopLevelElements().stream()
+                .filter(tle -> !MuleConfigurationsExtractor.isConfigType(tle))
+                .collect(Collectors.toList());
+        if (sbmApplicationProperties.getMuleTranslationThreads() <= 1 || jaxbElements.size() <= 1) {
+            return jaxbElements.stream()
+                    .map(tle -> translateTopLevelElement(tle, muleMigrationContext))
+                    .collect(Collectors.toList());
+        }
+        ExecutorService executor = getExecutorService();
+        List<CompletableFuture<TopLevelElement>> translations = jaxbElements.stream()
+                .map(tle -> CompletableFuture.supplyAsync(() -> translateTopLevelElement(tle, muleMigrationContext), executor))
+                .collect(Collectors.toList());
+        try {
+            return translations.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private TopLevelElement translateTopLevelElement(JAXBElement tle, MuleMigrationContext muleMigrationContext) {
+        if (topLevelTypeMap.containsKey(tle.getValue().getClass())) {
+            TopLevelElementFactory tltf = topLevelTypeMap.get(tle.getValue().getClass());
+            return tltf.buildDefinition(tle, muleMigrationContext.getMuleConfigurations());
+        } else {
+            return new UnknownTopLevelElement(tle);
+        }
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (executorService == null) {
+            executorService = Executors.newFixedThreadPool(Math.max(1, sbmApplicationProperties.getMuleTranslationThreads()));
+        }
+        return executorService;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+            executorService = null;
+        }
     }
 
     private void addGenericRequiredDependencies(Set<Dependency> dependencies) {
@@ -156,12 +211,10 @@ public class JavaDSLAction2 extends AbstractAction {
         );
     }
 
-    private void createExternalClasses(ProjectContext context, TopLevelElement topLevelElement) {
-        topLevelElement.getExternalClassContents().stream()
+    private List<String> getExternalClassContents(TopLevelElement topLevelElement) {
+        return topLevelElement.getExternalClassContents().stream()
                 .filter(Predicate.not(StringUtils::isEmpty))
-                .forEach(ecc -> {
-                    createClass(context, ecc);
-                });
+                .collect(Collectors.toList());
     }
 
     private List<Dependency> buildDependencies(TopLevelElement snippet) {
@@ -198,10 +251,16 @@ public class JavaDSLAction2 extends AbstractAction {
         return new JavaSourceAndType(javaSource, javaSource.getTypes().get(0));
     }
 
-    private void createClass(ProjectContext projectContext, String content) {
+    /**
+     * Parses all classes with one JavaParser run and adds them to the main source set in the given order.
+     */
+    private void createClasses(ProjectContext projectContext, List<String> contents) {
+        if (contents.isEmpty()) {
+            return;
+        }
         JavaSourceSet mainJavaSourceSet = projectContext.getApplicationModules().getTopmostApplicationModules().get(0).getMainJavaSourceSet();
-        String packageName = mainJavaSourceSet.getJavaSourceLocation().getPackageName();
-        mainJavaSourceSet.addJavaSource(projectContext.getProjectRootDirectory(), content, packageName);
+        Path sourceFolder = mainJavaSourceSet.getJavaSourceLocation().getSourceFolder();
+        mainJavaSourceSet.addJavaSources(projectContext.getProjectRootDirectory(), sourceFolder, contents);
     }
 
     private void handleApplicationConfiguration(ProjectContext projectContext,
@@ -31,7 +31,9 @@ import org.springframework.stereotype.Component;
 
 import javax.xml.namespace.QName;
 import java.io.File;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -147,12 +149,9 @@ public class DwlTransformTranslator implements MuleComponentToSpringIntegrationD
         StringWriter sw  = new StringWriter();
         try {
             // In cases where the template library is not initialized (unit testing)
-            if (templateConfiguration == null) {
-                templateConfiguration = new Configuration(new Version("2.3.0"));
-                templateConfiguration.setTemplateLoader(new FileTemplateLoader(new File("./src/main/resources/templates")));
-            }
+            Configuration configuration = templateConfiguration != null ? templateConfiguration : DefaultTemplateConfiguration.INSTANCE;
 
-            Template template = templateConfiguration.getTemplate("triggermesh-dw-transformation-template.ftl");
+            Template template = configuration.getTemplate("triggermesh-dw-transformation-template.ftl");
             template.process(templateParams, sw);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -239,4 +238,21 @@ public class DwlTransformTranslator implements MuleComponentToSpringIntegrationD
     private static String capitalizeFirstLetter(String className) {
         return className.substring(0, 1).toUpperCase() + className.substring(1);
     }
+
+    /**
+     * Created on first use, flows are translated concurrently.
+     */
+    private static class DefaultTemplateConfiguration {
+        private static final Configuration INSTANCE = create();
+
+        private static Configuration create() {
+            try {
+                Configuration configuration = new Configuration(new Version("2.3.0"));
+                configuration.setTemplateLoader(new FileTemplateLoader(new File("./src/main/resources/templates")));
+                return configuration;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
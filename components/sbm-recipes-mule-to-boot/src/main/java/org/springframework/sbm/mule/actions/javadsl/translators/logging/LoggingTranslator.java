@@ -38,7 +38,6 @@ import java.util.*;
 @RequiredArgsConstructor
 public class LoggingTranslator implements MuleComponentToSpringIntegrationDslTranslator<LoggerType> {
 
-    private Set<String> requiredImports = new HashSet<>();
     private final ExpressionLanguageTranslator expressionLanguageTranslator;
 
     @Override
@@ -74,6 +73,7 @@ public class LoggingTranslator implements MuleComponentToSpringIntegrationDslTra
         log(Level level, String category, Function<Message<P>, Object> function)
 */
         Map<String, String> parameter = new HashMap<>();
+        Set<String> requiredImports = new HashSet<>();
 
         // log level
         String logLevel = loggerType.getLevel();
@@ -22,15 +22,15 @@ import org.openrewrite.xml.tree.Xml;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.*;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.StringReader;
 import java.nio.file.Path;
 
 public class MuleXml extends RewriteSourceFileHolder<Xml.Document> {
@@ -50,13 +50,14 @@ public class MuleXml extends RewriteSourceFileHolder<Xml.Document> {
 
     public MuleXml(Path absoluteProjectDir, Xml.Document resource) {
         super(absoluteProjectDir.resolve(resource.getSourcePath()), resource);
+        String xml = print();
         MuleXmlUnmarshaller muleXmlUnmarshaller = new MuleXmlUnmarshaller();
-        muleType = muleXmlUnmarshaller.unmarshal(print());
+        muleType = muleXmlUnmarshaller.unmarshal(xml);
 
         try {
             DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = builderFactory.newDocumentBuilder();
-            xmlDocument = builder.parse(new ByteArrayInputStream(print().getBytes(StandardCharsets.UTF_8)));
+            xmlDocument = builder.parse(new InputSource(new StringReader(xml)));
             XPath xPath = XPathFactory.newInstance().newXPath();
 
             FLOW_NAME_XPATH = xPath.compile("//mule/flow/@name");
@@ -21,25 +21,68 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+import javax.xml.transform.stream.StreamSource;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Unmarshals Mule XML into {@link MuleType}.
+ *
+ * The {@code JAXBContext} for the Mule schemas is created once per JVM and unmarshallers are pooled,
+ * as creating them is far more expensive than unmarshalling a single file.
+ */
 public class MuleXmlUnmarshaller {
+
+    private static final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
+
     public MuleType unmarshal(String xml) {
+        return unmarshal(new StringReader(xml));
+    }
+
+    public MuleType unmarshal(Reader xml) {
+        Unmarshaller unmarshaller = null;
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(
-                    org.mulesoft.schema.mule.core.ObjectFactory.class,
-                    org.mulesoft.schema.mule.amqp.ObjectFactory.class,
-                    org.mulesoft.schema.mule.http.ObjectFactory.class,
-                    org.mulesoft.schema.mule.ee.wmq.ObjectFactory.class,
-                    org.mulesoft.schema.mule.ee.dw.ObjectFactory.class,
-                    org.mulesoft.schema.mule.scripting.ObjectFactory.class
-            );
-            Unmarshaller jc = jaxbContext.createUnmarshaller();
-            JAXBElement<MuleType> unmarshal = (JAXBElement<MuleType>) jc.unmarshal(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+            unmarshaller = borrowUnmarshaller();
+            JAXBElement<MuleType> unmarshal = (JAXBElement<MuleType>) unmarshaller.unmarshal(new StreamSource(xml));
             return unmarshal.getValue();
         } catch (JAXBException e) {
             throw new RuntimeException(e);
+        } finally {
+            if (unmarshaller != null) {
+                unmarshallers.offer(unmarshaller);
+            }
+        }
+    }
+
+    private static Unmarshaller borrowUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = MuleJaxbContext.INSTANCE.createUnmarshaller();
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * Holds the context, created on first use.
+     */
+    private static class MuleJaxbContext {
+        private static final JAXBContext INSTANCE = createContext();
+
+        private static JAXBContext createContext() {
+            try {
+                return JAXBContext.newInstance(
+                        org.mulesoft.schema.mule.core.ObjectFactory.class,
+                        org.mulesoft.schema.mule.amqp.ObjectFactory.class,
+                        org.mulesoft.schema.mule.http.ObjectFactory.class,
+                        org.mulesoft.schema.mule.ee.wmq.ObjectFactory.class,
+                        org.mulesoft.schema.mule.ee.dw.ObjectFactory.class,
+                        org.mulesoft.schema.mule.scripting.ObjectFactory.class
+                );
+            } catch (JAXBException e) {
+                throw new RuntimeException(e);
+            }
         }
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.springframework.sbm.mule.actions;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.openrewrite.SourceFile;
 import org.springframework.context.ApplicationEventPublisher;
@@ -107,12 +108,12 @@ public class JavaDSLActionBaseTest {
                 )
         );
         MuleMigrationContextFactory muleMigrationContextFactory = new MuleMigrationContextFactory(new MuleConfigurationsExtractor(configurationTypeAdapterFactory));
-        myAction = new JavaDSLAction2(muleMigrationContextFactory, topLevelTypeFactories, new RewriteExecutionContext());
+        sbmApplicationProperties = new SbmApplicationProperties();
+        sbmApplicationProperties.setDefaultBasePackage("com.example.javadsl");
+        myAction = new JavaDSLAction2(muleMigrationContextFactory, topLevelTypeFactories, new RewriteExecutionContext(), sbmApplicationProperties);
         myAction.setEventPublisher(eventPublisher);
 
         registrar = new MuleXmlProjectResourceRegistrar(new RewriteExecutionContext());
-        sbmApplicationProperties = new SbmApplicationProperties();
-        sbmApplicationProperties.setDefaultBasePackage("com.example.javadsl");
 
         projectContextBuilder = TestProjectContext
                 .buildProjectContext(eventPublisher)
@@ -122,6 +123,11 @@ public class JavaDSLActionBaseTest {
         ;
     }
 
+    @AfterEach
+    public void shutdown() {
+        myAction.destroy();
+    }
+
     protected void addXMLFileToResource(String... xmlFile) {
 
         IntStream.range(0, xmlFile.length)
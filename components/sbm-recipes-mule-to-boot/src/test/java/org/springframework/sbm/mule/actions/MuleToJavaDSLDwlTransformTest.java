@@ -18,6 +18,7 @@ package org.springframework.sbm.mule.actions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -568,4 +569,68 @@ public class MuleToJavaDSLDwlTransformTest extends JavaDSLActionBaseTest {
                     "com.example.javadsl.MultipleTransformsTransformTM_3");
         });
     }
+
+    @Test
+    public void transformClassesOfMultipleFlowsShouldBeAddedInOrderAfterTriggerMeshPayloadClass() {
+        enableTriggerMeshTransform();
+
+        final String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                                
+                <mule xmlns:dw="http://www.mulesoft.org/schema/mule/ee/dw" xmlns:http="http://www.mulesoft.org/schema/mule/http"
+                      xmlns="http://www.mulesoft.org/schema/mule/core" xmlns:doc="http://www.mulesoft.org/schema/mule/documentation"
+                      xmlns:spring="http://www.springframework.org/schema/beans"
+                      xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                      xsi:schemaLocation="http://www.springframework.org/schema/beans http://www.springframework.org/schema/beans/spring-beans-current.xsd
+                http://www.mulesoft.org/schema/mule/core http://www.mulesoft.org/schema/mule/core/current/mule.xsd
+                http://www.mulesoft.org/schema/mule/http http://www.mulesoft.org/schema/mule/http/current/mule-http.xsd
+                http://www.mulesoft.org/schema/mule/ee/dw http://www.mulesoft.org/schema/mule/ee/dw/current/dw.xsd">
+                    <flow name="firstFlow">
+                        <http:listener config-ref="HTTP_Listener_Configuration" path="/first" doc:name="HTTP"/>
+                        <dw:transform-message doc:name="Transform Message">
+                            <dw:set-payload><![CDATA[%dw 1.0
+                %output application/json
+                ---
+                {
+                    "first": "payload"
+                }]]></dw:set-payload>
+                        </dw:transform-message>
+                    </flow>
+                    <flow name="secondFlow">
+                        <http:listener config-ref="HTTP_Listener_Configuration" path="/second" doc:name="HTTP"/>
+                        <dw:transform-message doc:name="Transform Message">
+                            <dw:set-payload><![CDATA[%dw 1.0
+                %output application/json
+                ---
+                {
+                    "second": "payload"
+                }]]></dw:set-payload>
+                        </dw:transform-message>
+                        <logger />
+                        <dw:transform-message doc:name="Build Response Message">
+                            <dw:set-payload><![CDATA[%dw 1.0
+                %output application/json
+                ---
+                {
+                    "response": "payload"
+                }]]></dw:set-payload>
+                        </dw:transform-message>
+                    </flow>
+                </mule>
+                """;
+
+        addXMLFileToResource(xml);
+        runAction(projectContext -> {
+            List<String> types = projectContext.getProjectJavaSources().list().stream().map(s -> s.getTypes().get(0).getFullyQualifiedName()).toList();
+            assertThat(types).hasSize(5);
+            assertThat(types.subList(0, 3)).containsExactly(
+                    "com.example.javadsl.FlowConfigurations",
+                    "com.example.javadsl.TmDwPayload",
+                    "com.example.javadsl.FirstFlowTransformTM_1");
+            // the classes of one flow are kept in a set
+            assertThat(types.subList(3, 5)).containsExactlyInAnyOrder(
+                    "com.example.javadsl.SecondFlowTransformTM_1",
+                    "com.example.javadsl.SecondFlowTransformTM_3");
+        });
+    }
 }
@@ -17,6 +17,10 @@ package org.springframework.sbm.mule.actions;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class MultipleFlowsTest extends JavaDSLActionBaseTest {
@@ -72,4 +76,23 @@ public class MultipleFlowsTest extends JavaDSLActionBaseTest {
                            }""");
         });
     }
+
+    @Test
+    public void flowsTranslatedConcurrentlyShouldKeepTheirOrder() {
+        sbmApplicationProperties.setMuleTranslationThreads(4);
+        String subflows = IntStream.range(0, 8)
+                .mapToObj(i -> "<sub-flow name=\"logging" + i + "\">\n" +
+                        "<logger level=\"INFO\" doc:name=\"Logger\"/>\n" +
+                        "</sub-flow>\n")
+                .collect(Collectors.joining());
+        addXMLFileToResource(muleMultiFlow.replace("</mule>", subflows + "</mule>"));
+        runAction(projectContext -> {
+            String generatedJavaFile = getGeneratedJavaFile();
+            List<Integer> methodPositions = IntStream.range(0, 8)
+                    .mapToObj(i -> generatedJavaFile.indexOf("IntegrationFlow logging" + i + "()"))
+                    .collect(Collectors.toList());
+            assertThat(methodPositions).doesNotContain(-1).isSorted();
+            assertThat(generatedJavaFile.indexOf("IntegrationFlow main_flow(")).isLessThan(methodPositions.get(0));
+        });
+    }
 }
@@ -21,6 +21,9 @@ import org.mulesoft.schema.mule.http.InboundEndpointType;
 import org.mulesoft.schema.mule.core.MuleType;
 
 import javax.xml.bind.JAXBElement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -83,4 +86,29 @@ class MuleXmlUnmarshallerTest {
 //                .map(JAXBElement::getValue)
 //                .collect(Collectors.toList())
     }
+
+    @Test
+    void unmarshalConcurrently() {
+        List<String> muleXmls = IntStream.range(0, 20)
+                .mapToObj(i ->
+                        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                        "<mule xmlns:http=\"http://www.mulesoft.org/schema/mule/http\" xmlns=\"http://www.mulesoft.org/schema/mule/core\">\n" +
+                        "    <flow name=\"flow-" + i + "\">\n" +
+                        "        <http:inbound-endpoint exchange-pattern=\"request-response\" host=\"localhost\" port=\"" + (8000 + i) + "\" path=\"topic\"/>\n" +
+                        "    </flow>\n" +
+                        "</mule>")
+                .collect(Collectors.toList());
+
+        MuleXmlUnmarshaller sut = new MuleXmlUnmarshaller();
+        List<MuleType> muleTypes = muleXmls.parallelStream()
+                .map(sut::unmarshal)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < muleTypes.size(); i++) {
+            FlowType flow = (FlowType) ((JAXBElement) muleTypes.get(i).getBeansOrBeanOrPropertyPlaceholder().get(0)).getValue();
+            assertThat(flow.getName()).isEqualTo("flow-" + i);
+            InboundEndpointType inboundEndpoint = (InboundEndpointType) ((JAXBElement) flow.getAbstractInboundEndpoint()).getValue();
+            assertThat(inboundEndpoint.getPort()).isEqualTo(String.valueOf(8000 + i));
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.actions.spring.xml.migration;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.sbm.scopes.annotations.ScanScope;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Caches the classloaders created for the classpath of the application to migrate.
+ *
+ * Modules with the same classpath share a classloader, and subsequent migrations reuse it as long as the size
+ * and modification time of all classpath entries, and of all files in classpath directories, are unchanged.
+ * The classloaders are closed when the scan scope ends.
+ */
+@Slf4j
+@Component
+@ScanScope
+public class MigrationClassLoaderCache implements DisposableBean {
+
+    private final Map<List<Path>, CachedClassLoader> classLoaders = new ConcurrentHashMap<>();
+
+    /**
+     * Create a classloader with access required for migration or return the cached one.
+     *
+     * URLClassLoader provides access to classes and jars of the application to migrate
+     * and its parent, the context classloader, provides access to JDK classes.
+     *
+     * @param classpath to provide
+     */
+    public ClassLoader getClassLoader(List<Path> classpath) {
+        List<Path> key = List.copyOf(classpath);
+        List<String> fingerprint = fingerprint(key);
+        return classLoaders.compute(key, (k, cached) -> {
+            if (cached != null && cached.getFingerprint().equals(fingerprint)) {
+                return cached;
+            }
+            if (cached != null) {
+                close(cached.getClassLoader());
+            }
+            return new CachedClassLoader(fingerprint, createClassLoader(k));
+        }).getClassLoader();
+    }
+
+    @Override
+    public void destroy() {
+        classLoaders.values().forEach(c -> close(c.getClassLoader()));
+        classLoaders.clear();
+    }
+
+    private List<String> fingerprint(List<Path> classpath) {
+        return classpath.stream()
+                .map(this::fingerprint)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Jars are fingerprinted by their size and modification time. Directories like {@code target/classes} don't
+     * change their own size or modification time when a nested class is recompiled, so their fingerprint covers
+     * the number, total size and latest modification time of all files and directories below them.
+     */
+    private String fingerprint(Path classpathEntry) {
+        if (!Files.isDirectory(classpathEntry)) {
+            File file = classpathEntry.toFile();
+            return file.length() + ":" + file.lastModified();
+        }
+        try (Stream<Path> paths = Files.walk(classpathEntry)) {
+            long[] countSizeAndLastModified = new long[3];
+            paths.forEach(p -> {
+                File file = p.toFile();
+                countSizeAndLastModified[0]++;
+                countSizeAndLastModified[1] += file.isFile() ? file.length() : 0;
+                countSizeAndLastModified[2] = Math.max(countSizeAndLastModified[2], file.lastModified());
+            });
+            return countSizeAndLastModified[0] + ":" + countSizeAndLastModified[1] + ":" + countSizeAndLastModified[2];
+        } catch (IOException | UncheckedIOException e) {
+            // an unreadable directory never matches, the classloader is then created again
+            return "unreadable:" + System.nanoTime();
+        }
+    }
+
+    private URLClassLoader createClassLoader(List<Path> classpath) {
+        URL[] classpathUrls = createUrlsFromClasspath(classpath);
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return new URLClassLoader("SBMCustomClassLoader", classpathUrls, contextClassLoader/*ClassLoader.getPlatformClassLoader()*/);
+    }
+
+    private URL[] createUrlsFromClasspath(List<Path> classpath) {
+        return classpath
+                .stream()
+                .map(Path::toFile)
+                .map(File::toURI)
+                .map(uri -> {
+                    try {
+                        return uri.toURL();
+                    } catch (MalformedURLException e) {
+                        throw new RuntimeException(e);
+                    }
+                })
+                .toArray(URL[]::new);
+    }
+
+    private void close(URLClassLoader classLoader) {
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            log.warn("Could not close classloader '{}'", classLoader, e);
+        }
+    }
+
+    @Value
+    private static class CachedClassLoader {
+        private final List<String> fingerprint;
+        private final URLClassLoader classLoader;
+    }
+}
@@ -15,12 +15,14 @@
  */
 package org.springframework.sbm.actions.spring.xml.migration;
 
+import lombok.AccessLevel;
 import org.springframework.sbm.engine.context.ProjectContext;
 import lombok.Getter;
 
 import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static org.springframework.sbm.actions.spring.xml.migration.Helper.classNameMatches;
@@ -31,6 +33,13 @@ public class MigrationContext {
     private final ClassLoader classLoader;
     private final Map<Object, XmlBeanDef> beanDefinitions = new HashMap<>();
     private final Set<PropertiesFile> propertyFiles = new HashSet<>();
+    /**
+     * Results of class lookups, including classes not found, as bean classes are looked up repeatedly during migration.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Optional<Class<?>>> classes = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, Method[]> methods = new ConcurrentHashMap<>();
 
     public MigrationContext(ProjectContext context, ClassLoader classLoader) {
         this.classLoader = classLoader;
@@ -50,17 +59,31 @@ public class MigrationContext {
 
     public Class<?> getClass(String fqName) {
         try {
-            return classLoader.loadClass(fqName);
+            return loadClass(fqName);
         } catch (ClassNotFoundException e) {
             throw new RuntimeException("Could not load class '" + fqName + "' using classloader '" + classLoader + "'", e);
         }
     }
 
+    private Class<?> loadClass(String fqName) throws ClassNotFoundException {
+        Optional<Class<?>> loadedClass = classes.computeIfAbsent(fqName, name -> {
+            try {
+                return Optional.of(classLoader.loadClass(name));
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            }
+        });
+        if (loadedClass.isEmpty()) {
+            throw new ClassNotFoundException(fqName);
+        }
+        return loadedClass.get();
+    }
+
     public Class<?> getPropertyType(String beanClassName, String property) {
         try {
             String methodName = new StringBuilder("set").append(Helper.uppercaseFirstChar(property)).toString();
-            Class<?> aClass = getClassLoader().loadClass(beanClassName);
-            List<Method> set = Arrays.stream(aClass.getMethods())
+            Class<?> aClass = loadClass(beanClassName);
+            List<Method> set = Arrays.stream(methods.computeIfAbsent(aClass, Class::getMethods))
                     .filter(m -> methodName.equals(m.getName()))
                     .filter(m -> m.getParameterTypes().length == 1)
                     .collect(Collectors.toList());
@@ -15,53 +15,25 @@
  */
 package org.springframework.sbm.actions.spring.xml.migration;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.build.api.BuildFile;
 import org.springframework.stereotype.Component;
 
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class MigrationContextFactory {
 
+    private final MigrationClassLoaderCache classLoaderCache;
+
     MigrationContext createMigrationContext(ProjectContext context) {
-        BuildFile buildFile = context.getBuildFile();
+        BuildFile buildFile = context.getApplicationModules().getRootModule().getBuildFile();
         List<Path> classpath = buildFile.getClasspath();
-        ClassLoader classLoader = createClassLoader(classpath);
+        ClassLoader classLoader = classLoaderCache.getClassLoader(classpath);
         MigrationContext migrationContext = new MigrationContext(context, classLoader);
         return migrationContext;
     }
-
-    /**
-     * Create a classloader with access required for migration.
-     *
-     * URLClassLoader provides access to classes and jars of the application to migrate
-     * and its parent {@code ClassLoader.getPlatformClassLoader()} provides access to JDK classes.
-     *
-     * @param classpath to provide
-     */
-    private ClassLoader createClassLoader(List<Path> classpath) {
-        URL[] classpathUrls = createUrlsFromClasspath(classpath);
-        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-        URLClassLoader classLoader = new URLClassLoader("SBMCustomClassLoader", classpathUrls, contextClassLoader/*ClassLoader.getPlatformClassLoader()*/);
-        return classLoader;
-    }
-
-    private URL[] createUrlsFromClasspath(List<Path> classpath) {
-        return classpath
-                .stream()
-                .map(path -> {
-                    try {
-                        return path.toFile().toURI().toURL();
-                    } catch (MalformedURLException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .collect(Collectors.toList()).toArray(new URL[0]);
-    }
 }
@@ -49,6 +49,7 @@ public class MigrateSpringXmlToJavaConfigRecipeTest {
         },
                 // TODO: retrieve beans always from one(!) location
                 MigrationContextFactory.class,
+                MigrationClassLoaderCache.class,
                 MigrateXmlToJavaConfigurationActionHelper.class,
                 Helper.class,
                 GenericBeanHandler.class,
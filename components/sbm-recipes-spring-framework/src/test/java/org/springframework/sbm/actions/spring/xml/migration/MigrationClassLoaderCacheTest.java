@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 - 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.sbm.actions.spring.xml.migration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MigrationClassLoaderCacheTest {
+
+    @TempDir
+    Path classpathDir;
+
+    @Test
+    void sameClasspathShouldReuseClassLoader() throws IOException {
+        Path resources = Files.createDirectories(classpathDir.resolve("resources"));
+        Files.writeString(resources.resolve("beans.xml"), "<beans/>");
+        MigrationClassLoaderCache sut = new MigrationClassLoaderCache();
+
+        ClassLoader classLoader = sut.getClassLoader(List.of(resources));
+
+        assertThat(sut.getClassLoader(List.of(resources))).isSameAs(classLoader);
+        assertThat(classLoader.getResource("beans.xml")).isNotNull();
+    }
+
+    @Test
+    void changedClasspathEntryShouldCreateNewClassLoader() throws IOException {
+        Path jar = Files.writeString(classpathDir.resolve("lib.jar"), "");
+        MigrationClassLoaderCache sut = new MigrationClassLoaderCache();
+        ClassLoader classLoader = sut.getClassLoader(List.of(jar));
+
+        Files.setLastModifiedTime(jar, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(sut.getClassLoader(List.of(jar))).isNotSameAs(classLoader);
+    }
+
+    @Test
+    void recompiledClassInClasspathDirectoryShouldCreateNewClassLoader() throws IOException {
+        Path classes = Files.createDirectories(classpathDir.resolve("classes"));
+        Path packageDir = Files.createDirectories(classes.resolve("com/example"));
+        Path classFile = Files.writeString(packageDir.resolve("A.class"), "A");
+        FileTime directoryLastModified = Files.getLastModifiedTime(classes);
+        MigrationClassLoaderCache sut = new MigrationClassLoaderCache();
+        ClassLoader classLoader = sut.getClassLoader(List.of(classes));
+
+        Files.writeString(classFile, "B");
+        Files.setLastModifiedTime(classFile, FileTime.from(Instant.now().plusSeconds(60)));
+
+        assertThat(Files.getLastModifiedTime(classes)).isEqualTo(directoryLastModified);
+        assertThat(sut.getClassLoader(List.of(classes))).isNotSameAs(classLoader);
+    }
+
+    @Test
+    void addedClassInClasspathDirectoryShouldCreateNewClassLoader() throws IOException {
+        Path classes = Files.createDirectories(classpathDir.resolve("classes"));
+        Path packageDir = Files.createDirectories(classes.resolve("com/example"));
+        Files.writeString(packageDir.resolve("A.class"), "A");
+        MigrationClassLoaderCache sut = new MigrationClassLoaderCache();
+        ClassLoader classLoader = sut.getClassLoader(List.of(classes));
+
+        Files.writeString(packageDir.resolve("B.class"), "B");
+
+        assertThat(sut.getClassLoader(List.of(classes))).isNotSameAs(classLoader);
+    }
+
+    @Test
+    void destroyShouldCloseClassLoaders() throws IOException {
+        Path resources = Files.createDirectories(classpathDir.resolve("resources"));
+        Files.writeString(resources.resolve("beans.xml"), "<beans/>");
+        MigrationClassLoaderCache sut = new MigrationClassLoaderCache();
+        ClassLoader classLoader = sut.getClassLoader(List.of(resources));
+
+        sut.destroy();
+
+        assertThat(classLoader.getResource("beans.xml")).isNull();
+        assertThat(sut.getClassLoader(List.of(resources))).isNotSameAs(classLoader);
+    }
+}
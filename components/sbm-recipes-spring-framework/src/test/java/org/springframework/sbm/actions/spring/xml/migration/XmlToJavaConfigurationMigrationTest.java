@@ -53,7 +53,7 @@ class XmlToJavaConfigurationMigrationTest {
         XmlToJavaConfigurationMigration sut = new XmlToJavaConfigurationMigration(beanMethodFactory);
 
         // create MigrationContext
-        MigrationContextFactory migrationContextFactory = new MigrationContextFactory();
+        MigrationContextFactory migrationContextFactory = new MigrationContextFactory(new MigrationClassLoaderCache());
         MigrationContext migrationContext = migrationContextFactory.createMigrationContext(projectContext);
 
         // load spring bean definition file using the classloader
@@ -21,6 +21,7 @@ import org.springframework.sbm.build.api.Module;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
 
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 public class HasSpringBootDependencyImport implements Condition {
@@ -35,6 +36,11 @@ public class HasSpringBootDependencyImport implements Condition {
         this.versionPattern = Pattern.compile(versionPattern);
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.of(versionPattern.pattern());
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
 
@@ -18,12 +18,17 @@ package org.springframework.sbm.boot.common.conditions;
 import org.springframework.sbm.engine.context.ProjectContext;
 import org.springframework.sbm.engine.recipe.Condition;
 
+import java.util.Optional;
+
 public class IsSpringBootProject implements Condition {
+    private String versionPattern;
     private HasDecalredSpringBootStarterParent parentCondition;
     private HasSpringBootDependencyImport importCondition;
     private HasSpringBootDependencyManuallyManaged manualManagedCondition;
 
     public void setVersionPattern(String versionPattern) {
+        this.versionPattern = versionPattern;
+
         parentCondition = new HasDecalredSpringBootStarterParent();
         parentCondition.setVersionPattern(versionPattern);
 
@@ -39,6 +44,11 @@ public class IsSpringBootProject implements Condition {
         return "Checks if scanned project is Spring Boot project";
     }
 
+    @Override
+    public Optional<Object> cacheKey() {
+        return Optional.ofNullable(versionPattern);
+    }
+
     @Override
     public boolean evaluate(ProjectContext context) {
 
@@ -158,4 +158,17 @@ class HasSpringBootDependencyImportTest {
 
         assertThat(result).isTrue();
     }
+
+    @Test
+    void conditionsWithSameVersionPatternShouldHaveEqualCacheKeys() {
+        HasSpringBootDependencyImport condition = new HasSpringBootDependencyImport();
+        condition.setVersionPattern("2\\.7\\..*");
+        HasSpringBootDependencyImport sameCondition = new HasSpringBootDependencyImport();
+        sameCondition.setVersionPattern("2\\.7\\..*");
+        HasSpringBootDependencyImport otherCondition = new HasSpringBootDependencyImport();
+        otherCondition.setVersionPattern("3\\.0\\..*");
+
+        assertThat(condition.cacheKey()).isEqualTo(sameCondition.cacheKey());
+        assertThat(condition.cacheKey()).isNotEqualTo(otherCondition.cacheKey());
+    }
 }
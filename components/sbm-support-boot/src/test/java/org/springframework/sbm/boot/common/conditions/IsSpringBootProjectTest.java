@@ -18,8 +18,15 @@ package org.springframework.sbm.boot.common.conditions;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
 import org.springframework.sbm.engine.context.ProjectContext;
+import org.springframework.sbm.engine.recipe.AbstractAction;
+import org.springframework.sbm.engine.recipe.Recipe;
+import org.springframework.sbm.engine.recipe.Recipes;
 import org.springframework.sbm.project.resource.TestProjectContext;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class IsSpringBootProjectTest {
@@ -58,4 +65,45 @@ class IsSpringBootProjectTest {
 
         assertThat(result).isTrue();
     }
+
+    @Test
+    void shouldBeEvaluatedOncePerVersionPatternAcrossRecipes() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Recipes recipes = new Recipes(new ArrayList<>(List.of(
+                recipe("a", new CountingIsSpringBootProject("2\\.7\\..*", evaluations)),
+                recipe("b", new CountingIsSpringBootProject("2\\.7\\..*", evaluations)),
+                recipe("c", new CountingIsSpringBootProject("3\\.0\\..*", evaluations))
+        )));
+        ProjectContext context = TestProjectContext.buildProjectContext()
+                .withSpringBootParentOf("2.7.5")
+                .build();
+
+        assertThat(recipes.getApplicable(context)).extracting(Recipe::getName).containsExactly("a", "b");
+        assertThat(evaluations).hasValue(2);
+    }
+
+    private Recipe recipe(String name, IsSpringBootProject condition) {
+        AbstractAction action = new AbstractAction() {
+            @Override
+            public void apply(ProjectContext context) {
+            }
+        };
+        action.setCondition(condition);
+        return new Recipe(name, List.of(action), condition, 0);
+    }
+
+    private static class CountingIsSpringBootProject extends IsSpringBootProject {
+        private final AtomicInteger evaluations;
+
+        CountingIsSpringBootProject(String versionPattern, AtomicInteger evaluations) {
+            this.evaluations = evaluations;
+            setVersionPattern(versionPattern);
+        }
+
+        @Override
+        public boolean evaluate(ProjectContext context) {
+            evaluations.incrementAndGet();
+            return super.evaluate(context);
+        }
+    }
 }